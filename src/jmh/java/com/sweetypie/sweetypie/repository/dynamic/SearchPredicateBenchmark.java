@@ -0,0 +1,71 @@
+package com.sweetypie.sweetypie.repository.dynamic;
+
+import com.querydsl.core.BooleanBuilder;
+import com.sweetypie.sweetypie.index.AvailabilityIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검색 조건을 QueryDSL predicate 로 만드는 비용. DB 는 사용하지 않는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SearchPredicateBenchmark {
+
+    @Param({"서울특별시 마포구", "부산광역시 해운대구 우동", "제주!! 서귀포시"})
+    private String searchKeyword;
+
+    @Param({"원룸", "원룸 아파트 게스트하우스"})
+    private String types;
+
+    private DynamicAccommodationRepository repository;
+
+    private LocalDate checkIn;
+
+    private LocalDate checkout;
+
+    @Setup
+    public void setUp() {
+        repository = new DynamicAccommodationRepository(null, new AvailabilityIndex(null), null, null, null, null);
+        checkIn = LocalDate.now().plusDays(7);
+        checkout = checkIn.plusDays(3);
+    }
+
+    @Benchmark
+    public BooleanBuilder searchKeywordQuery() {
+        BooleanBuilder builder = new BooleanBuilder();
+        repository.setSearchKeywordQuery(searchKeyword, builder);
+
+        return builder;
+    }
+
+    @Benchmark
+    public BooleanBuilder accommodationTypesQuery() {
+        BooleanBuilder builder = new BooleanBuilder();
+        repository.setAccommodationTypesQuery(types, builder);
+
+        return builder;
+    }
+
+    @Benchmark
+    public BooleanBuilder searchBuilder() {
+
+        return repository.setSearchBuilder(searchKeyword, checkIn, checkout, 2, 10000, 100000, types, null);
+    }
+
+    @Benchmark
+    public BooleanBuilder mapSearchBuilder() {
+
+        return repository.setMapSearchBuilder(37.5f, 37.6f, 126.9f, 127.0f, checkIn, checkout, 10000, 100000, 2, types);
+    }
+}
@@ -0,0 +1,74 @@
+package com.sweetypie.sweetypie.security.jwt;
+
+import com.sweetypie.sweetypie.SweetyPieApplication;
+import com.sweetypie.sweetypie.dto.LoginDto;
+import com.sweetypie.sweetypie.service.AuthService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 JwtFilter 가 하는 토큰 검증 비용. test.yml 의 H2 데이터로 로그인해서 토큰을 만든다.
+ * validateToken 은 로그아웃 목록을 확인하므로 로컬 Redis(localhost:6379)가 떠 있어야 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TokenProviderBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private TokenProvider tokenProvider;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(SweetyPieApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.config.location=classpath:test.yml")
+                .run();
+
+        LoginDto loginDto = new LoginDto();
+        loginDto.setEmail("test123@gmail.com");
+        loginDto.setPassword("12345678a!");
+
+        token = context.getBean(AuthService.class).login(loginDto);
+        tokenProvider = context.getBean(TokenProvider.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+
+        return tokenProvider.getAuthentication(token);
+    }
+
+    // JwtFilter 가 요청마다 부르는 경로
+    @Benchmark
+    public Authentication authenticate() {
+
+        return tokenProvider.authenticate(token);
+    }
+}
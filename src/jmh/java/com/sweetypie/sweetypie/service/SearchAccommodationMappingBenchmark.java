@@ -0,0 +1,78 @@
+package com.sweetypie.sweetypie.service;
+
+import com.sweetypie.sweetypie.dto.SearchAccommodationDto;
+import com.sweetypie.sweetypie.model.Accommodation;
+import com.sweetypie.sweetypie.model.AccommodationPicture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 검색 결과 한 페이지를 SearchAccommodationDto 로 옮기는 비용.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SearchAccommodationMappingBenchmark {
+
+    @Param({"10", "20"})
+    private int pageSize;
+
+    private List<Accommodation> accommodations;
+
+    @Setup
+    public void setUp() {
+        accommodations = new ArrayList<>();
+
+        for (long id = 1; id <= pageSize; id++) {
+            Accommodation accommodation = Accommodation.builder()
+                    .id(id)
+                    .randId((int) id)
+                    .city("서울특별시")
+                    .gu("마포구")
+                    .address("서울특별시 마포구 독막로 266")
+                    .title("마포역 앞 원룸 " + id)
+                    .bathroomNum(1)
+                    .bedroomNum(1)
+                    .bedNum(1)
+                    .price(40000)
+                    .capacity(2)
+                    .contact("010-1234-5678")
+                    .latitude(37.54f)
+                    .longitude(126.94f)
+                    .rating(4.56f)
+                    .reviewNum(125)
+                    .accommodationType("원룸")
+                    .buildingType("아파트")
+                    .hostName("이재복")
+                    .accommodationPictures(new ArrayList<>())
+                    .build();
+
+            for (int i = 0; i < 5; i++) {
+                new AccommodationPicture("https://sharebnb.co.kr/pictures/" + id + "_" + i + ".jpg").setAccommodation(accommodation);
+            }
+
+            accommodations.add(accommodation);
+        }
+    }
+
+    @Benchmark
+    public List<SearchAccommodationDto> mapPage() {
+        List<SearchAccommodationDto> dtos = new ArrayList<>(accommodations.size());
+
+        for (Accommodation accommodation : accommodations) {
+            dtos.add(AccommodationService.mapToSearchAccommodationDto(accommodation, false));
+        }
+
+        return dtos;
+    }
+}
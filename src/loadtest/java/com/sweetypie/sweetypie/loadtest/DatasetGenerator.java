@@ -0,0 +1,284 @@
+package com.sweetypie.sweetypie.loadtest;
+
+import com.sweetypie.sweetypie.SweetyPieApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 부하 테스트용 합성 데이터를 loadtest.yml 의 DB(기본은 build/loadtest 의 H2 파일, -Ploadtest.jdbc-url 로 로컬 MySQL)에 넣는다.
+ * 스키마는 애플리케이션을 ddl-auto update 로 한 번 띄워서 맞추고, 데이터는 JDBC batch insert 로 넣는다.
+ * 인덱스는 애플리케이션이 뜰 때 읽으므로 데이터를 넣은 뒤에 loadTestServer 를 띄워야 한다.
+ *
+ * ./gradlew loadTestData -Ploadtest.accommodations=10000 -Ploadtest.booked-density=0.2
+ */
+public class DatasetGenerator {
+
+    // data.sql 의 테스트 회원과 같은 비밀번호 (12345678a!)
+    static final String PASSWORD = "12345678a!";
+
+    private static final String PASSWORD_HASH = "$2a$10$VT30l3sY6tkd53TId.hhUe9LfV2mWixZtyuFLAQh7V2aJrQy65146";
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final int BOOKING_WINDOW_DAYS = 90;
+
+    private static final String[] ACCOMMODATION_TYPES = {"전체", "개인실", "다인실"};
+
+    private static final String[] BUILDING_TYPES = {"아파트", "주택", "원룸", "오피스텔", "게스트하우스"};
+
+    private static final String[] REVIEW_CONTENTS = {"깨끗하고 좋아요", "위치가 좋아요", "호스트가 친절해요", "다시 오고 싶어요", "조금 시끄러워요"};
+
+    private final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Random random;
+
+    private final LocalDate today = LocalDate.now();
+
+    private final Batch accommodations;
+    private final Batch pictures;
+    private final Batch reservations;
+    private final Batch reviews;
+    private final Batch reviewSummaries;
+
+    private long accommodationId;
+    private long pictureId;
+    private long reservationId;
+    private long reviewId;
+
+    public DatasetGenerator(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+
+        accommodations = new Batch("insert into accommodation (id, rand_id, city, gu, address, title, bathroom_num, bedroom_num, bed_num, price, capacity, contact, "
+                + "latitude, longitude, location_desc, transportation_desc, accommodation_desc, host_desc, rating, review_num, accommodation_type, building_type, "
+                + "host_name, host_review_num) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        pictures = new Batch("insert into accommodation_picture (id, url, accommodation_id) values (?, ?, ?)");
+        reservations = new Batch("insert into reservation (id, check_in_date, checkout_date, total_guest_num, adult_num, child_num, infant_num, total_price, "
+                + "is_written_review, payment_date, reservation_code, member_id, accommodation_id) values (?, ?, ?, ?, ?, 0, 0, ?, ?, ?, ?, ?, ?)");
+        reviews = new Batch("insert into review (id, rating, content, created_date, member_id, accommodation_id, reservation_id) values (?, ?, ?, ?, ?, ?, ?)");
+        reviewSummaries = new Batch("insert into review_summary (accommodation_id, review_count, rating_sum, one_star_count, two_star_count, three_star_count, "
+                + "four_star_count, five_star_count) values (?, ?, ?, ?, ?, ?, ?, ?)");
+    }
+
+    public static void main(String[] args) {
+        int accommodationCount = Integer.getInteger("loadtest.accommodations", 10000);
+        int memberCount = Integer.getInteger("loadtest.members", Math.max(accommodationCount / 10, 100));
+        double bookedDensity = Double.parseDouble(System.getProperty("loadtest.booked-density", "0.2"));
+        long seed = Long.getLong("loadtest.seed", 42L);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SweetyPieApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.config.location=classpath:loadtest.yml")
+                .run(args);
+
+        try {
+            new DatasetGenerator(context.getBean(JdbcTemplate.class), seed).generate(accommodationCount, memberCount, bookedDensity);
+        } finally {
+            context.close();
+        }
+    }
+
+    public void generate(int accommodationCount, int memberCount, double bookedDensity) {
+        long startedAt = System.currentTimeMillis();
+
+        long firstMemberId = insertMembers(memberCount);
+
+        accommodationId = maxId("accommodation");
+        pictureId = maxId("accommodation_picture");
+        reservationId = maxId("reservation");
+        reviewId = maxId("review");
+
+        long firstAccommodationId = accommodationId + 1;
+
+        for (int i = 0; i < accommodationCount; i++) {
+            addAccommodation(firstMemberId, memberCount, bookedDensity);
+
+            if (accommodations.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        flush();
+
+        insertBookmarks(firstMemberId, memberCount, firstAccommodationId, accommodationCount);
+
+        logger.info("Generated {} accommodations, {} members, {} reservations, {} reviews in {} ms",
+                accommodationCount, memberCount, reservations.total, reviews.total, System.currentTimeMillis() - startedAt);
+        logger.info("Run the load test with -Ploadtest.first-accommodation-id={} -Ploadtest.first-member-id={}", firstAccommodationId, firstMemberId);
+    }
+
+    private long insertMembers(int memberCount) {
+        long firstId = maxId("member") + 1;
+        Batch members = new Batch("insert into member (id, email, password, name, contact, birth_date, is_deleted, role, is_social_member) "
+                + "values (?, ?, ?, ?, ?, ?, false, 'MEMBER', false)");
+
+        for (int i = 0; i < memberCount; i++) {
+            long id = firstId + i;
+
+            members.add(id, email(id), PASSWORD_HASH, "테스터" + id, "010" + (10000000 + random.nextInt(90000000)),
+                    Date.valueOf(LocalDate.of(1970 + random.nextInt(35), 1 + random.nextInt(12), 1 + random.nextInt(28))));
+
+            if (members.size() >= BATCH_SIZE) {
+                members.flush();
+            }
+        }
+
+        members.flush();
+
+        return firstId;
+    }
+
+    private void addAccommodation(long firstMemberId, int memberCount, double bookedDensity) {
+        long id = ++accommodationId;
+        Region region = Region.ALL.get(random.nextInt(Region.ALL.size()));
+
+        int capacity = 1 + random.nextInt(8);
+        int price = (2 + random.nextInt(48)) * 5000;
+
+        for (int i = 0; i < 5; i++) {
+            pictures.add(++pictureId, "https://sharebnb.co.kr/pictures/loadtest/" + id + "_" + i + ".jpg", id);
+        }
+
+        // 앞으로의 예약은 booking window 안에서 booked density 만큼 밤이 차도록 만든다
+        for (int day = 1; day < BOOKING_WINDOW_DAYS; ) {
+            if (random.nextDouble() < bookedDensity / 2.5) {
+                int nights = 1 + random.nextInt(4);
+                addReservation(id, randomMember(firstMemberId, memberCount), today.plusDays(day), nights, price, false);
+                day += nights;
+            } else {
+                day++;
+            }
+        }
+
+        int[] starCounts = new int[5];
+        float ratingSum = 0;
+        int reviewCount = random.nextInt(21);
+
+        for (int i = 0; i < reviewCount; i++) {
+            long memberId = randomMember(firstMemberId, memberCount);
+            LocalDate checkIn = today.minusDays(30 + random.nextInt(700));
+            long pastReservationId = addReservation(id, memberId, checkIn, 1 + random.nextInt(3), price, true);
+            int rating = 1 + random.nextInt(5);
+
+            reviews.add(++reviewId, rating, REVIEW_CONTENTS[random.nextInt(REVIEW_CONTENTS.length)],
+                    Date.valueOf(checkIn.plusDays(5)), memberId, id, pastReservationId);
+
+            starCounts[rating - 1]++;
+            ratingSum += rating;
+        }
+
+        if (reviewCount > 0) {
+            reviewSummaries.add(id, reviewCount, ratingSum, starCounts[0], starCounts[1], starCounts[2], starCounts[3], starCounts[4]);
+        }
+
+        accommodations.add(id, random.nextInt(Integer.MAX_VALUE), region.getCity(), region.getGu(), region.getCity() + " " + region.getGu() + " 테스트로 " + id,
+                region.getGu() + " 숙소 " + id, 1 + random.nextInt(2), 1 + random.nextInt(3), 1 + random.nextInt(4), price, capacity, "010-1234-5678",
+                region.getLatitude() + (random.nextFloat() - 0.5f) * 0.1f, region.getLongitude() + (random.nextFloat() - 0.5f) * 0.1f,
+                "역에서 5분", "버스 정류장 앞", "깔끔한 숙소", "친절한 호스트", reviewCount == 0 ? 0 : ratingSum / reviewCount, reviewCount,
+                ACCOMMODATION_TYPES[random.nextInt(ACCOMMODATION_TYPES.length)], BUILDING_TYPES[random.nextInt(BUILDING_TYPES.length)],
+                "호스트" + (id % 1000), reviewCount);
+    }
+
+    private long addReservation(long accommodationId, long memberId, LocalDate checkIn, int nights, int price, boolean writtenReview) {
+        long id = ++reservationId;
+        int totalNightPrice = price * nights;
+
+        reservations.add(id, Date.valueOf(checkIn), Date.valueOf(checkIn.plusDays(nights)), 1, 1,
+                totalNightPrice + 10000 + (int) Math.round(totalNightPrice * 0.07), writtenReview,
+                Date.valueOf(checkIn.minusDays(1 + random.nextInt(30))), "LT" + id, memberId, accommodationId);
+
+        return id;
+    }
+
+    private void insertBookmarks(long firstMemberId, int memberCount, long firstAccommodationId, int accommodationCount) {
+        long id = maxId("bookmark");
+        Batch bookmarks = new Batch("insert into bookmark (id, member_id, accommodation_id) values (?, ?, ?)");
+
+        for (long memberId = firstMemberId; memberId < firstMemberId + memberCount; memberId++) {
+            Set<Long> bookmarked = new HashSet<>();
+            int count = random.nextInt(Math.min(11, accommodationCount + 1));
+
+            while (bookmarked.size() < count) {
+                bookmarked.add(firstAccommodationId + random.nextInt(accommodationCount));
+            }
+
+            for (Long accommodation : bookmarked) {
+                bookmarks.add(++id, memberId, accommodation);
+            }
+
+            if (bookmarks.size() >= BATCH_SIZE) {
+                bookmarks.flush();
+            }
+        }
+
+        bookmarks.flush();
+    }
+
+    // 외래키 순서대로 넣는다
+    private void flush() {
+        accommodations.flush();
+        pictures.flush();
+        reservations.flush();
+        reviews.flush();
+        reviewSummaries.flush();
+    }
+
+    private long randomMember(long firstMemberId, int memberCount) {
+        return firstMemberId + random.nextInt(memberCount);
+    }
+
+    private long maxId(String table) {
+        Long max = jdbcTemplate.queryForObject("select max(id) from " + table, Long.class);
+
+        return max == null ? 0 : max;
+    }
+
+    static String email(long memberId) {
+        return "loadtest" + memberId + "@sharebnb.co.kr";
+    }
+
+    private class Batch {
+
+        private final String sql;
+
+        private final List<Object[]> rows = new ArrayList<>();
+
+        private long total;
+
+        Batch(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+        }
+
+        int size() {
+            return rows.size();
+        }
+
+        void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+
+            jdbcTemplate.batchUpdate(sql, rows);
+            total += rows.size();
+            rows.clear();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.sweetypie.sweetypie.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * 엔드포인트 하나의 응답 시간을 모아 둔다. 작업 스레드마다 따로 두고 끝난 뒤에 합친다.
+ */
+class LatencyRecorder {
+
+    private long[] latencies = new long[1024];
+
+    private int size;
+
+    private long rejected;
+
+    private long errors;
+
+    void record(long nanos, int status) {
+        if (size == latencies.length) {
+            latencies = Arrays.copyOf(latencies, size * 2);
+        }
+
+        latencies[size++] = nanos;
+
+        if (status < 0 || status >= 500) {
+            errors++;
+        } else if (status >= 400) {
+            rejected++;
+        }
+    }
+
+    void merge(LatencyRecorder other) {
+        for (int i = 0; i < other.size; i++) {
+            record(other.latencies[i], 200);
+        }
+
+        rejected += other.rejected;
+        errors += other.errors;
+    }
+
+    long count() {
+        return size;
+    }
+
+    long rejected() {
+        return rejected;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    // nearest-rank 방식의 백분위수 (밀리초)
+    double[] percentilesMillis(double... percentiles) {
+        long[] sorted = Arrays.copyOf(latencies, size);
+        Arrays.sort(sorted);
+
+        double[] result = new double[percentiles.length];
+
+        for (int i = 0; i < percentiles.length; i++) {
+            if (size > 0) {
+                int rank = (int) Math.ceil(percentiles[i] / 100.0 * size);
+                result[i] = sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+            }
+        }
+
+        return result;
+    }
+}
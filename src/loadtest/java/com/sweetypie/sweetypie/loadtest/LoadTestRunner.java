@@ -0,0 +1,361 @@
+package com.sweetypie.sweetypie.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 검색, 지도 검색, 상세, 예약, 북마크 요청을 정해진 비율로 섞어서 동시에 보내고
+ * 엔드포인트별 p50/p95/p99 응답 시간과 처리량을 출력한다. 결과는 CSV 로도 남긴다.
+ *
+ * ./gradlew loadTest -Ploadtest.target=http://localhost:8081 -Ploadtest.concurrency=32 -Ploadtest.duration-seconds=120
+ */
+public class LoadTestRunner {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String target = System.getProperty("loadtest.target", "http://localhost:8081");
+    private final int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+    private final long firstAccommodationId = Long.getLong("loadtest.first-accommodation-id", 1L);
+    private final int accommodationCount = Integer.getInteger("loadtest.accommodations", 10000);
+    private final long firstMemberId = Long.getLong("loadtest.first-member-id", 1L);
+    private final int memberCount = Integer.getInteger("loadtest.members", Math.max(accommodationCount / 10, 100));
+    private final String report = System.getProperty("loadtest.report", "build/loadtest/report.csv");
+    private final Map<String, Integer> mix = parseMix(System.getProperty("loadtest.mix", "search=40,mapSearch=25,detail=25,reserve=5,bookmark=5"));
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestRunner().run();
+    }
+
+    public void run() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        List<Future<Map<String, LatencyRecorder>>> futures = new ArrayList<>();
+
+        long startAt = System.nanoTime();
+        long measureFrom = startAt + warmupSeconds * 1_000_000_000L;
+        long endAt = measureFrom + durationSeconds * 1_000_000_000L;
+
+        for (int i = 0; i < concurrency; i++) {
+            long memberId = firstMemberId + i % memberCount;
+            futures.add(executor.submit(() -> new Worker(memberId).run(measureFrom, endAt)));
+        }
+
+        Map<String, LatencyRecorder> results = new LinkedHashMap<>();
+
+        for (String endpoint : mix.keySet()) {
+            results.put(endpoint, new LatencyRecorder());
+        }
+
+        for (Future<Map<String, LatencyRecorder>> future : futures) {
+            for (Map.Entry<String, LatencyRecorder> entry : future.get().entrySet()) {
+                results.computeIfAbsent(entry.getKey(), key -> new LatencyRecorder()).merge(entry.getValue());
+            }
+        }
+
+        executor.shutdown();
+
+        print(results);
+    }
+
+    private void print(Map<String, LatencyRecorder> results) throws IOException {
+        Path path = Paths.get(report);
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        System.out.printf("%n%s, concurrency %d, %d s (warmup %d s)%n", target, concurrency, durationSeconds, warmupSeconds);
+        System.out.printf("%-10s %9s %7s %7s %9s %9s %9s %9s%n", "endpoint", "count", "4xx", "error", "req/s", "p50 ms", "p95 ms", "p99 ms");
+
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            csv.println("endpoint,count,rejected,errors,throughput,p50_ms,p95_ms,p99_ms");
+
+            long total = 0;
+
+            for (Map.Entry<String, LatencyRecorder> entry : results.entrySet()) {
+                LatencyRecorder recorder = entry.getValue();
+                double[] percentiles = recorder.percentilesMillis(50, 95, 99);
+                double throughput = (double) recorder.count() / durationSeconds;
+
+                total += recorder.count();
+
+                System.out.printf("%-10s %9d %7d %7d %9.1f %9.2f %9.2f %9.2f%n", entry.getKey(), recorder.count(), recorder.rejected(),
+                        recorder.errors(), throughput, percentiles[0], percentiles[1], percentiles[2]);
+                csv.printf("%s,%d,%d,%d,%.2f,%.3f,%.3f,%.3f%n", entry.getKey(), recorder.count(), recorder.rejected(),
+                        recorder.errors(), throughput, percentiles[0], percentiles[1], percentiles[2]);
+            }
+
+            System.out.printf("%-10s %9d %25.1f%n", "total", total, (double) total / durationSeconds);
+        }
+
+        System.out.println("report: " + path.toAbsolutePath());
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+
+        for (String entry : value.split(",")) {
+            String[] pair = entry.trim().split("=");
+            mix.put(pair[0], Integer.parseInt(pair[1]));
+        }
+
+        return mix;
+    }
+
+    private class Worker {
+
+        private final long memberId;
+
+        private final Map<String, LatencyRecorder> recorders = new HashMap<>();
+
+        private final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        private final int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+
+        private String authorization;
+
+        private long measureFrom;
+
+        Worker(long memberId) {
+            this.memberId = memberId;
+        }
+
+        Map<String, LatencyRecorder> run(long measureFrom, long endAt) throws IOException {
+            this.measureFrom = measureFrom;
+            login();
+
+            while (System.nanoTime() < endAt) {
+                String scenario = pickScenario();
+
+                switch (scenario) {
+                    case "search":
+                        search();
+                        break;
+                    case "mapSearch":
+                        mapSearch();
+                        break;
+                    case "detail":
+                        detail(randomAccommodationId());
+                        break;
+                    case "reserve":
+                        reserve();
+                        break;
+                    case "bookmark":
+                        bookmark();
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown scenario: " + scenario);
+                }
+            }
+
+            return recorders;
+        }
+
+        private void login() throws IOException {
+            Map<String, String> body = new HashMap<>();
+            body.put("email", DatasetGenerator.email(memberId));
+            body.put("password", DatasetGenerator.PASSWORD);
+
+            Response response = send("POST", "/api/login", objectMapper.writeValueAsString(body));
+
+            if (response.status != 200) {
+                throw new IllegalStateException("Login failed for " + DatasetGenerator.email(memberId) + ": " + response.status);
+            }
+
+            authorization = "Bearer " + objectMapper.readTree(response.body).get("token").asText();
+        }
+
+        private void search() throws UnsupportedEncodingException {
+            Region region = randomRegion();
+            LocalDate checkIn = randomCheckIn();
+
+            String query = "/api/accommodations/search?searchKeyword=" + URLEncoder.encode(region.getCity() + " " + region.getGu(), "UTF-8")
+                    + "&checkIn=" + checkIn + "&checkout=" + checkIn.plusDays(1 + random.nextInt(3))
+                    + "&guestNum=" + (1 + random.nextInt(4)) + "&page=" + random.nextInt(3) + priceFilter();
+
+            timed("search", "GET", query, null);
+        }
+
+        private void mapSearch() {
+            Region region = randomRegion();
+            LocalDate checkIn = randomCheckIn();
+            float span = 0.02f + random.nextFloat() * 0.05f;
+
+            String query = "/api/accommodations/mapSearch?minLatitude=" + (region.getLatitude() - span) + "&maxLatitude=" + (region.getLatitude() + span)
+                    + "&minLongitude=" + (region.getLongitude() - span) + "&maxLongitude=" + (region.getLongitude() + span)
+                    + "&checkIn=" + checkIn + "&checkout=" + checkIn.plusDays(1 + random.nextInt(3))
+                    + "&guestNum=" + (1 + random.nextInt(4)) + priceFilter();
+
+            timed("mapSearch", "GET", query, null);
+        }
+
+        private JsonNode detail(long accommodationId) throws IOException {
+            Response response = timed("detail", "GET", "/api/accommodation/" + accommodationId, null);
+
+            return response.status == 200 ? objectMapper.readTree(response.body) : null;
+        }
+
+        // 실제 사용자처럼 상세를 보고 나서 가격을 맞춰 예약한다
+        private void reserve() throws IOException {
+            JsonNode accommodation = detail(randomAccommodationId());
+
+            if (accommodation == null) {
+                return;
+            }
+
+            LocalDate checkIn = randomCheckIn();
+            int nights = 1 + random.nextInt(3);
+            int totalNightPrice = accommodation.get("price").asInt() * nights;
+
+            Map<String, Object> body = new HashMap<>();
+            body.put("accommodationId", accommodation.get("id").asLong());
+            body.put("checkInDate", checkIn.toString());
+            body.put("checkoutDate", checkIn.plusDays(nights).toString());
+            body.put("totalGuestNum", 1);
+            body.put("adultNum", 1);
+            body.put("totalPrice", totalNightPrice + 10000 + (int) Math.round(totalNightPrice * 0.07));
+
+            timed("reserve", "POST", "/api/reservation", objectMapper.writeValueAsString(body));
+        }
+
+        // 이미 북마크한 숙소면 400 이 오므로 그때는 지운다
+        private void bookmark() throws IOException {
+            long accommodationId = randomAccommodationId();
+            Map<String, Object> body = new HashMap<>();
+            body.put("accommodationId", accommodationId);
+
+            Response response = timed("bookmark", "POST", "/api/bookmark", objectMapper.writeValueAsString(body));
+
+            if (response.status == 400) {
+                timed("bookmark", "DELETE", "/api/bookmark/" + accommodationId, null);
+            }
+        }
+
+        private Response timed(String endpoint, String method, String path, String body) {
+            long startedAt = System.nanoTime();
+            Response response;
+
+            try {
+                response = send(method, path, body);
+            } catch (IOException e) {
+                response = new Response(-1, null);
+            }
+
+            if (startedAt >= measureFrom) {
+                recorders.computeIfAbsent(endpoint, key -> new LatencyRecorder()).record(System.nanoTime() - startedAt, response.status);
+            }
+
+            return response;
+        }
+
+        private Response send(String method, String path, String body) throws IOException {
+            HttpURLConnection connection = (HttpURLConnection) new URL(target + path).openConnection();
+            connection.setRequestMethod(method);
+            connection.setConnectTimeout(5000);
+            connection.setReadTimeout(30000);
+
+            if (authorization != null) {
+                connection.setRequestProperty("Authorization", authorization);
+            }
+
+            if (body != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json");
+
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(body.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+
+            int status = connection.getResponseCode();
+
+            try (InputStream in = status >= 400 ? connection.getErrorStream() : connection.getInputStream()) {
+                return new Response(status, in == null ? null : read(in));
+            }
+        }
+
+        private byte[] read(InputStream in) throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+
+            for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+                out.write(buffer, 0, n);
+            }
+
+            return out.toByteArray();
+        }
+
+        private String pickScenario() {
+            int value = random.nextInt(totalWeight);
+
+            for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+                value -= entry.getValue();
+
+                if (value < 0) {
+                    return entry.getKey();
+                }
+            }
+
+            throw new IllegalStateException();
+        }
+
+        private String priceFilter() {
+            if (random.nextBoolean()) {
+                return "";
+            }
+
+            int minPrice = random.nextInt(10) * 10000;
+
+            return "&minPrice=" + minPrice + "&maxPrice=" + (minPrice + 100000);
+        }
+
+        private Region randomRegion() {
+            return Region.ALL.get(random.nextInt(Region.ALL.size()));
+        }
+
+        private LocalDate randomCheckIn() {
+            return LocalDate.now().plusDays(1 + random.nextInt(80));
+        }
+
+        private long randomAccommodationId() {
+            return firstAccommodationId + random.nextInt(accommodationCount);
+        }
+    }
+
+    private static class Response {
+
+        private final int status;
+
+        private final byte[] body;
+
+        Response(int status, byte[] body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.sweetypie.sweetypie.loadtest;
+
+import com.sweetypie.sweetypie.SweetyPieApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * loadtest.yml 설정으로 애플리케이션을 띄운다. 포트는 운영과 같은 8081 이 기본값이다.
+ */
+public class LoadTestServer {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(SweetyPieApplication.class)
+                .properties("spring.config.location=classpath:loadtest.yml")
+                .run(args);
+    }
+}
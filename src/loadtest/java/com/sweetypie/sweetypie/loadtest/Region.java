@@ -0,0 +1,43 @@
+package com.sweetypie.sweetypie.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 데이터 생성과 부하 시나리오가 같이 쓰는 시/구 목록과 대략적인 중심 좌표.
+ */
+@Getter
+@AllArgsConstructor
+class Region {
+
+    static final List<Region> ALL = Arrays.asList(
+            new Region("서울특별시", "마포구", 37.5663f, 126.9019f),
+            new Region("서울특별시", "서대문구", 37.5791f, 126.9368f),
+            new Region("서울특별시", "종로구", 37.5735f, 126.9790f),
+            new Region("서울특별시", "용산구", 37.5326f, 126.9905f),
+            new Region("서울특별시", "강남구", 37.5172f, 127.0473f),
+            new Region("서울특별시", "송파구", 37.5145f, 127.1066f),
+            new Region("부산광역시", "해운대구", 35.1631f, 129.1636f),
+            new Region("부산광역시", "수영구", 35.1455f, 129.1131f),
+            new Region("부산광역시", "중구", 35.1063f, 129.0323f),
+            new Region("인천광역시", "중구", 37.4738f, 126.6216f),
+            new Region("인천광역시", "연수구", 37.4101f, 126.6783f),
+            new Region("대구광역시", "수성구", 35.8582f, 128.6306f),
+            new Region("강원도", "강릉시", 37.7519f, 128.8761f),
+            new Region("강원도", "속초시", 38.2070f, 128.5918f),
+            new Region("경기도", "수원시", 37.2636f, 127.0286f),
+            new Region("경기도", "가평군", 37.8315f, 127.5105f),
+            new Region("제주특별자치도", "제주시", 33.4996f, 126.5312f),
+            new Region("제주특별자치도", "서귀포시", 33.2541f, 126.5600f));
+
+    private final String city;
+
+    private final String gu;
+
+    private final float latitude;
+
+    private final float longitude;
+}
@@ -1,29 +1,61 @@
 package com.sweetypie.sweetypie.aspect;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StopWatch;
 
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @LogExecutionTime 이 붙은 메서드의 실행 시간을 endpoint, outcome 태그가 붙은 Timer 로 기록한다.
+ * 레포지토리 쿼리 시간은 {@link RepositoryTimerAspect} 가 따로 기록한다.
+ */
 @Component
 @Aspect
+@RequiredArgsConstructor
 public class LogAspect {
 
-    Logger logger = LoggerFactory.getLogger(LogAspect.class);
+    static final String OUTCOME_SUCCESS = "success";
+
+    static final String OUTCOME_ERROR = "error";
+
+    private final Logger logger = LoggerFactory.getLogger(LogAspect.class);
+
+    private final MeterRegistry meterRegistry;
 
     @Around("@annotation(LogExecutionTime)")
     public Object logExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
-        StopWatch stopwatch = new StopWatch();
-        stopwatch.start();
+        long startedAt = System.nanoTime();
+        String outcome = OUTCOME_ERROR;
+        String exception = "none";
+
+        try {
+            Object proceed = joinPoint.proceed();
+            outcome = OUTCOME_SUCCESS;
 
-        Object proceed = joinPoint.proceed();
+            return proceed;
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - startedAt;
+            String endpoint = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
 
-        stopwatch.stop();
-        logger.info(joinPoint.toShortString() + ": " + stopwatch.getTotalTimeNanos() / 1000000 + " ms");
+            Timer.builder("sweetypie.endpoint")
+                    .tag("endpoint", endpoint)
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
 
-        return proceed;
+            logger.debug("{}: {} ms", endpoint, elapsed / 1000000);
+        }
     }
 }
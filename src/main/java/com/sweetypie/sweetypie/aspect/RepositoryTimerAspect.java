@@ -0,0 +1,43 @@
+package com.sweetypie.sweetypie.aspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dynamic*Repository 의 public 메서드마다 쿼리 시간을 repository, method, outcome 태그로 기록한다.
+ */
+@Component
+@Aspect
+@RequiredArgsConstructor
+public class RepositoryTimerAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("within(com.sweetypie.sweetypie.repository.dynamic.*) && execution(public * *(..))")
+    public Object recordQueryTime(ProceedingJoinPoint joinPoint) throws Throwable {
+        long startedAt = System.nanoTime();
+        String outcome = LogAspect.OUTCOME_ERROR;
+
+        try {
+            Object proceed = joinPoint.proceed();
+            outcome = LogAspect.OUTCOME_SUCCESS;
+
+            return proceed;
+        } finally {
+            Timer.builder("sweetypie.repository.query")
+                    .tag("repository", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.sweetypie.sweetypie.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sweetypie.sweetypie.dto.AccommodationDto;
+import com.sweetypie.sweetypie.support.RedisFallback;
+import com.sweetypie.sweetypie.support.TransactionCallbacks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 숙소 상세 화면용 AccommodationDto 캐시. 회원별 북마크 여부는 담지 않고 조회할 때 따로 덮어쓴다.
+ * 리뷰, 예약, 숙소 정보가 바뀌면 커밋 후 해당 숙소만 지우고, 다른 인스턴스에는 Redis pub/sub 으로 알린다.
+ */
+@Component
+public class AccommodationDetailCache implements InitializingBean, MessageListener {
+
+    public static final String CHANNEL = "accommodation:detail:invalidation";
+
+    private final Logger logger = LoggerFactory.getLogger(AccommodationDetailCache.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    private @Value("${accommodation.detail-cache.ttl-seconds:300}") long ttlSeconds;
+
+    private @Value("${accommodation.detail-cache.maximum-size:5000}") long maximumSize;
+
+    private @Value("${accommodation.detail-cache.redis-retry-seconds:30}") long redisRetrySeconds;
+
+    private Cache<Long, AccommodationDto> accommodations;
+
+    private RedisFallback redis;
+
+    public AccommodationDetailCache(RedisTemplate<String, String> redisTemplate, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        accommodations = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, accommodations, "accommodation.detail");
+
+        redis = new RedisFallback("Accommodation detail cache", redisRetrySeconds);
+    }
+
+    public AccommodationDto get(Long id, Function<Long, AccommodationDto> loader) {
+
+        return accommodations.get(id, loader);
+    }
+
+    public void evict(Long id) {
+        TransactionCallbacks.afterCompletion(() -> {
+            accommodations.invalidate(id);
+            redis.run(() -> redisTemplate.convertAndSend(CHANNEL, String.valueOf(id)));
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            accommodations.invalidate(Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed accommodation detail invalidation message");
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.sweetypie.sweetypie.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sweetypie.sweetypie.repository.dynamic.DynamicBookmarkRepository;
+import com.sweetypie.sweetypie.support.RedisFallback;
+import com.sweetypie.sweetypie.support.TransactionCallbacks;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 회원별로 북마크한 숙소 id 집합을 캐시한다. 인스턴스마다 Caffeine 을 먼저 보고, 없으면 Redis 의 set 을 본다.
+ * 북마크가 추가되거나 지워지면 트랜잭션이 끝난 뒤 해당 회원만 지우고, 다른 인스턴스에는 Redis pub/sub 으로 알린다.
+ * Redis 의 set 키에는 회원별 세대 값이 붙는다. 지울 때 세대를 바꾸므로, 지우기 전에 DB 를 읽은 load 가 늦게 쓴 집합은 다시 읽히지 않는다.
+ */
+@Component
+public class BookmarkCache implements InitializingBean, MessageListener {
+
+    public static final String CHANNEL = "bookmark:invalidation";
+
+    private static final String KEY_PREFIX = "bookmark:member:";
+
+    private static final String GENERATION_PREFIX = "bookmark:generation:";
+
+    private static final String FIRST_GENERATION = "0";
+
+    // 북마크가 없는 회원도 캐시하기 위해 set 에 항상 넣어 두는 값. 숙소 id 는 0 이 될 수 없다
+    private static final String LOADED = "0";
+
+    private final Logger logger = LoggerFactory.getLogger(BookmarkCache.class);
+
+    private final DynamicBookmarkRepository dynamicBookmarkRepository;
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    private @Value("${bookmark.cache.ttl-seconds:600}") long ttlSeconds;
+
+    private @Value("${bookmark.cache.maximum-size:10000}") long maximumSize;
+
+    private @Value("${bookmark.cache.redis-retry-seconds:30}") long redisRetrySeconds;
+
+    private Cache<Long, Set<Long>> bookmarks;
+
+    private RedisFallback redis;
+
+    public BookmarkCache(DynamicBookmarkRepository dynamicBookmarkRepository, RedisTemplate<String, String> redisTemplate, MeterRegistry meterRegistry) {
+        this.dynamicBookmarkRepository = dynamicBookmarkRepository;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        bookmarks = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, bookmarks, "bookmark");
+
+        redis = new RedisFallback("Bookmark cache", redisRetrySeconds);
+    }
+
+    public Set<Long> get(Long memberId) {
+
+        return bookmarks.get(memberId, this::load);
+    }
+
+    public boolean contains(Long memberId, Long accommodationId) {
+
+        return get(memberId).contains(accommodationId);
+    }
+
+    // 롤백된 경우에도 트랜잭션 안에서 읽어 둔 집합이 남지 않도록 커밋 여부와 관계없이 지운다
+    public void evict(Long memberId) {
+        TransactionCallbacks.afterCompletion(() -> invalidate(memberId));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            bookmarks.invalidate(Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed bookmark invalidation message");
+        }
+    }
+
+    private Set<Long> load(Long memberId) {
+        String generation = redis.get(() -> redisTemplate.opsForValue().get(GENERATION_PREFIX + memberId));
+        String key = KEY_PREFIX + memberId + ":" + (generation == null ? FIRST_GENERATION : generation);
+        Set<String> members = redis.get(() -> redisTemplate.opsForSet().members(key));
+
+        if (members != null && members.contains(LOADED)) {
+            Set<Long> ids = new HashSet<>();
+
+            for (String member : members) {
+                if (!LOADED.equals(member)) {
+                    ids.add(Long.parseLong(member));
+                }
+            }
+
+            return Collections.unmodifiableSet(ids);
+        }
+
+        List<Long> ids = dynamicBookmarkRepository.findAccommodationIdsByMemberId(memberId);
+
+        String[] values = new String[ids.size() + 1];
+        values[0] = LOADED;
+
+        for (int i = 0; i < ids.size(); i++) {
+            values[i + 1] = String.valueOf(ids.get(i));
+        }
+
+        redis.run(() -> {
+            redisTemplate.opsForSet().add(key, values);
+            redisTemplate.expire(key, Duration.ofSeconds(ttlSeconds));
+        });
+
+        return Collections.unmodifiableSet(new HashSet<>(ids));
+    }
+
+    private void invalidate(Long memberId) {
+        bookmarks.invalidate(memberId);
+
+        // 세대 키는 집합보다 오래 남겨, 이전 세대로 늦게 쓴 집합이 만료되기 전에 세대가 처음 값으로 돌아가지 않게 한다
+        redis.run(() -> {
+            String previous = redisTemplate.opsForValue().getAndSet(GENERATION_PREFIX + memberId, UUID.randomUUID().toString());
+            redisTemplate.expire(GENERATION_PREFIX + memberId, Duration.ofSeconds(ttlSeconds * 2));
+            redisTemplate.delete(KEY_PREFIX + memberId + ":" + (previous == null ? FIRST_GENERATION : previous));
+            redisTemplate.convertAndSend(CHANNEL, String.valueOf(memberId));
+        });
+    }
+}
@@ -0,0 +1,50 @@
+package com.sweetypie.sweetypie.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sweetypie.sweetypie.dto.LocationSuggestDto;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 지역 자동완성 결과 캐시. 자주 입력되는 접두어의 정렬된 추천을 인스턴스마다 Caffeine 에 둔다.
+ * 추천은 카탈로그 트라이에서 바로 계산되므로 Redis 로 공유하지 않고, 트라이에 없는 접두어(빈 결과)는 담지 않는다.
+ */
+@Component
+public class LocationSuggestCache implements InitializingBean {
+
+    private @Value("${location.suggest-cache.ttl-seconds:300}") long ttlSeconds;
+
+    private @Value("${location.suggest-cache.maximum-size:10000}") long maximumSize;
+
+    private Cache<String, List<LocationSuggestDto>> suggestions;
+
+    @Override
+    public void afterPropertiesSet() {
+        suggestions = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public List<LocationSuggestDto> get(String key, Supplier<List<LocationSuggestDto>> loader) {
+        List<LocationSuggestDto> cached = suggestions.getIfPresent(key);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        List<LocationSuggestDto> loaded = loader.get();
+
+        if (!loaded.isEmpty()) {
+            suggestions.put(key, loaded);
+        }
+
+        return loaded;
+    }
+}
@@ -0,0 +1,46 @@
+package com.sweetypie.sweetypie.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 카탈로그가 올라오기 전 DB 로 검색할 때, 검색 조건별로 그날의 순서로 정렬한 id 목록을 짧게 둔다.
+ * 같은 검색의 다음 페이지나 커서 요청은 목록을 잘라 쓰고 DB 에서 id 를 다시 읽지 않는다.
+ * 목록은 예약 상태에 따라 달라지므로 예약이 생기거나 취소되면 {@link SearchResultCache} 가 모두 비운다.
+ */
+@Component
+public class SearchIdCache implements InitializingBean {
+
+    private @Value("${search.id-cache.ttl-seconds:30}") long ttlSeconds;
+
+    // 목록 수가 아니라 담긴 id 수의 합으로 크기를 제한한다
+    private @Value("${search.id-cache.maximum-ids:200000}") long maximumIds;
+
+    private Cache<String, List<Long>> ids;
+
+    @Override
+    public void afterPropertiesSet() {
+        ids = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumWeight(maximumIds)
+                .weigher((String key, List<Long> value) -> value.size() + 1)
+                .build();
+    }
+
+    public List<Long> get(String key, Supplier<List<Long>> loader) {
+
+        return ids.get(key, k -> Collections.unmodifiableList(loader.get()));
+    }
+
+    public void invalidateAll() {
+        ids.invalidateAll();
+    }
+}
@@ -0,0 +1,28 @@
+package com.sweetypie.sweetypie.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 예약 생성/취소로 검색 결과가 바뀔 수 있는 숙소와 기간. 다른 인스턴스에도 Redis 로 전달된다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchInvalidation {
+
+    private Long accommodationId;
+
+    private Long reservationId;
+
+    private int sortKey;
+
+    private LocalDate checkIn;
+
+    private LocalDate checkout;
+
+    private boolean booked;
+}
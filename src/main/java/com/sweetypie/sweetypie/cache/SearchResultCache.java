@@ -0,0 +1,343 @@
+package com.sweetypie.sweetypie.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sweetypie.sweetypie.index.AvailabilityIndex;
+import com.sweetypie.sweetypie.index.DailyOrdering;
+import com.sweetypie.sweetypie.support.RedisFallback;
+import com.sweetypie.sweetypie.support.TransactionCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 검색 결과 페이지 캐시. 인스턴스마다 Caffeine 을 먼저 보고, 없으면 Redis 에 공유된 결과를 본다.
+ * 예약이 생기거나 취소되면 해당 숙소와 기간에 걸치는 페이지만 지우고, 다른 인스턴스에는 Redis pub/sub 으로 알린다.
+ * Redis 의 페이지는 숙박일별 색인으로 찾으므로 예약 한 건이 읽는 페이지는 그 기간에 걸치는 페이지뿐이다.
+ * 알림을 받은 인스턴스는 {@link AvailabilityIndex} 를 먼저 고친 뒤 페이지를 지운다.
+ * 페이지를 지우기 전에 DB 를 읽은 검색이 이전 상태의 페이지를 넣지 않도록, 넣을 때 그 사이 지운 적이 있으면 버린다.
+ * 숙소 정보가 바뀌어 모든 페이지를 지울 때는 Redis 키의 세대를 올려 모든 인스턴스가 이전 세대의 페이지를 읽지 않게 한다.
+ * Redis 가 응답하지 않으면 잠시 Redis 없이 로컬 캐시와 DB 만 사용한다.
+ */
+@Component
+public class SearchResultCache implements InitializingBean, MessageListener {
+
+    public static final String CHANNEL = "search:result:invalidation";
+
+    public static final String GENERATION_CHANNEL = "search:result:generation";
+
+    private static final String GENERATION_KEY = "search:result:generation";
+
+    private static final String KEY_PREFIX = "search:result:";
+
+    // 숙박일마다 그 밤을 포함하는 페이지 키를 모은다. 키는 ttl 단위 시간 구간마다 새로 만들어 구간이 지나면 통째로 만료된다
+    private static final String NIGHT_PREFIX = "search:result:night:";
+
+    // 체크아웃이 없거나 기간이 긴 페이지는 체크인 날짜를 점수로 한 sorted set 에 모은다
+    private static final String OPEN_PREFIX = "search:result:open:";
+
+    private static final int MAX_INDEXED_NIGHTS = 31;
+
+    private final Logger logger = LoggerFactory.getLogger(SearchResultCache.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final DailyOrdering dailyOrdering;
+
+    private final AvailabilityIndex availabilityIndex;
+
+    private final SearchIdCache searchIdCache;
+
+    private @Value("${search.result-cache.ttl-seconds:60}") long ttlSeconds;
+
+    private @Value("${search.result-cache.maximum-size:10000}") long maximumSize;
+
+    private @Value("${search.result-cache.redis-retry-seconds:30}") long redisRetrySeconds;
+
+    private Cache<String, SearchResultPage> pages;
+
+    private RedisFallback redis;
+
+    // 로컬 캐시에서 페이지를 지울 때마다 오른다
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    // 아직 Redis 에서 읽지 않았으면 null
+    private volatile String generation;
+
+    public SearchResultCache(RedisTemplate<String, String> redisTemplate, ObjectMapper objectMapper, DailyOrdering dailyOrdering,
+                             AvailabilityIndex availabilityIndex, SearchIdCache searchIdCache) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.dailyOrdering = dailyOrdering;
+        this.availabilityIndex = availabilityIndex;
+        this.searchIdCache = searchIdCache;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        pages = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(maximumSize)
+                .build();
+
+        redis = new RedisFallback("Search result cache", redisRetrySeconds);
+    }
+
+    public SearchResultPage getIfPresent(String key) {
+        SearchResultPage page = pages.getIfPresent(key);
+
+        if (page == null) {
+            String value = redis.get(() -> redisTemplate.opsForValue().get(KEY_PREFIX + generation() + ":" + key));
+            page = value == null ? null : read(value, SearchResultPage.class);
+
+            if (page != null) {
+                pages.put(key, page);
+            }
+        }
+
+        return page;
+    }
+
+    /**
+     * 검색 전에 읽어 둔 {@link #evictionCount()} 를 넘긴다. 그 사이 페이지를 지운 적이 있으면 이전 상태일 수 있으므로 넣지 않는다.
+     */
+    public void put(String key, SearchResultPage page, long evictionCountAtRead) {
+        pages.put(key, page);
+
+        // 넣은 뒤에 확인해야 확인과 넣기 사이에 지운 경우도 걸러진다
+        if (evictionCount.get() != evictionCountAtRead) {
+            pages.invalidate(key);
+            return;
+        }
+
+        String value = write(page);
+
+        if (value != null) {
+            redis.run(() -> {
+                String member = generation() + ":" + key;
+
+                redisTemplate.executePipelined(new SessionCallback<Object>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public <K, V> Object execute(RedisOperations<K, V> operations) {
+                        index((RedisOperations<String, String>) operations, member, value, page);
+                        return null;
+                    }
+                });
+            });
+        }
+    }
+
+    public long evictionCount() {
+
+        return evictionCount.get();
+    }
+
+    // 다른 인스턴스에 알리지 않고 이 인스턴스의 페이지만 비운다
+    public void evictAllLocal() {
+        evictionCount.incrementAndGet();
+        pages.invalidateAll();
+        searchIdCache.invalidateAll();
+    }
+
+    public void book(Long accommodationId, Long reservationId, LocalDate checkIn, LocalDate checkout) {
+        TransactionCallbacks.afterCommit(() -> invalidate(new SearchInvalidation(accommodationId, reservationId,
+                dailyOrdering.current().sortKey(accommodationId), checkIn, checkout, true)));
+    }
+
+    public void release(Long accommodationId, Long reservationId, LocalDate checkIn, LocalDate checkout) {
+        TransactionCallbacks.afterCommit(() -> invalidate(new SearchInvalidation(accommodationId, reservationId,
+                dailyOrdering.current().sortKey(accommodationId), checkIn, checkout, false)));
+    }
+
+    // 숙소 정보 자체가 바뀌면 어느 페이지에 영향을 줄지 알 수 없으므로 모든 인스턴스의 페이지를 비운다
+    public void invalidateAll() {
+        TransactionCallbacks.afterCompletion(() -> {
+            evictAllLocal();
+
+            redis.run(() -> {
+                generation = String.valueOf(redisTemplate.opsForValue().increment(GENERATION_KEY));
+                redisTemplate.convertAndSend(GENERATION_CHANNEL, generation);
+            });
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+
+        if (GENERATION_CHANNEL.equals(new String(message.getChannel(), StandardCharsets.UTF_8))) {
+            generation = body;
+            evictAllLocal();
+            return;
+        }
+
+        SearchInvalidation invalidation = read(body, SearchInvalidation.class);
+
+        if (invalidation == null) {
+            return;
+        }
+
+        if (invalidation.isBooked()) {
+            availabilityIndex.applyBooked(invalidation.getAccommodationId(), invalidation.getReservationId(), invalidation.getCheckIn(), invalidation.getCheckout());
+        } else {
+            availabilityIndex.applyReleased(invalidation.getAccommodationId(), invalidation.getReservationId(), invalidation.getCheckIn(), invalidation.getCheckout());
+        }
+
+        evictLocal(invalidation);
+    }
+
+    private void invalidate(SearchInvalidation invalidation) {
+        evictLocal(invalidation);
+        evictRedis(invalidation);
+
+        String value = write(invalidation);
+
+        if (value != null) {
+            redis.run(() -> redisTemplate.convertAndSend(CHANNEL, value));
+        }
+    }
+
+    // DB 로 검색할 때의 id 목록은 어느 기간의 것인지 따로 색인하지 않으므로 모두 비운다
+    private void evictLocal(SearchInvalidation invalidation) {
+        evictionCount.incrementAndGet();
+        pages.asMap().values().removeIf(page -> page.isAffectedBy(invalidation));
+        searchIdCache.invalidateAll();
+    }
+
+    // 모든 페이지를 지울 때 오르는 Redis 키의 세대. 이전 세대의 페이지는 읽히지 않다가 ttl 이 지나면 만료된다
+    private String generation() {
+        String current = generation;
+
+        if (current == null) {
+            String value = redis.get(() -> redisTemplate.opsForValue().get(GENERATION_KEY));
+            current = value == null ? "0" : value;
+
+            // Redis 에 닿지 못했으면 다음에 다시 읽는다
+            if (redis.isAvailable()) {
+                generation = current;
+            }
+        }
+
+        return current;
+    }
+
+    // key 는 세대를 붙인 페이지 키
+    private void index(RedisOperations<String, String> operations, String key, String value, SearchResultPage page) {
+        long bucket = currentBucket();
+
+        operations.opsForValue().set(KEY_PREFIX + key, value, Duration.ofSeconds(ttlSeconds));
+
+        if (page.getCheckout() == null || ChronoUnit.DAYS.between(page.getCheckIn(), page.getCheckout()) > MAX_INDEXED_NIGHTS) {
+            operations.opsForZSet().add(OPEN_PREFIX + bucket, key, page.getCheckIn().toEpochDay());
+            operations.expire(OPEN_PREFIX + bucket, ttlSeconds * 2, TimeUnit.SECONDS);
+            return;
+        }
+
+        for (LocalDate night = page.getCheckIn(); night.isBefore(page.getCheckout()); night = night.plusDays(1)) {
+            operations.opsForSet().add(NIGHT_PREFIX + night + ":" + bucket, key);
+            operations.expire(NIGHT_PREFIX + night + ":" + bucket, ttlSeconds * 2, TimeUnit.SECONDS);
+        }
+    }
+
+    // 페이지는 ttl 동안만 살아 있으므로 지금 구간과 바로 앞 구간의 색인만 보면 된다
+    private void evictRedis(SearchInvalidation invalidation) {
+        redis.run(() -> {
+            long bucket = currentBucket();
+            Set<String> candidates = new HashSet<>();
+            List<String> nightKeys = new ArrayList<>();
+
+            for (LocalDate night = invalidation.getCheckIn(); night.isBefore(invalidation.getCheckout()); night = night.plusDays(1)) {
+                nightKeys.add(NIGHT_PREFIX + night + ":" + bucket);
+                nightKeys.add(NIGHT_PREFIX + night + ":" + (bucket - 1));
+            }
+
+            if (!nightKeys.isEmpty()) {
+                addAll(candidates, redisTemplate.opsForSet().union(nightKeys.get(0), nightKeys.subList(1, nightKeys.size())));
+            }
+
+            double lastNight = invalidation.getCheckout().toEpochDay() - 1;
+            addAll(candidates, redisTemplate.opsForZSet().rangeByScore(OPEN_PREFIX + bucket, Double.NEGATIVE_INFINITY, lastNight));
+            addAll(candidates, redisTemplate.opsForZSet().rangeByScore(OPEN_PREFIX + (bucket - 1), Double.NEGATIVE_INFINITY, lastNight));
+
+            if (candidates.isEmpty()) {
+                return;
+            }
+
+            List<String> redisKeys = new ArrayList<>();
+
+            for (String key : candidates) {
+                redisKeys.add(KEY_PREFIX + key);
+            }
+
+            List<String> values = redisTemplate.opsForValue().multiGet(redisKeys);
+            List<String> evictedKeys = new ArrayList<>();
+
+            for (int i = 0; i < redisKeys.size(); i++) {
+                String value = values == null ? null : values.get(i);
+                SearchResultPage page = value == null ? null : read(value, SearchResultPage.class);
+
+                if (page != null && page.isAffectedBy(invalidation)) {
+                    evictedKeys.add(redisKeys.get(i));
+                }
+            }
+
+            if (!evictedKeys.isEmpty()) {
+                redisTemplate.delete(evictedKeys);
+            }
+        });
+    }
+
+    private long currentBucket() {
+
+        return System.currentTimeMillis() / (ttlSeconds * 1000);
+    }
+
+    private void addAll(Set<String> candidates, Set<String> keys) {
+        if (keys != null) {
+            candidates.addAll(keys);
+        }
+    }
+
+    private <T> T read(String value, Class<T> type) {
+        try {
+            return objectMapper.readValue(value, type);
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignoring unreadable search cache value: {}", e.getMessage());
+
+            return null;
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            logger.warn("Could not write search cache value: {}", e.getMessage());
+
+            return null;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.sweetypie.sweetypie.cache;
+
+import com.sweetypie.sweetypie.index.OrderingSnapshot;
+import com.sweetypie.sweetypie.model.Accommodation;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 캐시에 저장하는 검색 결과 한 페이지. 엔티티 대신 id 와 그날 정렬 순서에서의 범위만 들고 있는다.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultPage {
+
+    private List<Long> ids;
+
+    private long total;
+
+    private LocalDate checkIn;
+
+    private LocalDate checkout;
+
+    private int firstSortKey;
+
+    private int lastSortKey;
+
+    public static SearchResultPage of(List<Accommodation> accommodations, long total, LocalDate checkIn, LocalDate checkout,
+                                      OrderingSnapshot ordering) {
+        List<Long> ids = new ArrayList<>();
+
+        for (Accommodation accommodation : accommodations) {
+            ids.add(accommodation.getId());
+        }
+
+        if (accommodations.isEmpty()) {
+            return new SearchResultPage(ids, total, checkIn, checkout, 0, 0);
+        }
+
+        return new SearchResultPage(ids, total, checkIn, checkout,
+                ordering.sortKey(accommodations.get(0).getId()), ordering.sortKey(accommodations.get(accommodations.size() - 1).getId()));
+    }
+
+    public boolean isAffectedBy(SearchInvalidation invalidation) {
+
+        if (!overlaps(invalidation.getCheckIn(), invalidation.getCheckout())) {
+            return false;
+        }
+
+        // 빈 페이지도 전체 개수는 들고 있으므로 결과가 남아 있으면 예약으로 개수가 줄 수 있다
+        if (ids.isEmpty()) {
+            return !invalidation.isBooked() || total > 0;
+        }
+
+        // 페이지 범위 안에 있는데 결과에 없던 숙소가 예약되면 원래 조건에 맞지 않는 숙소다.
+        // 범위 밖의 숙소는 조건에 맞는지 알 수 없고 전체 개수가 바뀔 수 있으므로 지운다
+        return !invalidation.isBooked()
+                || invalidation.getSortKey() <= firstSortKey
+                || invalidation.getSortKey() >= lastSortKey
+                || ids.contains(invalidation.getAccommodationId());
+    }
+
+    private boolean overlaps(LocalDate from, LocalDate to) {
+
+        return from.isBefore(to)
+                && (checkout == null || from.isBefore(checkout))
+                && checkIn.isBefore(to);
+    }
+}
@@ -1,6 +1,13 @@
 package com.sweetypie.sweetypie.config;
 
+import com.sweetypie.sweetypie.cache.AccommodationDetailCache;
+import com.sweetypie.sweetypie.cache.BookmarkCache;
+import com.sweetypie.sweetypie.cache.SearchResultCache;
+import com.sweetypie.sweetypie.index.AccommodationCatalog;
+import com.sweetypie.sweetypie.metrics.TimedStringRedisTemplate;
 import com.sweetypie.sweetypie.model.Member;
+import com.sweetypie.sweetypie.security.jwt.TokenBlacklist;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.context.annotation.Bean;
@@ -8,6 +15,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -32,5 +42,24 @@ public class RedisConfig {
         redisTemplate.setValueSerializer(new Jackson2JsonRedisSerializer<>(Member.class));
         return redisTemplate;
     }
-}
 
+    @Bean
+    public StringRedisTemplate stringRedisTemplate(MeterRegistry meterRegistry) {
+        return new TimedStringRedisTemplate(redisConnectionFactory(), meterRegistry);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(SearchResultCache searchResultCache, TokenBlacklist tokenBlacklist,
+                                                                 BookmarkCache bookmarkCache, AccommodationDetailCache accommodationDetailCache,
+                                                                 AccommodationCatalog accommodationCatalog) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory());
+        container.addMessageListener(searchResultCache, new ChannelTopic(SearchResultCache.CHANNEL));
+        container.addMessageListener(searchResultCache, new ChannelTopic(SearchResultCache.GENERATION_CHANNEL));
+        container.addMessageListener(tokenBlacklist, new ChannelTopic(TokenBlacklist.CHANNEL));
+        container.addMessageListener(bookmarkCache, new ChannelTopic(BookmarkCache.CHANNEL));
+        container.addMessageListener(accommodationDetailCache, new ChannelTopic(AccommodationDetailCache.CHANNEL));
+        container.addMessageListener(accommodationCatalog, new ChannelTopic(AccommodationCatalog.CHANNEL));
+        return container;
+    }
+}
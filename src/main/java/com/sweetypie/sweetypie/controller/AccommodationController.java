@@ -2,8 +2,13 @@ package com.sweetypie.sweetypie.controller;
 
 import com.sweetypie.sweetypie.aspect.LogExecutionTime;
 import com.sweetypie.sweetypie.dto.AccommodationDto;
+import com.sweetypie.sweetypie.dto.CursorSlice;
+import com.sweetypie.sweetypie.dto.PriceHistogramDto;
 import com.sweetypie.sweetypie.dto.SearchAccommodationDto;
+import com.sweetypie.sweetypie.metrics.QueryBudget;
 import com.sweetypie.sweetypie.model.Accommodation;
+import com.sweetypie.sweetypie.model.Review;
+import com.sweetypie.sweetypie.security.CurrentMember;
 import com.sweetypie.sweetypie.service.AccommodationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -13,7 +18,6 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -25,15 +29,24 @@ import java.util.List;
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api")
+@QueryBudget(4)
 public class AccommodationController {
 
     private final AccommodationService accommodationService;
 
     @GetMapping("/accommodation/{id}")
     @LogExecutionTime
-    public AccommodationDto getAccommodation(@RequestHeader(value = "Authorization", required = false) String token, @PathVariable Long id) {
+    @QueryBudget(8)
+    public AccommodationDto getAccommodation(@CurrentMember Long memberId, @PathVariable Long id) {
 
-        return accommodationService.findById(token, id);
+        return accommodationService.findById(memberId, id);
+    }
+
+    @GetMapping("/accommodation/{id}/reviews")
+    public CursorSlice<Review> getReviews(@PathVariable Long id, @RequestParam(required = false) String after,
+                                          @RequestParam(required = false, defaultValue = "10") int size) {
+
+        return accommodationService.findReviews(id, after, size);
     }
 
     @GetMapping("/accommodations")
@@ -43,29 +56,57 @@ public class AccommodationController {
     }
 
     @GetMapping("/accommodations/city/{city}")
-    public Page<SearchAccommodationDto> getAccommodationsByCity(@RequestHeader(value = "Authorization", required = false) String token,
+    public Page<SearchAccommodationDto> getAccommodationsByCity(@CurrentMember Long memberId,
                                                                 @PathVariable String city, @PageableDefault(size = 20) Pageable page) {
 
-        return accommodationService.findByCity(token, city, page);
+        return accommodationService.findByCity(memberId, city, page);
+    }
+
+    @GetMapping(value = "/accommodations/city/{city}", params = "after")
+    public CursorSlice<SearchAccommodationDto> getAccommodationsByCity(@CurrentMember Long memberId,
+                                                                       @PathVariable String city, @RequestParam String after,
+                                                                       @RequestParam(required = false, defaultValue = "20") int size) {
+
+        return accommodationService.findByCity(memberId, city, after, size);
     }
 
     @GetMapping("/accommodations/buildingType/{buildingType}")
-    public Page<SearchAccommodationDto> getAccommodationsByBuildingType(@RequestHeader(value = "Authorization", required = false) String token,
+    public Page<SearchAccommodationDto> getAccommodationsByBuildingType(@CurrentMember Long memberId,
                                                                         @PathVariable String buildingType, @PageableDefault(size = 20) Pageable page) {
 
-        return accommodationService.findByBuildingType(token, buildingType, page);
+        return accommodationService.findByBuildingType(memberId, buildingType, page);
+    }
+
+    @GetMapping(value = "/accommodations/buildingType/{buildingType}", params = "after")
+    public CursorSlice<SearchAccommodationDto> getAccommodationsByBuildingType(@CurrentMember Long memberId,
+                                                                               @PathVariable String buildingType, @RequestParam String after,
+                                                                               @RequestParam(required = false, defaultValue = "20") int size) {
+
+        return accommodationService.findByBuildingType(memberId, buildingType, after, size);
     }
 
     @LogExecutionTime
     @GetMapping("/accommodations/search")
-    public Page<SearchAccommodationDto> getAccommodationsBySearch(@RequestHeader(value = "Authorization", required = false) String token, @RequestParam(required = false) String searchKeyword,
+    public Page<SearchAccommodationDto> getAccommodationsBySearch(@CurrentMember Long memberId, @RequestParam(required = false) String searchKeyword,
                                                                   @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkIn,
                                                                   @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkout,
                                                                   @RequestParam(required = false, defaultValue = "1") int guestNum, @RequestParam(required = false) String types,
                                                                   @RequestParam(required = false) Integer minPrice, @RequestParam(required = false) Integer maxPrice,
                                                                   @PageableDefault(size = 20) Pageable page) {
 
-        return accommodationService.findAccommodationsBySearch(token, searchKeyword, checkIn, checkout, guestNum, minPrice, maxPrice, types, page);
+        return accommodationService.findAccommodationsBySearch(memberId, searchKeyword, checkIn, checkout, guestNum, minPrice, maxPrice, types, page);
+    }
+
+    @LogExecutionTime
+    @GetMapping(value = "/accommodations/search", params = "after")
+    public CursorSlice<SearchAccommodationDto> getAccommodationsBySearch(@CurrentMember Long memberId, @RequestParam(required = false) String searchKeyword,
+                                                                         @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkIn,
+                                                                         @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkout,
+                                                                         @RequestParam(required = false, defaultValue = "1") int guestNum, @RequestParam(required = false) String types,
+                                                                         @RequestParam(required = false) Integer minPrice, @RequestParam(required = false) Integer maxPrice,
+                                                                         @RequestParam String after, @RequestParam(required = false, defaultValue = "20") int size) {
+
+        return accommodationService.findAccommodationsBySearch(memberId, searchKeyword, checkIn, checkout, guestNum, minPrice, maxPrice, types, after, size);
     }
 
     @LogExecutionTime
@@ -76,12 +117,27 @@ public class AccommodationController {
                                                                      @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkout,
                                                                      @RequestParam(required = false, defaultValue = "1") int guestNum, @RequestParam(required = false) String types,
                                                                      @RequestParam(required = false) Integer minPrice, @RequestParam(required = false) Integer maxPrice,
-                                                                     @RequestHeader(value = "Authorization", required = false) String token, @PageableDefault(size = 20) Pageable page) {
+                                                                     @CurrentMember Long memberId, @PageableDefault(size = 20) Pageable page) {
 
-        return accommodationService.findAccommodationsByMapSearch(token, minLatitude, maxLatitude, minLongitude,
+        return accommodationService.findAccommodationsByMapSearch(memberId, minLatitude, maxLatitude, minLongitude,
                 maxLongitude, minPrice, maxPrice, checkIn, checkout, guestNum, types, page);
     }
 
+    @LogExecutionTime
+    @GetMapping(value = "/accommodations/mapSearch", params = "after")
+    public CursorSlice<SearchAccommodationDto> getAccommodationsByMapSearch(@RequestParam float minLatitude, @RequestParam float maxLatitude,
+                                                                            @RequestParam float minLongitude, @RequestParam float maxLongitude,
+                                                                            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkIn,
+                                                                            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkout,
+                                                                            @RequestParam(required = false, defaultValue = "1") int guestNum, @RequestParam(required = false) String types,
+                                                                            @RequestParam(required = false) Integer minPrice, @RequestParam(required = false) Integer maxPrice,
+                                                                            @CurrentMember Long memberId,
+                                                                            @RequestParam String after, @RequestParam(required = false, defaultValue = "20") int size) {
+
+        return accommodationService.findAccommodationsByMapSearch(memberId, minLatitude, maxLatitude, minLongitude,
+                maxLongitude, minPrice, maxPrice, checkIn, checkout, guestNum, types, after, size);
+    }
+
     @GetMapping("/accommodations/price")
     public List<Integer> getAccommodationsPrices(@RequestParam(required = false) String searchKeyword,
                                                  @RequestParam(required = false) Float minLatitude, @RequestParam(required = false) Float maxLatitude,
@@ -92,4 +148,16 @@ public class AccommodationController {
 
         return accommodationService.findPricesBySearch(searchKeyword, minLatitude, maxLatitude, minLongitude, maxLongitude, checkIn, checkout, guestNum, types);
     }
+
+    @GetMapping("/accommodations/priceHistogram")
+    public PriceHistogramDto getAccommodationsPriceHistogram(@RequestParam(required = false) String searchKeyword,
+                                                             @RequestParam(required = false) Float minLatitude, @RequestParam(required = false) Float maxLatitude,
+                                                             @RequestParam(required = false) Float minLongitude, @RequestParam(required = false) Float maxLongitude,
+                                                             @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkIn,
+                                                             @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate checkout,
+                                                             @RequestParam(required = false, defaultValue = "1") int guestNum, @RequestParam(required = false) String types,
+                                                             @RequestParam(required = false, defaultValue = "25") int buckets) {
+
+        return accommodationService.findPriceHistogram(searchKeyword, minLatitude, maxLatitude, minLongitude, maxLongitude, checkIn, checkout, guestNum, types, buckets);
+    }
 }
\ No newline at end of file
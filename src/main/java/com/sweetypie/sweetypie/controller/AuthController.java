@@ -1,6 +1,5 @@
 package com.sweetypie.sweetypie.controller;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.sweetypie.sweetypie.dto.*;
 import com.sweetypie.sweetypie.service.AuthService;
 import lombok.RequiredArgsConstructor;
@@ -28,7 +27,7 @@ public class AuthController {
     }
 
     @GetMapping("/login/google")
-    public ResponseEntity<Map<String, String>> googleLogin(@RequestParam(value = "code") String authCode) throws JsonProcessingException {
+    public ResponseEntity<Map<String, String>> googleLogin(@RequestParam(value = "code") String authCode) {
 
         Map<String, String> map;
             map = authService.googleLogin(authCode);
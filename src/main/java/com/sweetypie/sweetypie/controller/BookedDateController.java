@@ -1,7 +1,9 @@
 package com.sweetypie.sweetypie.controller;
 
+import com.sweetypie.sweetypie.dto.BookedDateDto;
 import com.sweetypie.sweetypie.model.BookedDate;
 import com.sweetypie.sweetypie.repository.BookedDateRepository;
+import com.sweetypie.sweetypie.repository.dynamic.DynamicBookedDateRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,17 +19,19 @@ import java.util.List;
 @RequestMapping("/api")
 public class BookedDateController {
 
+    private final DynamicBookedDateRepository dynamicBookedDateRepository;
+
     private final BookedDateRepository bookedDateRepository;
 
     @GetMapping("/bookDate/{id}")
     public BookedDate findById(@PathVariable Long id) {
 
-        return bookedDateRepository.findById(id).orElse(BookedDate.emptyObject());
+        return bookedDateRepository.findBookedById(id).orElse(BookedDate.emptyObject());
     }
 
     @GetMapping("/bookDates/{accommodationId}")
-    public List<BookedDate> findBookedDatesByAccommodation_Id(@PathVariable Long accommodationId) {
+    public List<BookedDateDto> findBookedDatesByAccommodation_Id(@PathVariable Long accommodationId) {
 
-        return bookedDateRepository.findBookedDatesByAccommodationId(accommodationId);
+        return dynamicBookedDateRepository.findByAccommodationId(accommodationId);
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,8 @@ package com.sweetypie.sweetypie.controller;
 
 import com.sweetypie.sweetypie.dto.BookmarkDto;
 import com.sweetypie.sweetypie.dto.BookmarkListDto;
+import com.sweetypie.sweetypie.metrics.QueryBudget;
+import com.sweetypie.sweetypie.security.CurrentMember;
 import com.sweetypie.sweetypie.service.BookmarkService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -11,7 +13,6 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -28,20 +29,21 @@ public class BookmarkController {
     private final BookmarkService bookmarkService;
 
     @GetMapping("/bookmark")
-    public List<BookmarkListDto> getBookmarksByMemberId(@RequestHeader("Authorization") String token) {
+    @QueryBudget(1)
+    public List<BookmarkListDto> getBookmarksByMemberId(@CurrentMember Long memberId) {
 
-        return bookmarkService.findBookmarksByToken(token);
+        return bookmarkService.findBookmarksByToken(memberId);
     }
 
     @PostMapping("/bookmark")
-    public void postBookmark(@RequestHeader("Authorization") String token, @Valid @RequestBody BookmarkDto bookmarkDto) {
+    public void postBookmark(@CurrentMember Long memberId, @Valid @RequestBody BookmarkDto bookmarkDto) {
 
-        bookmarkService.postBookmark(token, bookmarkDto);
+        bookmarkService.postBookmark(memberId, bookmarkDto);
     }
 
     @DeleteMapping("/bookmark/{accommodationId}")
-    public void deleteBookmark(@RequestHeader("Authorization") String token, @PathVariable long accommodationId) {
+    public void deleteBookmark(@CurrentMember Long memberId, @PathVariable long accommodationId) {
 
-        bookmarkService.deleteBookmark(token, accommodationId);
+        bookmarkService.deleteBookmark(memberId, accommodationId);
     }
 }
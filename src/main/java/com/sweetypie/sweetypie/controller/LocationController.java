@@ -0,0 +1,28 @@
+package com.sweetypie.sweetypie.controller;
+
+import com.sweetypie.sweetypie.dto.LocationSuggestDto;
+import com.sweetypie.sweetypie.service.LocationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@CrossOrigin
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api")
+public class LocationController {
+
+    private final LocationService locationService;
+
+    @GetMapping("/locations/suggest")
+    public List<LocationSuggestDto> suggestLocations(@RequestParam(required = false) String q,
+                                                     @RequestParam(required = false, defaultValue = "10") int size) {
+
+        return locationService.suggest(q, size);
+    }
+}
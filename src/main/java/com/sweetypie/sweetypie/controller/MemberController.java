@@ -2,7 +2,7 @@ package com.sweetypie.sweetypie.controller;
 
 import com.sweetypie.sweetypie.dto.MemberDto;
 import com.sweetypie.sweetypie.model.Member;
-import com.sweetypie.sweetypie.security.jwt.TokenProvider;
+import com.sweetypie.sweetypie.security.CurrentMember;
 import com.sweetypie.sweetypie.service.AuthService;
 import com.sweetypie.sweetypie.service.MemberService;
 import lombok.RequiredArgsConstructor;
@@ -19,19 +19,17 @@ import javax.validation.Valid;
 public class MemberController {
 
     private final MemberService memberService;
-    private final TokenProvider tokenProvider;
     private final AuthService authService;
 
     @GetMapping("/member")
     @PreAuthorize("authenticated")
-    public ResponseEntity<MemberDto> getMember(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<MemberDto> getMember(@CurrentMember Long memberId) {
 
-        Member member = memberService.getMember(tokenProvider.parseTokenToGetMemberId(token));
+        Member member = memberService.getMember(memberId);
 
         return ResponseEntity.ok(mapToMemberDto(member));
     }
 
-
     @PostMapping("/member")
     public void signup(
             @Valid @RequestBody MemberDto memberDto) {
@@ -42,17 +40,17 @@ public class MemberController {
     @PutMapping("/member")
     @PreAuthorize("authenticated")
     public void updateMember(
-            @RequestHeader("Authorization") String token,
+            @CurrentMember Long memberId,
             @Valid @RequestBody MemberDto memberDto) {
 
-        memberService.updateMember(tokenProvider.parseTokenToGetMemberId(token), memberDto);
+        memberService.updateMember(memberId, memberDto);
     }
 
     @DeleteMapping("/member")
     @PreAuthorize("authenticated")
-    public void withdrawalMember(@RequestHeader("Authorization") String token) {
+    public void withdrawalMember(@RequestHeader("Authorization") String token, @CurrentMember Long memberId) {
 
-        memberService.withdrawal(tokenProvider.parseTokenToGetMemberId(token));
+        memberService.withdrawal(memberId);
         //회원 탈퇴후 접근한 토큰 만료시키기
         authService.logout(token);
     }
@@ -1,7 +1,9 @@
 package com.sweetypie.sweetypie.controller;
 
+import com.sweetypie.sweetypie.dto.CursorSlice;
 import com.sweetypie.sweetypie.dto.ReservationDto;
-import com.sweetypie.sweetypie.security.jwt.TokenProvider;
+import com.sweetypie.sweetypie.metrics.QueryBudget;
+import com.sweetypie.sweetypie.security.CurrentMember;
 import com.sweetypie.sweetypie.service.ReservationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,36 +19,46 @@ import java.util.List;
 public class ReservationController {
 
     private final ReservationService reservationService;
-    private final TokenProvider tokenProvider;
 
     @GetMapping("/reservation")
     @PreAuthorize("authenticated")
-    public List<ReservationDto> getReservations(@RequestHeader(value = "Authorization") String token) {
+    @QueryBudget(1)
+    public List<ReservationDto> getReservations(@CurrentMember Long memberId) {
 
-        return reservationService.getReservations(tokenProvider.parseTokenToGetMemberId(token));
+        return reservationService.getReservations(memberId);
+    }
+
+    // after 를 비워서 보내면 첫 페이지를 준다
+    @GetMapping(value = "/reservation", params = "after")
+    @PreAuthorize("authenticated")
+    @QueryBudget(1)
+    public CursorSlice<ReservationDto> getReservations(@CurrentMember Long memberId, @RequestParam String after,
+                                                       @RequestParam(required = false, defaultValue = "20") int size) {
+
+        return reservationService.getReservations(memberId, after, size);
     }
 
     @PostMapping("/reservation")
     @PreAuthorize("authenticated")
-    public void makeAReservation(@RequestHeader(value = "Authorization") String token, @Valid @RequestBody ReservationDto reservationDto){
+    public void makeAReservation(@CurrentMember Long memberId, @Valid @RequestBody ReservationDto reservationDto){
 
-        reservationService.makeAReservation(tokenProvider.parseTokenToGetMemberId(token), reservationDto);
+        reservationService.makeAReservation(memberId, reservationDto);
 
     }
 
     @PatchMapping("/reservation/{id}")
     @PreAuthorize("authenticated")
-    public void updateReservation(@PathVariable Long id, @RequestHeader(value = "Authorization") String token, @Valid @RequestBody ReservationDto reservationDto) {
+    public void updateReservation(@PathVariable Long id, @CurrentMember Long memberId, @Valid @RequestBody ReservationDto reservationDto) {
 
-        reservationService.updateReservation(id, tokenProvider.parseTokenToGetMemberId(token), reservationDto);
+        reservationService.updateReservation(id, memberId, reservationDto);
 
     }
 
     @DeleteMapping("/reservation/{id}")
     @PreAuthorize("authenticated")
-    public void cancelReservation(@PathVariable Long id,  @RequestHeader(value = "Authorization") String token) {
+    public void cancelReservation(@PathVariable Long id,  @CurrentMember Long memberId) {
 
-        reservationService.deleteReservation(id, tokenProvider.parseTokenToGetMemberId(token));
+        reservationService.deleteReservation(id, memberId);
 
     }
 }
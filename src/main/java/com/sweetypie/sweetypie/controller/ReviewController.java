@@ -2,6 +2,7 @@ package com.sweetypie.sweetypie.controller;
 
 import com.sweetypie.sweetypie.dto.ReviewDto;
 import com.sweetypie.sweetypie.model.Review;
+import com.sweetypie.sweetypie.security.CurrentMember;
 import com.sweetypie.sweetypie.service.ReviewService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -12,7 +13,6 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -28,26 +28,26 @@ public class ReviewController {
     private final ReviewService reviewService;
 
     @GetMapping("/review/{reservationId}")
-    public Review getReview(@RequestHeader("Authorization") String token, @PathVariable long reservationId) {
+    public Review getReview(@CurrentMember Long memberId, @PathVariable long reservationId) {
 
-        return reviewService.findReviewByReservationId(token, reservationId);
+        return reviewService.findReviewByReservationId(memberId, reservationId);
     }
 
     @PostMapping("/review")
-    public void postReview(@RequestHeader("Authorization") String token, @Valid @RequestBody ReviewDto reviewDto) {
+    public void postReview(@CurrentMember Long memberId, @Valid @RequestBody ReviewDto reviewDto) {
 
-        reviewService.writeReview(token, reviewDto);
+        reviewService.writeReview(memberId, reviewDto);
     }
 
     @PutMapping("/review")
-    public void updateReview(@RequestHeader("Authorization") String token, @Valid @RequestBody ReviewDto reviewDto) {
+    public void updateReview(@CurrentMember Long memberId, @Valid @RequestBody ReviewDto reviewDto) {
 
-        reviewService.updateReview(token, reviewDto);
+        reviewService.updateReview(memberId, reviewDto);
     }
 
     @DeleteMapping("/review/{id}")
-    public void deleteReview(@RequestHeader("Authorization") String token, @PathVariable Long id) {
+    public void deleteReview(@CurrentMember Long memberId, @PathVariable Long id) {
 
-        reviewService.deleteReview(token, id);
+        reviewService.deleteReview(memberId, id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.sweetypie.sweetypie.dto;
+
+public interface AccommodationCatalogRow {
+
+    Long getId();
+
+    int getPrice();
+
+    int getCapacity();
+
+    float getLatitude();
+
+    float getLongitude();
+
+    String getCity();
+
+    String getGu();
+
+    String getAccommodationType();
+
+    String getBuildingType();
+}
@@ -3,6 +3,7 @@ package com.sweetypie.sweetypie.dto;
 import com.sweetypie.sweetypie.model.AccommodationPicture;
 import com.sweetypie.sweetypie.model.Bookmark;
 import com.sweetypie.sweetypie.model.Review;
+import com.sweetypie.sweetypie.model.ReviewSummary;
 import com.querydsl.core.annotations.QueryProjection;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -65,6 +66,8 @@ public class AccommodationDto {
 
     private List<Review> reviews;
 
+    private ReviewSummary reviewSummary;
+
     private List<BookedDateDto> bookedDateDtos;
 
     private List<AccommodationPicture> accommodationPictures;
@@ -34,12 +34,12 @@ public class BookmarkListDto {
     }
 
     @QueryProjection
-    public BookmarkListDto(long bookmarkId, @Positive long accommodationId, String title, String city, String gu, AccommodationPicture accommodationPicture) {
+    public BookmarkListDto(long bookmarkId, @Positive long accommodationId, String title, String city, String gu, Long pictureId, String pictureUrl) {
         this.bookmarkId = bookmarkId;
         this.accommodationId = accommodationId;
         this.title = title;
         this.city = city;
         this.gu = gu;
-        this.accommodationPicture = accommodationPicture;
+        this.accommodationPicture = pictureId == null ? null : new AccommodationPicture(pictureId, pictureUrl, null);
     }
 }
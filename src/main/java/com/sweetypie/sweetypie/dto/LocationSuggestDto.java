@@ -0,0 +1,18 @@
+package com.sweetypie.sweetypie.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationSuggestDto {
+
+    private String name;
+
+    // city 또는 gu
+    private String type;
+
+    private int count;
+}
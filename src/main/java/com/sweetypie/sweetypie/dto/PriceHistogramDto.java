@@ -0,0 +1,46 @@
+package com.sweetypie.sweetypie.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 가격 슬라이더용 히스토그램. 0원부터 상한가까지 같은 폭의 구간으로 나누고, 상한가 이상은 마지막 구간에 넣는다.
+ */
+@Getter
+@AllArgsConstructor
+public class PriceHistogramDto {
+
+    private int count;
+
+    private int minPrice;
+
+    private int maxPrice;
+
+    private int avgPrice;
+
+    private int bucketSize;
+
+    private int[] buckets;
+
+    public static PriceHistogramDto of(int[] prices, int bucketCount, int priceCap) {
+        int bucketSize = (priceCap + bucketCount - 1) / bucketCount;
+        int[] buckets = new int[bucketCount];
+
+        if (prices.length == 0) {
+            return new PriceHistogramDto(0, 0, 0, 0, bucketSize, buckets);
+        }
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        long sum = 0;
+
+        for (int price : prices) {
+            min = Math.min(min, price);
+            max = Math.max(max, price);
+            sum += price;
+            buckets[Math.min(Math.max(price, 0) / bucketSize, bucketCount - 1)]++;
+        }
+
+        return new PriceHistogramDto(prices.length, min, max, (int) Math.round((double) sum / prices.length), bucketSize, buckets);
+    }
+}
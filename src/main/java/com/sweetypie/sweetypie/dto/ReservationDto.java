@@ -1,5 +1,6 @@
 package com.sweetypie.sweetypie.dto;
 
+import com.querydsl.core.annotations.QueryProjection;
 import com.sweetypie.sweetypie.model.AccommodationPicture;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -67,4 +68,30 @@ public class ReservationDto {
 
     private AccommodationPicture accommodationPicture;
 
+    @QueryProjection
+    public ReservationDto(Long reservationId, LocalDate checkInDate, LocalDate checkoutDate, int totalGuestNum, int adultNum, int childNum, int infantNum, int totalPrice, boolean isWrittenReview,
+                          Long accommodationId, String city, String gu, String title, String hostName, int bathroomNum, int bedroomNum, int bedNum, float ratingAvg, int reviewNum, int pricePerDay,
+                          Long pictureId, String pictureUrl) {
+        this.reservationId = reservationId;
+        this.checkInDate = checkInDate;
+        this.checkoutDate = checkoutDate;
+        this.totalGuestNum = totalGuestNum;
+        this.adultNum = adultNum;
+        this.childNum = childNum;
+        this.infantNum = infantNum;
+        this.totalPrice = totalPrice;
+        this.isWrittenReview = isWrittenReview;
+        this.accommodationId = accommodationId;
+        this.city = city;
+        this.gu = gu;
+        this.title = title;
+        this.hostName = hostName;
+        this.bathroomNum = bathroomNum;
+        this.bedroomNum = bedroomNum;
+        this.bedNum = bedNum;
+        this.ratingAvg = ratingAvg;
+        this.reviewNum = reviewNum;
+        this.pricePerDay = pricePerDay;
+        this.accommodationPicture = pictureId == null ? null : new AccommodationPicture(pictureId, pictureUrl, null);
+    }
 }
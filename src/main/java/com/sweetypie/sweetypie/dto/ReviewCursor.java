@@ -0,0 +1,40 @@
+package com.sweetypie.sweetypie.dto;
+
+import com.sweetypie.sweetypie.exception.InputNotValidException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class ReviewCursor {
+
+    private final LocalDate createdDate;
+
+    private final long id;
+
+    public static ReviewCursor decode(String token) {
+        if (!StringUtils.hasText(token)) {
+            return null;
+        }
+
+        try {
+            String[] values = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+
+            return new ReviewCursor(LocalDate.parse(values[0]), Long.parseLong(values[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InputNotValidException("Cursor Not Valid");
+        }
+    }
+
+    public String encode() {
+        String value = createdDate + ":" + id;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
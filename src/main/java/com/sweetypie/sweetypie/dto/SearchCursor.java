@@ -0,0 +1,42 @@
+package com.sweetypie.sweetypie.dto;
+
+import com.sweetypie.sweetypie.exception.InputNotValidException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+@Getter
+@AllArgsConstructor(staticName = "of")
+public class SearchCursor {
+
+    // 그날 정렬 순서의 정렬 키
+    private final int sortKey;
+
+    private final long id;
+
+    // 커서를 만든 정렬 순서. 순서가 바뀌면 이어서 읽을 위치가 달라지므로 거절한다
+    private final String version;
+
+    public static SearchCursor decode(String token) {
+        if (!StringUtils.hasText(token)) {
+            return null;
+        }
+
+        try {
+            String[] values = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":", 3);
+
+            return new SearchCursor(Integer.parseInt(values[0]), Long.parseLong(values[1]), values[2]);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new InputNotValidException("Cursor Not Valid");
+        }
+    }
+
+    public String encode() {
+        String value = sortKey + ":" + id + ":" + version;
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
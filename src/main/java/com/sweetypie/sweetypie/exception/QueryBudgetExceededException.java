@@ -0,0 +1,7 @@
+package com.sweetypie.sweetypie.exception;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
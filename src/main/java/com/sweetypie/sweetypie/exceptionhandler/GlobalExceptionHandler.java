@@ -4,6 +4,7 @@ import com.sweetypie.sweetypie.dto.ErrorDto;
 import com.sweetypie.sweetypie.exception.DataNotFoundException;
 import com.sweetypie.sweetypie.exception.DuplicateValueExeption;
 import com.sweetypie.sweetypie.exception.InputNotValidException;
+import com.sweetypie.sweetypie.exception.ServiceUnavailableException;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
@@ -38,6 +39,13 @@ public class GlobalExceptionHandler {
         return ErrorDto.of(ex.getMessage());
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorDto handleServiceUnavailableException(ServiceUnavailableException ex) {
+
+        return ErrorDto.of(ex.getMessage());
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorDto handleValidationError(MethodArgumentNotValidException ex) {
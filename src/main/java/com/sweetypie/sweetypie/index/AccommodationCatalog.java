@@ -0,0 +1,567 @@
+package com.sweetypie.sweetypie.index;
+
+import com.sweetypie.sweetypie.cache.SearchResultCache;
+import com.sweetypie.sweetypie.dto.AccommodationCatalogRow;
+import com.sweetypie.sweetypie.dto.LocationSuggestDto;
+import com.sweetypie.sweetypie.dto.SearchCursor;
+import com.sweetypie.sweetypie.model.Accommodation;
+import com.sweetypie.sweetypie.repository.AccommodationRepository;
+import com.sweetypie.sweetypie.support.RedisFallback;
+import com.sweetypie.sweetypie.support.TransactionCallbacks;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * 검색 필터에 쓰는 숙소 열만 기본형 배열로 들고 있는 읽기 전용 카탈로그.
+ * 행은 그날의 정렬 키, id 순으로 정렬되어 있어 앞에서부터 훑은 순서가 곧 검색 결과 순서이고, DB 는 마지막 페이지를 채울 때만 읽는다.
+ * 문자열 열은 사전 번호로 바꿔 두고 조건마다 사전 크기만큼의 일치 여부를 먼저 계산한다.
+ * 지역 접두어는 {@link LocationPrefixIndex} 로 행 BitSet 을 만들어 교집합을 구한 뒤 후보 행만 훑는다.
+ * 이미 있는 숙소의 가격, 인원, 좌표, 유형만 바뀌면 그 행만 고치고, 숙소가 추가/삭제되거나 지역이 바뀌거나 날짜가 바뀌어
+ * 정렬 순서가 달라지면 다음 검색에서 배열을 다시 만든다.
+ * 커밋 후 바뀐 숙소 id 를 Redis pub/sub 으로 알리고, 알림을 받은 인스턴스는 그 행을 DB 에서 다시 읽어 고친 뒤 로컬 검색 결과를 비운다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccommodationCatalog implements InitializingBean, MessageListener {
+
+    public static final String CHANNEL = "accommodation:catalog:update";
+
+    // 검색의 maxPrice 상한. 이 값이면 상한 없이 minPrice 이상을 찾는다
+    private static final int PRICE_CAP = 250000;
+
+    private final Logger logger = LoggerFactory.getLogger(AccommodationCatalog.class);
+
+    private final AccommodationRepository accommodationRepository;
+
+    private final DailyOrdering dailyOrdering;
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    private final SearchResultCache searchResultCache;
+
+    private @Value("${search.catalog.redis-retry-seconds:30}") long redisRetrySeconds;
+
+    private RedisFallback redis;
+
+    private final Map<Long, Row> rows = new ConcurrentHashMap<>();
+
+    private volatile Columns columns = Columns.of(new ArrayList<>(), null);
+
+    private volatile boolean dirty;
+
+    private volatile boolean loaded;
+
+    @Override
+    public void afterPropertiesSet() {
+        redis = new RedisFallback("Accommodation catalog", redisRetrySeconds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        List<AccommodationCatalogRow> catalogRows = accommodationRepository.findCatalogRowsBy();
+
+        rows.clear();
+
+        for (AccommodationCatalogRow row : catalogRows) {
+            rows.put(row.getId(), Row.of(row));
+        }
+
+        columns = Columns.of(new ArrayList<>(rows.values()), dailyOrdering.current());
+        dirty = false;
+        loaded = true;
+
+        logger.info("AccommodationCatalog loaded: {} accommodations", columns.size);
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // 카탈로그 열이 바뀌었으면 true. 평점, 리뷰 수처럼 검색 조건에 쓰지 않는 열만 바뀌었으면 아무것도 하지 않는다
+    public boolean put(Accommodation accommodation) {
+        Row row = new Row(accommodation.getId(), accommodation.getPrice(), accommodation.getCapacity(),
+                accommodation.getLatitude(), accommodation.getLongitude(), accommodation.getCity(), accommodation.getGu(),
+                accommodation.getAccommodationType(), accommodation.getBuildingType());
+
+        if (row.equals(rows.get(row.id))) {
+            return false;
+        }
+
+        TransactionCallbacks.afterCommit(() -> {
+            update(row);
+            publish(row.id);
+        });
+
+        return true;
+    }
+
+    public void remove(Long id) {
+        TransactionCallbacks.afterCommit(() -> {
+            delete(id);
+            publish(id);
+        });
+    }
+
+    // 알림에는 id 만 담으므로 커밋된 행을 DB 에서 읽는다. 아직 올라오지 않은 카탈로그는 올라올 때 DB 를 읽는다
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        long id;
+
+        try {
+            id = Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8));
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed accommodation catalog message");
+            return;
+        }
+
+        if (!loaded) {
+            return;
+        }
+
+        AccommodationCatalogRow row = accommodationRepository.findCatalogRowById(id);
+
+        if (row == null) {
+            delete(id);
+        } else if (!Row.of(row).equals(rows.get(id))) {
+            update(Row.of(row));
+        }
+
+        searchResultCache.evictAllLocal();
+    }
+
+    public Page<Long> findIds(CatalogFilter filter, Pageable page) {
+        Columns columns = columns();
+        Matcher matcher = new Matcher(columns, filter);
+        List<Long> ids = new ArrayList<>(page.getPageSize());
+        long offset = page.getOffset();
+        long total = 0;
+
+        for (int i = matcher.next(0); i >= 0; i = matcher.next(i + 1)) {
+            if (matcher.matches(i)) {
+                if (total >= offset && ids.size() < page.getPageSize()) {
+                    ids.add(columns.ids[i]);
+                }
+
+                total++;
+            }
+        }
+
+        return new PageImpl<>(ids, page, total);
+    }
+
+    public List<Long> findIds(CatalogFilter filter, SearchCursor after, int limit) {
+        Columns columns = columns();
+        Matcher matcher = new Matcher(columns, filter);
+        List<Long> ids = new ArrayList<>(limit);
+
+        for (int i = matcher.next(after == null ? 0 : columns.positionAfter(after.getSortKey(), after.getId())); i >= 0 && ids.size() < limit; i = matcher.next(i + 1)) {
+            if (matcher.matches(i)) {
+                ids.add(columns.ids[i]);
+            }
+        }
+
+        return ids;
+    }
+
+    public int[] findPrices(CatalogFilter filter) {
+        Columns columns = columns();
+        Matcher matcher = new Matcher(columns, filter);
+        int[] prices = new int[columns.size];
+        int count = 0;
+
+        for (int i = matcher.next(0); i >= 0; i = matcher.next(i + 1)) {
+            if (matcher.matches(i)) {
+                prices[count++] = columns.prices[i];
+            }
+        }
+
+        prices = Arrays.copyOf(prices, count);
+        Arrays.sort(prices);
+
+        return prices;
+    }
+
+    // 지역 이름을 숙소가 많은 순으로 추천한다. 입력 중인 글자도 맞춰 볼 수 있도록 자모 단위로 찾는다
+    public List<LocationSuggestDto> suggestLocations(String prefix, int limit) {
+        Columns columns = columns();
+        List<LocationSuggestDto> suggestions = columns.cityIndex.suggest(prefix, "city");
+        suggestions.addAll(columns.guIndex.suggest(prefix, "gu"));
+
+        suggestions.sort(Comparator.comparingInt(LocationSuggestDto::getCount).reversed()
+                .thenComparing(LocationSuggestDto::getName));
+
+        return suggestions.size() > limit ? new ArrayList<>(suggestions.subList(0, limit)) : suggestions;
+    }
+
+    private void publish(long id) {
+        redis.run(() -> redisTemplate.convertAndSend(CHANNEL, String.valueOf(id)));
+    }
+
+    private void delete(long id) {
+        if (rows.remove(id) != null) {
+            dirty = true;
+        }
+    }
+
+    private synchronized void update(Row row) {
+        Row previous = rows.put(row.id, row);
+
+        if (dirty || previous == null || !columns.patch(previous, row)) {
+            dirty = true;
+        }
+    }
+
+    private Columns columns() {
+        OrderingSnapshot ordering = dailyOrdering.current();
+
+        if (dirty || !ordering.equals(columns.ordering)) {
+            synchronized (this) {
+                if (dirty || !ordering.equals(columns.ordering)) {
+                    dirty = false;
+                    columns = Columns.of(new ArrayList<>(rows.values()), ordering);
+                }
+            }
+        }
+
+        return columns;
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static class Row {
+
+        private final long id;
+
+        private final int price;
+
+        private final int capacity;
+
+        private final float latitude;
+
+        private final float longitude;
+
+        private final String city;
+
+        private final String gu;
+
+        private final String accommodationType;
+
+        private final String buildingType;
+
+        static Row of(AccommodationCatalogRow row) {
+            return new Row(row.getId(), row.getPrice(), row.getCapacity(), row.getLatitude(), row.getLongitude(),
+                    row.getCity(), row.getGu(), row.getAccommodationType(), row.getBuildingType());
+        }
+    }
+
+    /**
+     * 문자열 값을 0 부터 시작하는 번호로 바꾼다. null 도 하나의 값으로 번호를 받는다.
+     */
+    private static class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            return codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        // 사전에 없는 값이면 -1. 검색 중에도 부를 수 있도록 사전을 바꾸지 않는다
+        int find(String value) {
+            return codes.getOrDefault(value, -1);
+        }
+
+        boolean[] match(Predicate<String> predicate) {
+            boolean[] matches = new boolean[values.size()];
+
+            for (int code = 0; code < matches.length; code++) {
+                String value = values.get(code);
+                matches[code] = value != null && predicate.test(value);
+            }
+
+            return matches;
+        }
+    }
+
+    private static class Columns {
+
+        private OrderingSnapshot ordering;
+
+        private int size;
+
+        private long[] ids;
+
+        private int[] sortKeys;
+
+        private int[] prices;
+
+        private int[] capacities;
+
+        private float[] latitudes;
+
+        private float[] longitudes;
+
+        private int[] cities;
+
+        private int[] gus;
+
+        private int[] accommodationTypes;
+
+        private int[] buildingTypes;
+
+        private final Dictionary cityDictionary = new Dictionary();
+
+        private final Dictionary guDictionary = new Dictionary();
+
+        private final Dictionary accommodationTypeDictionary = new Dictionary();
+
+        private final Dictionary buildingTypeDictionary = new Dictionary();
+
+        private LocationPrefixIndex cityIndex;
+
+        private LocationPrefixIndex guIndex;
+
+        static Columns of(List<Row> rows, OrderingSnapshot ordering) {
+            rows.sort(Comparator.comparingInt((Row row) -> ordering.sortKey(row.id)).thenComparingLong(row -> row.id));
+
+            Columns columns = new Columns();
+            int size = rows.size();
+
+            columns.ordering = ordering;
+            columns.size = size;
+            columns.ids = new long[size];
+            columns.sortKeys = new int[size];
+            columns.prices = new int[size];
+            columns.capacities = new int[size];
+            columns.latitudes = new float[size];
+            columns.longitudes = new float[size];
+            columns.cities = new int[size];
+            columns.gus = new int[size];
+            columns.accommodationTypes = new int[size];
+            columns.buildingTypes = new int[size];
+
+            for (int i = 0; i < size; i++) {
+                Row row = rows.get(i);
+
+                columns.ids[i] = row.id;
+                columns.sortKeys[i] = ordering.sortKey(row.id);
+                columns.prices[i] = row.price;
+                columns.capacities[i] = row.capacity;
+                columns.latitudes[i] = row.latitude;
+                columns.longitudes[i] = row.longitude;
+                columns.cities[i] = columns.cityDictionary.encode(row.city);
+                columns.gus[i] = columns.guDictionary.encode(row.gu);
+                columns.accommodationTypes[i] = columns.accommodationTypeDictionary.encode(row.accommodationType);
+                columns.buildingTypes[i] = columns.buildingTypeDictionary.encode(row.buildingType);
+            }
+
+            columns.cityIndex = LocationPrefixIndex.of(columns.cityDictionary.values, columns.cities);
+            columns.guIndex = LocationPrefixIndex.of(columns.guDictionary.values, columns.gus);
+
+            return columns;
+        }
+
+        // 정렬 키는 id 로만 정해지므로 행 위치는 그대로 두고 값만 바꾼다. 지역이 바뀌거나 사전에 없는 유형이면 false
+        // 검색 중인 요청은 한 행에서 바뀌기 전 값과 바뀐 값을 섞어 볼 수 있지만, 다음 검색부터는 바뀐 값으로 찾는다
+        boolean patch(Row previous, Row row) {
+            if (!Objects.equals(previous.city, row.city) || !Objects.equals(previous.gu, row.gu)) {
+                return false;
+            }
+
+            int accommodationType = accommodationTypeDictionary.find(row.accommodationType);
+            int buildingType = buildingTypeDictionary.find(row.buildingType);
+            int i = positionOf(row.id);
+
+            if (accommodationType < 0 || buildingType < 0 || i < 0) {
+                return false;
+            }
+
+            prices[i] = row.price;
+            capacities[i] = row.capacity;
+            latitudes[i] = row.latitude;
+            longitudes[i] = row.longitude;
+            accommodationTypes[i] = accommodationType;
+            buildingTypes[i] = buildingType;
+
+            return true;
+        }
+
+        int positionOf(long id) {
+            if (ordering == null) {
+                return -1;
+            }
+
+            int i = positionAfter(ordering.sortKey(id), id) - 1;
+
+            return i >= 0 && ids[i] == id ? i : -1;
+        }
+
+        // 커서 (정렬 키, id) 보다 뒤에 정렬되는 첫 행 위치
+        int positionAfter(int sortKey, long id) {
+            int low = 0;
+            int high = size;
+
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+
+                if (sortKeys[mid] < sortKey || (sortKeys[mid] == sortKey && ids[mid] <= id)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            return low;
+        }
+    }
+
+    /**
+     * 조건 하나를 카탈로그 한 벌에 대해 평가한다. 문자열 조건은 생성할 때 사전 번호별 일치 여부로 바꿔 둔다.
+     */
+    private static class Matcher {
+
+        private final Columns columns;
+
+        private final int guestNum;
+
+        private final int minPrice;
+
+        private final int maxPrice;
+
+        private final boolean[] accommodationTypes;
+
+        private final boolean[] buildingTypes;
+
+        // 지역 조건에 맞는 행. null 이면 모든 행이 후보
+        private final BitSet candidates;
+
+        private final boolean inBounds;
+
+        private final float minLatitude;
+
+        private final float maxLatitude;
+
+        private final float minLongitude;
+
+        private final float maxLongitude;
+
+        private final BitSet excludedIds;
+
+        Matcher(Columns columns, CatalogFilter filter) {
+            this.columns = columns;
+            this.guestNum = filter.getGuestNum();
+
+            if (filter.getMinPrice() != null && filter.getMaxPrice() != null) {
+                this.minPrice = filter.getMinPrice();
+                this.maxPrice = filter.getMaxPrice() == PRICE_CAP ? Integer.MAX_VALUE : filter.getMaxPrice();
+            } else {
+                this.minPrice = Integer.MIN_VALUE;
+                this.maxPrice = Integer.MAX_VALUE;
+            }
+
+            if (filter.getTypes() != null) {
+                List<String> types = Arrays.asList(filter.getTypes().split(" "));
+                this.accommodationTypes = columns.accommodationTypeDictionary.match(types::contains);
+            } else {
+                this.accommodationTypes = null;
+            }
+
+            this.candidates = candidates(columns, filter);
+            this.buildingTypes = filter.getBuildingType() == null ? null : columns.buildingTypeDictionary.match(filter.getBuildingType()::equals);
+
+            this.inBounds = filter.getMinLatitude() != null && filter.getMaxLatitude() != null
+                    && filter.getMinLongitude() != null && filter.getMaxLongitude() != null;
+            this.minLatitude = inBounds ? filter.getMinLatitude() : 0;
+            this.maxLatitude = inBounds ? filter.getMaxLatitude() : 0;
+            this.minLongitude = inBounds ? filter.getMinLongitude() : 0;
+            this.maxLongitude = inBounds ? filter.getMaxLongitude() : 0;
+
+            this.excludedIds = filter.getExcludedIds();
+        }
+
+        // 접두어마다 city 또는 gu 가 맞는 행을 구하고, 접두어끼리는 교집합
+        private static BitSet candidates(Columns columns, CatalogFilter filter) {
+            BitSet candidates = null;
+
+            if (filter.getCityPrefix() != null) {
+                candidates = columns.cityIndex.findRows(filter.getCityPrefix());
+            }
+
+            if (filter.getKeywordPrefixes() != null) {
+                for (String prefix : filter.getKeywordPrefixes()) {
+                    BitSet rows = columns.cityIndex.findRows(prefix);
+                    rows.or(columns.guIndex.findRows(prefix));
+
+                    if (candidates == null) {
+                        candidates = rows;
+                    } else {
+                        candidates.and(rows);
+                    }
+                }
+            }
+
+            return candidates;
+        }
+
+        int next(int from) {
+            if (candidates == null) {
+                return from < columns.size ? from : -1;
+            }
+
+            return candidates.nextSetBit(from);
+        }
+
+        boolean matches(int i) {
+            Columns c = columns;
+
+            if (c.capacities[i] < guestNum || c.prices[i] < minPrice || c.prices[i] > maxPrice) {
+                return false;
+            }
+
+            if (inBounds && (c.latitudes[i] < minLatitude || c.latitudes[i] > maxLatitude
+                    || c.longitudes[i] < minLongitude || c.longitudes[i] > maxLongitude)) {
+                return false;
+            }
+
+            if (accommodationTypes != null && !accommodationTypes[c.accommodationTypes[i]]) {
+                return false;
+            }
+
+            if (buildingTypes != null && !buildingTypes[c.buildingTypes[i]]) {
+                return false;
+            }
+
+            return excludedIds == null || c.ids[i] > Integer.MAX_VALUE || !excludedIds.get((int) c.ids[i]);
+        }
+    }
+}
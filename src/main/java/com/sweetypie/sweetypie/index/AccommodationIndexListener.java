@@ -0,0 +1,41 @@
+package com.sweetypie.sweetypie.index;
+
+import com.sweetypie.sweetypie.cache.AccommodationDetailCache;
+import com.sweetypie.sweetypie.cache.SearchResultCache;
+import com.sweetypie.sweetypie.model.Accommodation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+@RequiredArgsConstructor
+public class AccommodationIndexListener {
+
+    private final ObjectProvider<AccommodationCatalog> accommodationCatalog;
+
+    private final ObjectProvider<SearchResultCache> searchResultCache;
+
+    private final ObjectProvider<AccommodationDetailCache> accommodationDetailCache;
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Accommodation accommodation) {
+        AccommodationCatalog catalog = accommodationCatalog.getIfAvailable();
+
+        // 리뷰 작성으로 평점, 리뷰 수만 바뀐 경우에는 검색 인덱스와 검색 결과를 그대로 둔다
+        if (catalog == null || catalog.put(accommodation)) {
+            searchResultCache.ifAvailable(SearchResultCache::invalidateAll);
+        }
+
+        accommodationDetailCache.ifAvailable(cache -> cache.evict(accommodation.getId()));
+    }
+
+    @PostRemove
+    public void onRemove(Accommodation accommodation) {
+        accommodationCatalog.ifAvailable(catalog -> catalog.remove(accommodation.getId()));
+        searchResultCache.ifAvailable(SearchResultCache::invalidateAll);
+        accommodationDetailCache.ifAvailable(cache -> cache.evict(accommodation.getId()));
+    }
+}
@@ -0,0 +1,239 @@
+package com.sweetypie.sweetypie.index;
+
+import com.querydsl.core.Tuple;
+import com.sweetypie.sweetypie.model.QReservation;
+import com.sweetypie.sweetypie.repository.dynamic.DynamicBookedDateRepository;
+import com.sweetypie.sweetypie.support.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 예약된 숙박 기간 인덱스. 숙소마다 체크인 순으로 정렬한 기간을 들고 있어 한 숙소의 겹침 확인은 O(log n) 이다.
+ * 검색 시 예약 NOT IN 서브쿼리 대신 숙박 기간의 날짜별 BitSet 을 OR 해서 제외할 숙소를 구한다.
+ * 다른 인스턴스의 예약 생성/취소는 {@link com.sweetypie.sweetypie.cache.SearchResultCache} 의 pub/sub 알림으로 반영한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AvailabilityIndex {
+
+    private static final QReservation reservation = QReservation.reservation;
+
+    private final Logger logger = LoggerFactory.getLogger(AvailabilityIndex.class);
+
+    private final DynamicBookedDateRepository dynamicBookedDateRepository;
+
+    private final NavigableMap<LocalDate, BitSet> bookedByDate = new TreeMap<>();
+
+    // 숙소 id -> (체크인 -> 예약). 같은 숙소의 예약은 서로 겹치지 않으므로 체크인 순서와 체크아웃 순서가 같다
+    private final Map<Long, NavigableMap<LocalDate, Stay>> staysByAccommodation = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean loaded;
+
+    // 읽는 동안 커밋된 예약의 반영이 clear() 에 지워지지 않도록 잠금을 먼저 잡고 읽는다
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int size;
+
+        lock.writeLock().lock();
+        try {
+            List<Tuple> bookedRanges = dynamicBookedDateRepository.findBookedRangesFrom(LocalDate.now());
+
+            bookedByDate.clear();
+            staysByAccommodation.clear();
+
+            for (Tuple tuple : bookedRanges) {
+                addStay(tuple.get(reservation.accommodation.id), tuple.get(reservation.id), tuple.get(reservation.checkInDate), tuple.get(reservation.checkoutDate));
+            }
+
+            size = bookedRanges.size();
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        logger.info("AvailabilityIndex loaded: {} booked stays", size);
+    }
+
+    // 체크아웃 전에 시작하는 마지막 예약이 체크인 이후에 끝나면 겹친다
+    public boolean isBooked(Long accommodationId, LocalDate checkIn, LocalDate checkout) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<LocalDate, Stay> stays = staysByAccommodation.get(accommodationId);
+
+            if (stays == null) {
+                return false;
+            }
+
+            Map.Entry<LocalDate, Stay> stay = stays.lowerEntry(checkout);
+
+            return stay != null && stay.getValue().checkout.isAfter(checkIn);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 예약 알림을 놓쳐 인덱스가 DB 와 다르다는 것을 알게 되면 그 숙소만 다시 읽는다
+    public void reload(Long accommodationId) {
+        lock.writeLock().lock();
+        try {
+            List<Tuple> bookedRanges = dynamicBookedDateRepository.findBookedRangesByAccommodationId(accommodationId, LocalDate.now());
+            NavigableMap<LocalDate, Stay> stays = staysByAccommodation.remove(accommodationId);
+
+            if (stays != null) {
+                for (Map.Entry<LocalDate, Stay> stay : stays.entrySet()) {
+                    clear(accommodationId, stay.getKey(), stay.getValue().checkout);
+                }
+            }
+
+            for (Tuple tuple : bookedRanges) {
+                addStay(accommodationId, tuple.get(reservation.id), tuple.get(reservation.checkInDate), tuple.get(reservation.checkoutDate));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public BitSet findBookedAccommodations(LocalDate checkIn, LocalDate checkout) {
+        BitSet booked = new BitSet();
+
+        lock.readLock().lock();
+        try {
+            NavigableMap<LocalDate, BitSet> stay = checkout == null
+                    ? bookedByDate.tailMap(checkIn, true)
+                    : bookedByDate.subMap(checkIn, true, checkout, false);
+
+            for (BitSet night : stay.values()) {
+                booked.or(night);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return booked;
+    }
+
+    public List<Long> findBookedAccommodationIds(LocalDate checkIn, LocalDate checkout) {
+        BitSet booked = findBookedAccommodations(checkIn, checkout);
+        List<Long> ids = new ArrayList<>(booked.cardinality());
+
+        for (int id = booked.nextSetBit(0); id >= 0; id = booked.nextSetBit(id + 1)) {
+            ids.add((long) id);
+        }
+
+        return ids;
+    }
+
+    public void book(Long accommodationId, Long reservationId, LocalDate checkIn, LocalDate checkout) {
+        TransactionCallbacks.afterCommit(() -> applyBooked(accommodationId, reservationId, checkIn, checkout));
+    }
+
+    public void release(Long accommodationId, Long reservationId, LocalDate checkIn, LocalDate checkout) {
+        TransactionCallbacks.afterCommit(() -> applyReleased(accommodationId, reservationId, checkIn, checkout));
+    }
+
+    // 다른 인스턴스의 예약 알림. 예약 id 로 기간을 찾으므로 같은 알림을 두 번 받거나 load() 가 이미 읽은 예약이어도 결과가 같다
+    public void applyBooked(Long accommodationId, Long reservationId, LocalDate checkIn, LocalDate checkout) {
+        lock.writeLock().lock();
+        try {
+            removeStay(accommodationId, reservationId);
+            addStay(accommodationId, reservationId, checkIn, checkout);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void applyReleased(Long accommodationId, Long reservationId, LocalDate checkIn, LocalDate checkout) {
+        lock.writeLock().lock();
+        try {
+            NavigableMap<LocalDate, Stay> stays = staysByAccommodation.get(accommodationId);
+            Stay stay = stays == null ? null : stays.get(checkIn);
+
+            if (stay != null && stay.reservationId.equals(reservationId)) {
+                stays.remove(checkIn);
+                clear(accommodationId, checkIn, stay.checkout);
+
+                if (stays.isEmpty()) {
+                    staysByAccommodation.remove(accommodationId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addStay(Long accommodationId, Long reservationId, LocalDate checkIn, LocalDate checkout) {
+        staysByAccommodation.computeIfAbsent(accommodationId, id -> new TreeMap<>()).put(checkIn, new Stay(reservationId, checkout));
+
+        for (LocalDate date = checkIn; date.isBefore(checkout); date = date.plusDays(1)) {
+            bookedByDate.computeIfAbsent(date, d -> new BitSet()).set(Math.toIntExact(accommodationId));
+        }
+    }
+
+    // 예약 변경 알림이 취소 없이 도착해도 이전 기간이 남지 않도록 같은 예약의 기간을 먼저 지운다
+    private void removeStay(Long accommodationId, Long reservationId) {
+        NavigableMap<LocalDate, Stay> stays = staysByAccommodation.get(accommodationId);
+
+        if (stays == null) {
+            return;
+        }
+
+        Iterator<Map.Entry<LocalDate, Stay>> iterator = stays.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<LocalDate, Stay> stay = iterator.next();
+
+            if (stay.getValue().reservationId.equals(reservationId)) {
+                iterator.remove();
+                clear(accommodationId, stay.getKey(), stay.getValue().checkout);
+            }
+        }
+    }
+
+    private void clear(Long accommodationId, LocalDate checkIn, LocalDate checkout) {
+        for (LocalDate date = checkIn; date.isBefore(checkout); date = date.plusDays(1)) {
+            BitSet night = bookedByDate.get(date);
+
+            if (night != null) {
+                night.clear(Math.toIntExact(accommodationId));
+
+                if (night.isEmpty()) {
+                    bookedByDate.remove(date);
+                }
+            }
+        }
+    }
+
+    private static class Stay {
+
+        private final Long reservationId;
+
+        private final LocalDate checkout;
+
+        private Stay(Long reservationId, LocalDate checkout) {
+            this.reservationId = reservationId;
+            this.checkout = checkout;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.sweetypie.sweetypie.index;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * 카탈로그에서 평가할 검색 조건. 값이 null 인 조건은 적용하지 않는다.
+ */
+@Getter
+@Builder
+public class CatalogFilter {
+
+    private final int guestNum;
+
+    private final Integer minPrice;
+
+    private final Integer maxPrice;
+
+    // 띄어쓰기로 구분된 숙소 유형 중 하나와 일치
+    private final String types;
+
+    // 모든 접두어가 각각 city 또는 gu 의 접두어와 일치
+    private final List<String> keywordPrefixes;
+
+    private final String cityPrefix;
+
+    private final String buildingType;
+
+    private final Float minLatitude;
+
+    private final Float maxLatitude;
+
+    private final Float minLongitude;
+
+    private final Float maxLongitude;
+
+    // 숙소 id 위치에 비트가 켜진 숙소는 제외
+    private final BitSet excludedIds;
+}
@@ -0,0 +1,117 @@
+package com.sweetypie.sweetypie.index;
+
+import com.sweetypie.sweetypie.repository.AccommodationRepository;
+import com.sweetypie.sweetypie.support.RedisFallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 검색 결과 정렬 순서를 날마다 바꾼다. randId 를 다시 쓰지 않고 그날의 {@link OrderingSnapshot} 만 새로 정한다.
+ * 순서는 Redis 에 먼저 올린 인스턴스의 값을 모두 함께 쓰고, Redis 가 응답하지 않으면 날짜에서 계산한 순서를 잠시 쓴다.
+ */
+@Component
+public class DailyOrdering implements InitializingBean {
+
+    // 값은 "시드:크기". 예전 multiplier:increment 값과 섞이지 않도록 키를 나눴다
+    private static final String KEY_PREFIX = "search:ordering:shuffle:";
+
+    // 순위 배열 크기 상한(64MB). 이보다 큰 id 는 새 숙소처럼 맨 뒤에 놓인다
+    private static final int MAX_SIZE = 1 << 24;
+
+    private final Logger logger = LoggerFactory.getLogger(DailyOrdering.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    private final AccommodationRepository accommodationRepository;
+
+    private @Value("${search.ordering.redis-retry-seconds:30}") long redisRetrySeconds;
+
+    private volatile OrderingSnapshot snapshot;
+
+    // Redis 없이 정한 순서면 재시도 시각 이후 Redis 의 순서로 바꾼다
+    private volatile boolean provisional;
+
+    private volatile long provisionalUntil;
+
+    private RedisFallback redis;
+
+    public DailyOrdering(RedisTemplate<String, String> redisTemplate, AccommodationRepository accommodationRepository) {
+        this.redisTemplate = redisTemplate;
+        this.accommodationRepository = accommodationRepository;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        redis = new RedisFallback("Search ordering", redisRetrySeconds);
+    }
+
+    public OrderingSnapshot current() {
+        OrderingSnapshot current = snapshot;
+
+        if (isStale(current, LocalDate.now())) {
+            current = rotate(LocalDate.now());
+        }
+
+        return current;
+    }
+
+    private synchronized OrderingSnapshot rotate(LocalDate day) {
+        if (!isStale(snapshot, day)) {
+            return snapshot;
+        }
+
+        Long maxId = accommodationRepository.findMaxId();
+        int size = maxId == null ? 0 : (int) Math.min(maxId, MAX_SIZE);
+        String proposed = ThreadLocalRandom.current().nextLong() + ":" + size;
+
+        String value = redis.get(() -> {
+            redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + day, proposed, Duration.ofDays(2));
+            return redisTemplate.opsForValue().get(KEY_PREFIX + day);
+        });
+
+        OrderingSnapshot rotated = value == null ? null : parse(day, value);
+        provisional = rotated == null;
+        snapshot = provisional ? OrderingSnapshot.shuffle(day, day.toEpochDay(), size) : rotated;
+
+        if (provisional) {
+            provisionalUntil = System.currentTimeMillis() + redisRetrySeconds * 1000;
+        }
+
+        logger.info("Search ordering for {} is {}{}", day, snapshot.version(), provisional ? " (without Redis)" : "");
+
+        return snapshot;
+    }
+
+    private boolean isStale(OrderingSnapshot current, LocalDate day) {
+
+        return current == null
+                || !current.getDay().equals(day)
+                || (provisional && System.currentTimeMillis() >= provisionalUntil);
+    }
+
+    private OrderingSnapshot parse(LocalDate day, String value) {
+        try {
+            String[] values = value.split(":");
+            long seed = Long.parseLong(values[0]);
+            int size = Integer.parseInt(values[1]);
+
+            if (size < 0 || size > MAX_SIZE) {
+                return null;
+            }
+
+            return OrderingSnapshot.shuffle(day, seed, size);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            logger.warn("Ignoring unreadable search ordering: {}", value);
+
+            return null;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.sweetypie.sweetypie.index;
+
+import com.sweetypie.sweetypie.dto.LocationSuggestDto;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 지역 이름(city 또는 gu)을 자모 단위 트라이로 만들어 접두어를 카탈로그 행 BitSet 으로 바꾸는 인덱스.
+ * 검색은 DB 로 검색할 때의 startsWith 와 결과가 같도록 음절 단위 접두어로 행을 찾고,
+ * 자동완성 추천은 입력 중인 글자까지 맞춰 보도록 자모 단위 접두어로 이름을 찾는다.
+ * 예) 추천에서 "서우" 는 "서울" 과 맞고, "강남ㄱ" 은 "강남구" 와 맞는다.
+ */
+public class LocationPrefixIndex {
+
+    private static final char HANGUL_BEGIN = '가';
+
+    private static final char HANGUL_END = '힣';
+
+    private static final String[] CHOSEONG = {"ㄱ", "ㄲ", "ㄴ", "ㄷ", "ㄸ", "ㄹ", "ㅁ", "ㅂ", "ㅃ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅉ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+
+    // 겹모음, 겹받침은 입력 순서대로 나눠야 입력 중인 글자와 맞출 수 있다
+    private static final String[] JUNGSEONG = {"ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ", "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ", "ㅣ"};
+
+    private static final String[] JONGSEONG = {"", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ", "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ", "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"};
+
+    private static final Map<Character, String> COMPOUND_JAMO = new HashMap<>();
+
+    static {
+        String[] compounds = {"ㄳㄱㅅ", "ㄵㄴㅈ", "ㄶㄴㅎ", "ㄺㄹㄱ", "ㄻㄹㅁ", "ㄼㄹㅂ", "ㄽㄹㅅ", "ㄾㄹㅌ", "ㄿㄹㅍ", "ㅀㄹㅎ", "ㅄㅂㅅ",
+                "ㅘㅗㅏ", "ㅙㅗㅐ", "ㅚㅗㅣ", "ㅝㅜㅓ", "ㅞㅜㅔ", "ㅟㅜㅣ", "ㅢㅡㅣ"};
+
+        for (String compound : compounds) {
+            COMPOUND_JAMO.put(compound.charAt(0), compound.substring(1));
+        }
+    }
+
+    private final Node root = new Node();
+
+    private final List<String> names;
+
+    private final BitSet[] nameRows;
+
+    private LocationPrefixIndex(List<String> names, BitSet[] nameRows) {
+        this.names = names;
+        this.nameRows = nameRows;
+    }
+
+    /**
+     * @param names 사전 번호 순서의 지역 이름
+     * @param codes 행마다 지역 이름의 사전 번호
+     */
+    public static LocationPrefixIndex of(List<String> names, int[] codes) {
+        BitSet[] nameRows = new BitSet[names.size()];
+
+        for (int code = 0; code < nameRows.length; code++) {
+            nameRows[code] = new BitSet();
+        }
+
+        for (int row = 0; row < codes.length; row++) {
+            nameRows[codes[row]].set(row);
+        }
+
+        LocationPrefixIndex index = new LocationPrefixIndex(names, nameRows);
+
+        for (int code = 0; code < names.size(); code++) {
+            if (names.get(code) != null) {
+                index.add(code, names.get(code));
+            }
+        }
+
+        return index;
+    }
+
+    // 음절 단위 접두어. String.startsWith 와 같은 행을 찾는다
+    public BitSet findRows(String prefix) {
+        Node node = find(prefix);
+
+        return node == null ? new BitSet() : rowsOf(node.boundaryNames);
+    }
+
+    // 자모 단위 접두어에 맞는 이름과 숙소 수. 정렬은 호출하는 쪽에서 한다
+    public List<LocationSuggestDto> suggest(String prefix, String type) {
+        List<LocationSuggestDto> suggestions = new ArrayList<>();
+        Node node = find(prefix);
+
+        if (node == null) {
+            return suggestions;
+        }
+
+        for (int code = node.names.nextSetBit(0); code >= 0; code = node.names.nextSetBit(code + 1)) {
+            int count = nameRows[code].cardinality();
+
+            if (count > 0) {
+                suggestions.add(new LocationSuggestDto(names.get(code), type, count));
+            }
+        }
+
+        return suggestions;
+    }
+
+    private void add(int code, String name) {
+        Node node = root;
+        node.names.set(code);
+        node.boundaryNames.set(code);
+
+        for (int i = 0; i < name.length(); i++) {
+            String jamo = decompose(name.charAt(i));
+
+            for (int j = 0; j < jamo.length(); j++) {
+                node = node.children.computeIfAbsent(jamo.charAt(j), c -> new Node());
+                node.names.set(code);
+            }
+
+            node.boundaryNames.set(code);
+        }
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            String jamo = decompose(prefix.charAt(i));
+
+            for (int j = 0; j < jamo.length() && node != null; j++) {
+                node = node.children.get(jamo.charAt(j));
+            }
+        }
+
+        return node;
+    }
+
+    private BitSet rowsOf(BitSet codes) {
+        BitSet rows = new BitSet();
+
+        for (int code = codes.nextSetBit(0); code >= 0; code = codes.nextSetBit(code + 1)) {
+            rows.or(nameRows[code]);
+        }
+
+        return rows;
+    }
+
+    static String decompose(char c) {
+
+        if (c >= HANGUL_BEGIN && c <= HANGUL_END) {
+            int index = c - HANGUL_BEGIN;
+
+            return CHOSEONG[index / 588] + JUNGSEONG[index % 588 / 28] + JONGSEONG[index % 28];
+        }
+
+        String compound = COMPOUND_JAMO.get(c);
+
+        return compound == null ? String.valueOf(c) : compound;
+    }
+
+    private static class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+
+        // 이 노드를 지나는 이름
+        private final BitSet names = new BitSet();
+
+        // 이 노드에서 음절이 끝나는 이름
+        private final BitSet boundaryNames = new BitSet();
+    }
+}
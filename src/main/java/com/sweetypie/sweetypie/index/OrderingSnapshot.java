@@ -0,0 +1,63 @@
+package com.sweetypie.sweetypie.index;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+
+/**
+ * 하루 동안 쓰는 숙소 정렬 순서. 1 부터 size 까지의 숙소 id 를 시드로 Fisher–Yates 셔플한 순위가 정렬 키다.
+ * 시드와 size 만 알면 같은 순서를 어디서든 다시 만들 수 있다. 그보다 큰 id(그날 새로 등록된 숙소)는 모두 맨 뒤에 id 순으로 놓인다.
+ */
+@EqualsAndHashCode
+public class OrderingSnapshot {
+
+    @Getter
+    private final LocalDate day;
+
+    // ranks[id - 1] 이 숙소 id 의 순위
+    private final int[] ranks;
+
+    @EqualsAndHashCode.Exclude
+    private final String version;
+
+    public OrderingSnapshot(LocalDate day, int[] ranks) {
+        this.day = day;
+        this.ranks = ranks;
+        this.version = day + ":" + ranks.length + ":" + Integer.toHexString(Arrays.hashCode(ranks));
+    }
+
+    public static OrderingSnapshot shuffle(LocalDate day, long seed, int size) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] ranks = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            ranks[i] = i;
+        }
+
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int rank = ranks[i];
+            ranks[i] = ranks[j];
+            ranks[j] = rank;
+        }
+
+        return new OrderingSnapshot(day, ranks);
+    }
+
+    public int sortKey(long id) {
+        return id >= 1 && id <= ranks.length ? ranks[(int) (id - 1)] : ranks.length;
+    }
+
+    // 정렬 키, id 순. 카탈로그를 쓸 수 없을 때 DB 에서 읽은 id 를 같은 순서로 맞춘다
+    public Comparator<Long> comparator() {
+        return Comparator.comparingInt((Long id) -> sortKey(id)).thenComparingLong(id -> id);
+    }
+
+    public String version() {
+        return version;
+    }
+}
@@ -0,0 +1,58 @@
+package com.sweetypie.sweetypie.lock;
+
+import com.sweetypie.sweetypie.exception.DuplicateValueExeption;
+import com.sweetypie.sweetypie.support.TransactionCallbacks;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 숙소 id 로 나눈 striped lock. 같은 숙소의 예약은 한 인스턴스 안에서 차례로 처리되고, 다른 숙소의 예약은 서로 기다리지 않는다.
+ * 인스턴스 사이에서는 예약 서비스가 숙소 행을 select ... for update 로 잠가 순서를 정한다.
+ */
+@Component
+public class AccommodationLocks implements InitializingBean {
+
+    private @Value("${reservation.lock.stripes:256}") int stripes;
+
+    private @Value("${reservation.lock.timeout-millis:3000}") long timeoutMillis;
+
+    private ReentrantLock[] locks;
+
+    @Override
+    public void afterPropertiesSet() {
+        locks = new ReentrantLock[stripes];
+
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    // 커밋 전에 풀면 다음 요청이 아직 커밋되지 않은 예약을 보지 못하므로 트랜잭션이 끝날 때 푼다
+    public void lockUntilCompletion(Long accommodationId) {
+        Assert.state(TransactionSynchronizationManager.isSynchronizationActive(), "Accommodation lock requires an active transaction");
+
+        ReentrantLock lock = locks[Math.floorMod(Long.hashCode(accommodationId * 0x9E3779B97F4A7C15L), stripes)];
+
+        if (!tryLock(lock)) {
+            throw new DuplicateValueExeption("다른 예약을 처리하고 있습니다. 잠시 후 다시 시도해 주세요.");
+        }
+
+        TransactionCallbacks.afterCompletion(lock::unlock);
+    }
+
+    private boolean tryLock(ReentrantLock lock) {
+        try {
+            return lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            return false;
+        }
+    }
+}
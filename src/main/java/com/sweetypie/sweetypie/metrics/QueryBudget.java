@@ -0,0 +1,16 @@
+package com.sweetypie.sweetypie.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 요청 하나에서 실행될 수 있는 SQL 문 수의 상한. 없으면 sql.budget.default-statements 를 쓴다.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
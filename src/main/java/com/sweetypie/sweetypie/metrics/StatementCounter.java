@@ -0,0 +1,109 @@
+package com.sweetypie.sweetypie.metrics;
+
+import com.sweetypie.sweetypie.exception.QueryBudgetExceededException;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hibernate 가 SQL 을 준비할 때마다 현재 요청 스레드의 카운터를 올린다.
+ * {@link StatementCountFilter} 가 요청 시작과 끝에서 start/stop 을 부르고, 그 밖의 스레드(스케줄러, 비동기 실행기 등)는 세지 않는다.
+ * 요청에 예산이 정해져 있으면 예산을 넘거나 같은 SQL 이 반복될 때(N+1) sql.budget.mode 에 따라 로그를 남기거나 예외를 던진다.
+ */
+@Component
+public class StatementCounter implements StatementInspector {
+
+    public enum Mode { OFF, LOG, FAIL }
+
+    private final Logger logger = LoggerFactory.getLogger(StatementCounter.class);
+
+    private final ThreadLocal<Statements> statements = new ThreadLocal<>();
+
+    private @Value("${sql.budget.mode:log}") Mode mode = Mode.LOG;
+
+    private @Value("${sql.budget.repeat-threshold:5}") int repeatThreshold = 5;
+
+    public void start() {
+        if (statements.get() == null) {
+            statements.set(new Statements());
+        }
+    }
+
+    public int stop() {
+        Statements current = statements.get();
+        statements.remove();
+
+        return current == null ? 0 : current.count;
+    }
+
+    // 필터를 거치지 않은 요청(MockMvc 등)이면 여기서 카운터를 시작하고 true 를 돌려준다
+    public boolean budget(String endpoint, int budget) {
+        Statements current = statements.get();
+        boolean started = current == null;
+
+        if (started) {
+            current = new Statements();
+            statements.set(current);
+        }
+
+        current.endpoint = endpoint;
+        current.budget = budget;
+
+        return started;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Statements current = statements.get();
+
+        if (current == null) {
+            return sql;
+        }
+
+        current.count++;
+
+        if (mode == Mode.OFF || current.endpoint == null) {
+            return sql;
+        }
+
+        int repeats = current.repeats.merge(sql, 1, Integer::sum);
+
+        if (current.count == current.budget + 1) {
+            violate(String.format("%s exceeded its query budget of %d statements: %s", current.endpoint, current.budget, sql));
+        }
+
+        if (repeats == repeatThreshold) {
+            violate(String.format("%s ran the same statement %d times, possible N+1: %s", current.endpoint, repeats, sql));
+        }
+
+        return sql;
+    }
+
+    void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    private void violate(String message) {
+        if (mode == Mode.FAIL) {
+            throw new QueryBudgetExceededException(message);
+        }
+
+        logger.warn(message);
+    }
+
+    private static class Statements {
+
+        private final Map<String, Integer> repeats = new HashMap<>();
+
+        private int count;
+
+        private int budget;
+
+        private String endpoint;
+    }
+}
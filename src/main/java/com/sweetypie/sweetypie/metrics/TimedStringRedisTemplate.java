@@ -0,0 +1,73 @@
+package com.sweetypie.sweetypie.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 템플릿이 쓰는 커넥션을 감싸서 Redis 명령마다 걸린 시간을 command 태그로 기록한다.
+ */
+public class TimedStringRedisTemplate extends StringRedisTemplate {
+
+    private static final Set<String> UNTIMED = new HashSet<>(Arrays.asList(
+            "close", "isClosed", "getNativeConnection", "isQueueing", "isPipelined", "getSentinelConnection",
+            "getDelegate", "setDeserializePipelineAndTxResults"));
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public TimedStringRedisTemplate(RedisConnectionFactory connectionFactory, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        setConnectionFactory(connectionFactory);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected RedisConnection preProcessConnection(RedisConnection connection, boolean existingConnection) {
+        RedisConnection target = super.preProcessConnection(connection, existingConnection);
+
+        return (RedisConnection) Proxy.newProxyInstance(getClass().getClassLoader(), ClassUtils.getAllInterfaces(target),
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class || UNTIMED.contains(method.getName())) {
+                        return invoke(target, method, args);
+                    }
+
+                    long startedAt = System.nanoTime();
+
+                    try {
+                        return invoke(target, method, args);
+                    } finally {
+                        timer(method.getName()).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                    }
+                });
+    }
+
+    private Object invoke(RedisConnection target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private Timer timer(String command) {
+        return timers.computeIfAbsent(command, key -> Timer.builder("sweetypie.redis.command")
+                .tag("command", key)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
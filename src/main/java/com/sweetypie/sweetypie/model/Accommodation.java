@@ -1,6 +1,7 @@
 package com.sweetypie.sweetypie.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.sweetypie.sweetypie.index.AccommodationIndexListener;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -10,6 +11,7 @@ import org.hibernate.annotations.ColumnDefault;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
@@ -21,6 +23,7 @@ import java.util.List;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners(AccommodationIndexListener.class)
 public class Accommodation {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -102,11 +105,6 @@ public class Accommodation {
     @OneToMany(mappedBy = "accommodation")
     private List<Review> reviews;
 
-    @JsonIgnore
-    @ToString.Exclude
-    @OneToMany(mappedBy = "accommodation")
-    private List<BookedDate> bookedDates;
-
     @OneToMany(mappedBy = "accommodation")
     private List<AccommodationPicture> accommodationPictures;
 
@@ -1,43 +1,52 @@
 package com.sweetypie.sweetypie.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import lombok.*;
-
-import javax.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Column;
+import javax.persistence.ConstraintMode;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.ForeignKey;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 import java.time.LocalDate;
 
-@Builder
-@Data
+/**
+ * 예약 기간으로 옮기기 전의 booked_date 행. db/booked_range.sql 이 이름을 바꿔 남겨 둔 테이블을 읽기만 한다.
+ * 이전 id 로 조회하는 /api/bookDate/{id} 를 위해 남겨 두며, 예약이 지워져도 막지 않도록 외래 키는 두지 않는다.
+ */
+@Getter
+@ToString
 @Entity
+@Immutable
 @NoArgsConstructor
-@AllArgsConstructor
-@RequiredArgsConstructor
+@Table(name = "booked_date_legacy")
 public class BookedDate {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @NonNull
     @Column(nullable = false)
     private LocalDate date;
 
-    @NonNull
     @ToString.Exclude
     @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Accommodation accommodation;
 
     @ToString.Exclude
     @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Reservation reservation;
 
-    public void setReservation(Reservation reservation) {
-        this.reservation = reservation;
-        reservation.getBookedDates().add(this);
-    }
-
     public static BookedDate emptyObject() {
         return new BookedDate();
     }
-}
\ No newline at end of file
+}
@@ -12,13 +12,18 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 
 @Data
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = Bookmark.UNIQUE_MEMBER_ACCOMMODATION, columnNames = {"member_id", "accommodation_id"}))
 public class Bookmark {
 
+    public static final String UNIQUE_MEMBER_ACCOMMODATION = "uk_bookmark_member_accommodation";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
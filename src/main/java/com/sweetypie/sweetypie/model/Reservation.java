@@ -10,13 +10,12 @@ import org.hibernate.annotations.CreationTimestamp;
 
 import javax.persistence.*;
 import java.time.LocalDate;
-import java.util.ArrayList;
-import java.util.List;
 
 @Data
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = @Index(name = "idx_reservation_accommodation_stay", columnList = "accommodation_id, checkInDate, checkoutDate"))
 public class Reservation {
 
     @Id
@@ -56,9 +55,4 @@ public class Reservation {
     @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     private Accommodation accommodation;
-
-    @ToString.Exclude
-    @JsonIgnore
-    @OneToMany(mappedBy = "reservation", cascade = CascadeType.ALL)
-    private List<BookedDate> bookedDates = new ArrayList<>();
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.sweetypie.sweetypie.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+/**
+ * 숙소별 리뷰 개수, 평점 합계, 별점 분포. 리뷰 작성/수정/삭제 시 함께 갱신한다.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+public class ReviewSummary {
+    @Id
+    private Long accommodationId;
+
+    private int reviewCount;
+
+    private double ratingSum;
+
+    private int oneStarCount;
+
+    private int twoStarCount;
+
+    private int threeStarCount;
+
+    private int fourStarCount;
+
+    private int fiveStarCount;
+
+    public ReviewSummary(Long accommodationId) {
+        this.accommodationId = accommodationId;
+    }
+
+    public double getRatingAvg() {
+        return reviewCount == 0 ? 0 : ratingSum / reviewCount;
+    }
+
+    public void add(float rating, int count) {
+        reviewCount += count;
+        ratingSum += (double) rating * count;
+        addStar(rating, count);
+    }
+
+    public void add(float rating) {
+        add(rating, 1);
+    }
+
+    public void remove(float rating) {
+        add(rating, -1);
+    }
+
+    // db/review_summary.sql 의 floor(rating + 0.5) 와 같은 구간으로 나눈다
+    private void addStar(float rating, int count) {
+        switch (Math.max(1, Math.min(5, (int) Math.floor(rating + 0.5d)))) {
+            case 1:
+                oneStarCount += count;
+                break;
+            case 2:
+                twoStarCount += count;
+                break;
+            case 3:
+                threeStarCount += count;
+                break;
+            case 4:
+                fourStarCount += count;
+                break;
+            default:
+                fiveStarCount += count;
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package com.sweetypie.sweetypie.repository;
 
+import com.sweetypie.sweetypie.dto.AccommodationCatalogRow;
 import com.sweetypie.sweetypie.model.Accommodation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
 
 public interface AccommodationRepository extends JpaRepository<Accommodation, Long> {
 
@@ -12,4 +20,15 @@ public interface AccommodationRepository extends JpaRepository<Accommodation, Lo
     Page<Accommodation> findByCityContainingOrderByRandId(String city, Pageable pageable);
 
     Page<Accommodation> findByCityContainingOrGuContainingOrderByRandId(String city, String gu, Pageable pageable);
+
+    List<AccommodationCatalogRow> findCatalogRowsBy();
+
+    AccommodationCatalogRow findCatalogRowById(Long id);
+
+    @Query("select max(a.id) from Accommodation a")
+    Long findMaxId();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Accommodation a where a.id = :id")
+    Optional<Accommodation> findByIdForUpdate(@Param("id") Long id);
 }
\ No newline at end of file
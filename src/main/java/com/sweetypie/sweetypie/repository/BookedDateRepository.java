@@ -2,12 +2,15 @@ package com.sweetypie.sweetypie.repository;
 
 import com.sweetypie.sweetypie.model.BookedDate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-import java.util.List;
+import java.util.Optional;
 
 public interface BookedDateRepository extends JpaRepository<BookedDate, Long> {
 
-    List<BookedDate> findBookedDatesByAccommodationId(Long accommodationId);
-
-    void deleteBookedDateByReservationId(Long reservationId);
+    // 옮긴 뒤 취소되거나 기간이 바뀐 예약의 날짜는 더 이상 예약된 날이 아니다
+    @Query("select d from BookedDate d where d.id = :id " +
+            "and d.date >= d.reservation.checkInDate and d.date < d.reservation.checkoutDate")
+    Optional<BookedDate> findBookedById(@Param("id") Long id);
 }
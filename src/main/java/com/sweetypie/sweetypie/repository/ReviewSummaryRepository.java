@@ -0,0 +1,26 @@
+package com.sweetypie.sweetypie.repository;
+
+import com.sweetypie.sweetypie.model.ReviewSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+public interface ReviewSummaryRepository extends JpaRepository<ReviewSummary, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ReviewSummary> findForUpdateByAccommodationId(long accommodationId);
+
+    // 같은 숙소의 첫 리뷰가 동시에 들어와도 행은 하나만 만들고, 이미 있으면 그대로 둔다
+    @Modifying
+    @Query(value = "insert into review_summary (accommodation_id, review_count, rating_sum, one_star_count, two_star_count, "
+            + "three_star_count, four_star_count, five_star_count) "
+            + "values (:#{#summary.accommodationId}, :#{#summary.reviewCount}, :#{#summary.ratingSum}, :#{#summary.oneStarCount}, "
+            + ":#{#summary.twoStarCount}, :#{#summary.threeStarCount}, :#{#summary.fourStarCount}, :#{#summary.fiveStarCount}) "
+            + "on duplicate key update accommodation_id = accommodation_id", nativeQuery = true)
+    void insertIfAbsent(@Param("summary") ReviewSummary summary);
+}
@@ -1,27 +1,45 @@
 package com.sweetypie.sweetypie.repository.dynamic;
 
 import com.querydsl.core.BooleanBuilder;
-import com.querydsl.core.QueryResults;
 import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.sweetypie.sweetypie.cache.SearchIdCache;
+import com.sweetypie.sweetypie.cache.SearchResultCache;
+import com.sweetypie.sweetypie.cache.SearchResultPage;
 import com.sweetypie.sweetypie.dto.AccommodationDto;
-import com.sweetypie.sweetypie.dto.IsBookmarkDto;
 import com.sweetypie.sweetypie.dto.QAccommodationDto;
-import com.sweetypie.sweetypie.dto.QIsBookmarkDto;
+import com.sweetypie.sweetypie.dto.SearchCursor;
+import com.sweetypie.sweetypie.exception.ServiceUnavailableException;
+import com.sweetypie.sweetypie.index.AccommodationCatalog;
+import com.sweetypie.sweetypie.index.AvailabilityIndex;
+import com.sweetypie.sweetypie.index.CatalogFilter;
+import com.sweetypie.sweetypie.index.DailyOrdering;
+import com.sweetypie.sweetypie.index.OrderingSnapshot;
 import com.sweetypie.sweetypie.model.Accommodation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
 
 import static com.sweetypie.sweetypie.model.QAccommodation.accommodation;
 import static com.sweetypie.sweetypie.model.QAccommodationPicture.accommodationPicture;
-import static com.sweetypie.sweetypie.model.QBookedDate.bookedDate;
 import static com.sweetypie.sweetypie.model.QBookmark.bookmark;
+import static com.sweetypie.sweetypie.model.QReservation.reservation;
 
 @Repository
 @RequiredArgsConstructor
@@ -29,6 +47,19 @@ public class DynamicAccommodationRepository {
 
     private final JPAQueryFactory queryFactory;
 
+    private final AvailabilityIndex availabilityIndex;
+
+    private final SearchResultCache searchResultCache;
+
+    private final AccommodationCatalog accommodationCatalog;
+
+    private final DailyOrdering dailyOrdering;
+
+    private final SearchIdCache searchIdCache;
+
+    // 카탈로그가 올라오기 전 DB 로 검색할 때 한 번에 읽는 id 수 상한
+    private @Value("${search.fallback.max-ids:5000}") int maxFallbackIds = 5000;
+
     public AccommodationDto findById(Long memberId, Long accommodationId) {
 
         return getQueryResult(memberId, accommodationId);
@@ -37,10 +68,12 @@ public class DynamicAccommodationRepository {
     public Page<Accommodation> findAccommodationsBySearch(String searchKeyword, LocalDate checkIn, LocalDate checkout,
                                                           int guestNum, Integer minPrice, Integer maxPrice, String types, Pageable page) {
 
-        QueryResults<Long> ids = getIds(setSearchBuilder(searchKeyword, checkIn, checkout, guestNum, minPrice, maxPrice, types, page), page);
-        QueryResults<Accommodation> accommodations = getQueryResults(ids.getResults());
+        String key = toCacheKey("search", normalizeSearchKeyword(searchKeyword), checkIn, checkout, guestNum,
+                toPriceBand(minPrice, maxPrice), normalizeTypes(types));
 
-        return new PageImpl<>(accommodations.getResults(), page, ids.getTotal());
+        return getCachedPage(key, checkIn, checkout,
+                () -> setSearchBuilder(searchKeyword, checkIn, checkout, guestNum, minPrice, maxPrice, types, page),
+                () -> searchFilter(searchKeyword, null, null, null, null, checkIn, checkout, guestNum, minPrice, maxPrice, types), page);
     }
 
     public Page<Accommodation> findAccommodationsByMapSearch(float minLatitude, float maxLatitude,
@@ -49,132 +82,264 @@ public class DynamicAccommodationRepository {
                                                              Integer minPrice, Integer maxPrice,
                                                              int guestNum, String types, Pageable page) {
 
-        QueryResults<Long> ids = getIds(setMapSearchBuilder(minLatitude, maxLatitude, minLongitude, maxLongitude, checkIn,
-                checkout, minPrice, maxPrice, guestNum, types), page);
-
-        QueryResults<Accommodation> accommodations = getQueryResults(ids.getResults());
+        String key = toCacheKey("map", minLatitude, maxLatitude, minLongitude, maxLongitude, checkIn, checkout, guestNum,
+                toPriceBand(minPrice, maxPrice), normalizeTypes(types));
 
-        return new PageImpl<>(accommodations.getResults(), page, ids.getTotal());
+        return getCachedPage(key, checkIn, checkout, () -> setMapSearchBuilder(minLatitude, maxLatitude, minLongitude, maxLongitude,
+                checkIn, checkout, minPrice, maxPrice, guestNum, types),
+                () -> searchFilter(null, minLatitude, maxLatitude, minLongitude, maxLongitude, checkIn, checkout, guestNum, minPrice, maxPrice, types), page);
     }
 
     public Page<Accommodation> findByBuildingType(String buildingType, Pageable page) {
-        BooleanBuilder builder = new BooleanBuilder();
+        Page<Long> ids;
 
-        builder.and(accommodation.buildingType.eq(buildingType));
+        if (accommodationCatalog.isLoaded()) {
+            ids = accommodationCatalog.findIds(CatalogFilter.builder().buildingType(buildingType).build(), page);
+        } else {
+            BooleanBuilder builder = new BooleanBuilder();
+            builder.and(accommodation.buildingType.eq(buildingType));
 
-        QueryResults<Long> ids = getIds(builder, page);
-        QueryResults<Accommodation> accommodations = getQueryResults(ids.getResults());
+            ids = getIds(toCacheKey("buildingType", buildingType), builder, page);
+        }
 
-        return new PageImpl<>(accommodations.getResults(), page, accommodations.getTotal());
+        List<Accommodation> accommodations = getQueryResults(ids.getContent());
+
+        return new PageImpl<>(accommodations, page, ids.getTotalElements());
     }
 
     public Page<Accommodation> findByCity(String city, Long memberId, Pageable page) {
-        BooleanBuilder builder = new BooleanBuilder();
+        Page<Long> ids;
 
-        city = city.replace("특별시", "")
-                .replace("광역시", "");
+        if (accommodationCatalog.isLoaded()) {
+            ids = accommodationCatalog.findIds(CatalogFilter.builder().cityPrefix(normalizeCity(city)).build(), page);
+        } else {
+            BooleanBuilder builder = new BooleanBuilder();
+            setCityQuery(city, builder);
 
-        if (city.charAt(city.length() - 1) == '시') {
-            city = city.substring(0, city.length() - 1);
+            ids = getIds(toCacheKey("city", normalizeCity(city)), builder, page);
         }
 
-        builder.and(accommodation.city.startsWith(city));
+        List<Accommodation> accommodations = getQueryResults(ids.getContent());
+
+        return new PageImpl<>(accommodations, page, ids.getTotalElements());
+    }
 
-        QueryResults<Long> ids = getIds(builder, page);
-        QueryResults<Accommodation> accommodations = getQueryResults(ids.getResults());
+    public Slice<Accommodation> findAccommodationsBySearch(String searchKeyword, LocalDate checkIn, LocalDate checkout,
+                                                           int guestNum, Integer minPrice, Integer maxPrice, String types,
+                                                           SearchCursor after, int size) {
 
-        return new PageImpl<>(accommodations.getResults(), page, accommodations.getTotal());
+        String key = toCacheKey("search", normalizeSearchKeyword(searchKeyword), checkIn, checkout, guestNum,
+                toPriceBand(minPrice, maxPrice), normalizeTypes(types));
+
+        return getSlice(key, () -> setSearchBuilder(searchKeyword, checkIn, checkout, guestNum, minPrice, maxPrice, types, null),
+                () -> searchFilter(searchKeyword, null, null, null, null, checkIn, checkout, guestNum, minPrice, maxPrice, types), after, size);
+    }
+
+    public Slice<Accommodation> findAccommodationsByMapSearch(float minLatitude, float maxLatitude,
+                                                              float minLongitude, float maxLongitude,
+                                                              LocalDate checkIn, LocalDate checkout,
+                                                              Integer minPrice, Integer maxPrice,
+                                                              int guestNum, String types, SearchCursor after, int size) {
+
+        String key = toCacheKey("map", minLatitude, maxLatitude, minLongitude, maxLongitude, checkIn, checkout, guestNum,
+                toPriceBand(minPrice, maxPrice), normalizeTypes(types));
+
+        return getSlice(key, () -> setMapSearchBuilder(minLatitude, maxLatitude, minLongitude, maxLongitude, checkIn,
+                checkout, minPrice, maxPrice, guestNum, types),
+                () -> searchFilter(null, minLatitude, maxLatitude, minLongitude, maxLongitude, checkIn, checkout, guestNum, minPrice, maxPrice, types), after, size);
+    }
+
+    public Slice<Accommodation> findByBuildingType(String buildingType, SearchCursor after, int size) {
+
+        return getSlice(toCacheKey("buildingType", buildingType), () -> {
+            BooleanBuilder builder = new BooleanBuilder();
+            builder.and(accommodation.buildingType.eq(buildingType));
+
+            return builder;
+        }, () -> CatalogFilter.builder().buildingType(buildingType).build(), after, size);
+    }
+
+    public Slice<Accommodation> findByCity(String city, SearchCursor after, int size) {
+
+        return getSlice(toCacheKey("city", normalizeCity(city)), () -> {
+            BooleanBuilder builder = new BooleanBuilder();
+            setCityQuery(city, builder);
+
+            return builder;
+        }, () -> CatalogFilter.builder().cityPrefix(normalizeCity(city)).build(), after, size);
     }
 
-    public List<Integer> findPricesBySearch(String searchKeyword, Float minLatitude, Float maxLatitude, Float minLongitude, Float maxLongitude,
-                                            LocalDate checkIn, LocalDate checkout, int guestNum, String types) {
+    // 가격 분포만 필요하므로 DB 에서 정렬하지 않고 가격 열만 읽는다. 카탈로그가 올라와 있으면 DB 를 읽지 않는다
+    public int[] findPricesBySearch(String searchKeyword, Float minLatitude, Float maxLatitude, Float minLongitude, Float maxLongitude,
+                                    LocalDate checkIn, LocalDate checkout, int guestNum, String types) {
+
+        if (isCatalogSearchable()) {
+            return accommodationCatalog.findPrices(searchFilter(searchKeyword, minLatitude, maxLatitude, minLongitude, maxLongitude,
+                    checkIn, checkout, guestNum, null, null, types));
+        }
 
         BooleanBuilder acBuilder = new BooleanBuilder();
-        BooleanBuilder bdBuilder = new BooleanBuilder();
 
         setSearchKeywordQuery(searchKeyword, acBuilder);
         setAccommodationTypesQuery(types, acBuilder);
-        setCheckInCheckOutQuery(checkIn, checkout, bdBuilder);
         setCoordinate(minLatitude, maxLatitude, minLongitude, maxLongitude, acBuilder);
+        setAvailabilityQuery(checkIn, checkout, acBuilder);
 
         acBuilder.and(accommodation.capacity.goe(guestNum));
 
-        acBuilder.andNot(accommodation.id.in(JPAExpressions
-                .select(bookedDate.accommodation.id)
-                .from(bookedDate
-                )
-                .where(bdBuilder)));
-
-        return queryFactory
+        List<Integer> prices = queryFactory
                 .select(accommodation.price)
                 .from(accommodation)
                 .where(acBuilder)
-                .orderBy(accommodation.price.asc())
                 .fetch();
+
+        int[] column = new int[prices.size()];
+
+        for (int i = 0; i < column.length; i++) {
+            column[i] = prices.get(i);
+        }
+
+        Arrays.sort(column);
+
+        return column;
     }
 
-    public List<IsBookmarkDto> findIsBookmarks(String searchKeyword, LocalDate checkIn, LocalDate checkout,
-                                               int guestNum, Long memberId, Integer minPrice, Integer maxPrice, String types, Pageable page) {
-        if (memberId == null) {
-            return null;
+    // 페이지 캐시 키는 검색 조건 키에 그날의 순서와 페이지를 붙인 것이다
+    private Page<Accommodation> getCachedPage(String filterKey, LocalDate checkIn, LocalDate checkout,
+                                              Supplier<BooleanBuilder> builder, Supplier<CatalogFilter> filter, Pageable page) {
+
+        String key = toCacheKey(filterKey, dailyOrdering.current().version(), page.getPageNumber(), page.getPageSize());
+        long evictionCount = searchResultCache.evictionCount();
+        SearchResultPage cached = searchResultCache.getIfPresent(key);
+
+        if (cached != null) {
+            return new PageImpl<>(getQueryResults(cached.getIds()), page, cached.getTotal());
         }
 
-        return queryFactory
-                .select(new QIsBookmarkDto(bookmark))
-                .from(accommodation)
-                .where(setSearchBuilder(searchKeyword, checkIn, checkout, guestNum, minPrice, maxPrice, types, page))
-                .leftJoin(bookmark)
-                .on(accommodation.id.eq(bookmark.accommodation.id).and(bookmark.member.id.eq(memberId)))
-                .orderBy(accommodation.randId.asc())
-                .offset(page.getOffset())
-                .limit(page.getPageSize())
-                .fetch();
+        Page<Long> ids = isCatalogSearchable() ? accommodationCatalog.findIds(filter.get(), page) : getIds(filterKey, builder.get(), page);
+        List<Accommodation> accommodations = getQueryResults(ids.getContent());
+
+        searchResultCache.put(key, SearchResultPage.of(accommodations, ids.getTotalElements(), checkIn, checkout, dailyOrdering.current()), evictionCount);
+
+        return new PageImpl<>(accommodations, page, ids.getTotalElements());
     }
 
-    public List<IsBookmarkDto> findIsBookmarks(Float minLatitude, Float maxLatitude,
-                                               Float minLongitude, Float maxLongitude,
-                                               LocalDate checkIn, LocalDate checkout,
-                                               Integer minPrice, Integer maxPrice,
-                                               int guestNum, Long memberId, String types, Pageable page) {
+    // 카탈로그를 쓸 수 없을 때는 검색 조건별로 정렬해 둔 id 목록을 잘라 쓴다. 전체 개수는 목록의 크기라 따로 세지 않는다
+    private Page<Long> getIds(String filterKey, BooleanBuilder builder, Pageable page) {
+        List<Long> ids = getOrderedIds(filterKey, builder, dailyOrdering.current());
+        int from = (int) Math.min(page.getOffset(), ids.size());
+        int to = Math.min(from + page.getPageSize(), ids.size());
 
-        if (memberId == null) {
-            return null;
+        return new PageImpl<>(new ArrayList<>(ids.subList(from, to)), page, ids.size());
+    }
+
+    private Slice<Accommodation> getSlice(String filterKey, Supplier<BooleanBuilder> builder, Supplier<CatalogFilter> filter,
+                                          SearchCursor after, int size) {
+
+        List<Long> ids = isCatalogSearchable()
+                ? accommodationCatalog.findIds(filter.get(), after, size + 1)
+                : getSliceIds(filterKey, builder, after, size + 1);
+
+        boolean hasNext = ids.size() > size;
+
+        if (hasNext) {
+            ids = ids.subList(0, size);
         }
 
-        return queryFactory
-                .select(new QIsBookmarkDto(bookmark))
-                .from(accommodation)
-                .where(setMapSearchBuilder(minLatitude, maxLatitude, minLongitude, maxLongitude, checkIn,
-                        checkout, minPrice, maxPrice, guestNum, types))
-                .leftJoin(bookmark)
-                .on(accommodation.id.eq(bookmark.accommodation.id).and(bookmark.member.id.eq(memberId)))
-                .orderBy(accommodation.randId.asc())
-                .offset(page.getOffset())
-                .limit(page.getPageSize())
-                .fetch();
+        return new SliceImpl<>(getQueryResults(ids), PageRequest.of(0, size), hasNext);
     }
 
-    private QueryResults<Long> getIds(BooleanBuilder builder, Pageable page) {
+    private List<Long> getSliceIds(String filterKey, Supplier<BooleanBuilder> builder, SearchCursor after, int limit) {
+        OrderingSnapshot ordering = dailyOrdering.current();
+        List<Long> ids = getOrderedIds(filterKey, builder.get(), ordering);
+        int from = after == null ? 0 : positionAfter(ids, ordering, after);
 
-        return queryFactory
-                .select(accommodation.id)
-                .from(accommodation)
-                .where(builder)
-                .orderBy(accommodation.randId.asc())
-                .offset(page.getOffset())
-                .limit(page.getPageSize())
-                .fetchResults();
+        return new ArrayList<>(ids.subList(from, Math.min(from + limit, ids.size())));
+    }
+
+    // 정렬 키를 DB 에서 계산하면 식으로 정렬(filesort)해야 하므로 id 만 읽어서 메모리에서 정렬한다.
+    // 정렬한 목록은 다음 페이지에서 다시 쓰도록 잠시 캐시하고, 조건에 맞는 숙소가 상한보다 많으면 카탈로그가 올라올 때까지 거절한다
+    private List<Long> getOrderedIds(String filterKey, BooleanBuilder builder, OrderingSnapshot ordering) {
+
+        return searchIdCache.get(toCacheKey(filterKey, ordering.version()), () -> {
+            List<Long> ids = queryFactory
+                    .select(accommodation.id)
+                    .from(accommodation)
+                    .where(builder)
+                    .limit(maxFallbackIds + 1L)
+                    .fetch();
+
+            if (ids.size() > maxFallbackIds) {
+                throw new ServiceUnavailableException("Search Index Loading");
+            }
+
+            ids.sort(ordering.comparator());
+
+            return ids;
+        });
     }
 
-    private QueryResults<Accommodation> getQueryResults(List<Long> ids) {
-        return queryFactory
+    // 커서 바로 다음 위치. 목록은 (정렬 키, id) 순서로 정렬되어 있다
+    private int positionAfter(List<Long> ids, OrderingSnapshot ordering, SearchCursor after) {
+        int low = 0;
+        int high = ids.size();
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            long id = ids.get(mid);
+            int sortKey = ordering.sortKey(id);
+
+            if (sortKey < after.getSortKey() || (sortKey == after.getSortKey() && id <= after.getId())) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    // 예약 여부까지 메모리에서 판단할 수 있을 때만 카탈로그로 검색한다
+    private boolean isCatalogSearchable() {
+        return accommodationCatalog.isLoaded() && availabilityIndex.isLoaded();
+    }
+
+    private CatalogFilter searchFilter(String searchKeyword, Float minLatitude, Float maxLatitude, Float minLongitude, Float maxLongitude,
+                                       LocalDate checkIn, LocalDate checkout, int guestNum, Integer minPrice, Integer maxPrice, String types) {
+
+        return CatalogFilter.builder()
+                .guestNum(guestNum)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .types(types)
+                .keywordPrefixes(toKeywordPrefixes(searchKeyword))
+                .minLatitude(minLatitude)
+                .maxLatitude(maxLatitude)
+                .minLongitude(minLongitude)
+                .maxLongitude(maxLongitude)
+                .excludedIds(checkIn == null ? null : availabilityIndex.findBookedAccommodations(checkIn, checkout))
+                .build();
+    }
+
+    // id 목록의 순서가 곧 검색 결과 순서이므로 DB 에서 정렬하지 않고 받은 순서대로 맞춘다
+    private List<Accommodation> getQueryResults(List<Long> ids) {
+        List<Accommodation> accommodations = queryFactory
                 .selectFrom(accommodation)
                 .where(accommodation.id.in(ids))
                 .join(accommodation.accommodationPictures, accommodationPicture)
                 .fetchJoin()
-                .orderBy(accommodation.randId.asc())
                 .distinct()
-                .fetchResults();
+                .fetch();
+
+        Map<Long, Integer> positions = new HashMap<>();
+
+        for (int i = 0; i < ids.size(); i++) {
+            positions.put(ids.get(i), i);
+        }
+
+        accommodations.sort(Comparator.comparing(acc -> positions.get(acc.getId())));
+
+        return accommodations;
     }
 
     private AccommodationDto getQueryResult(Long memberId, Long accommodationId) {
@@ -201,17 +366,36 @@ public class DynamicAccommodationRepository {
         }
     }
 
-    private void setSearchKeywordQuery(String searchKeyword, BooleanBuilder builder) {
-        int count = 0;
+    private void setCityQuery(String city, BooleanBuilder builder) {
+        builder.and(accommodation.city.startsWith(normalizeCity(city)));
+    }
+
+    private String normalizeCity(String city) {
+
+        city = city.replace("특별시", "")
+                .replace("광역시", "");
+
+        if (city.charAt(city.length() - 1) == '시') {
+            city = city.substring(0, city.length() - 1);
+        }
+
+        return city;
+    }
+
+    void setSearchKeywordQuery(String searchKeyword, BooleanBuilder builder) {
 
+        for (String keyword : toKeywordPrefixes(searchKeyword)) {
+            builder.and(accommodation.city.startsWith(keyword).or(accommodation.gu.startsWith(keyword)));
+        }
+    }
 
-        if (searchKeyword != null && !searchKeyword.equals("")) {
-            String match = "[^\uAC00-\uD7A3xfe0-9a-zA-Z\\s]";
+    // 각 접두어는 city 또는 gu 의 접두어와 일치해야 한다
+    private List<String> toKeywordPrefixes(String searchKeyword) {
+        List<String> prefixes = new ArrayList<>();
 
-            searchKeyword = searchKeyword.replace("특별시", "시")
-                    .replace("광역시", "시")
-                    .replaceAll(match, "");
+        searchKeyword = normalizeSearchKeyword(searchKeyword);
 
+        if (searchKeyword != null) {
             String[] keywords = searchKeyword.split(" ");
 
             for (String keyword : keywords) {
@@ -226,27 +410,90 @@ public class DynamicAccommodationRepository {
                 }
 
                 if (flag) {
-                    builder.and(accommodation.city.startsWith(keyword).or(accommodation.gu.startsWith(keyword)));
-                    count++;
+                    prefixes.add(keyword);
                 }
             }
 
-            if (count == 0) {
-                builder.and(accommodation.city.startsWith(keywords[keywords.length - 1]).or(accommodation.gu.startsWith(keywords[keywords.length - 1])));
+            if (prefixes.isEmpty()) {
+                prefixes.add(keywords[keywords.length - 1]);
             }
         }
 
+        return prefixes;
+    }
+
+    private String normalizeSearchKeyword(String searchKeyword) {
+
+        if (searchKeyword == null || searchKeyword.equals("")) {
+            return null;
+        }
+
+        String match = "[^\uAC00-\uD7A3xfe0-9a-zA-Z\\s]";
+
+        return searchKeyword.replace("특별시", "시")
+                .replace("광역시", "시")
+                .replaceAll(match, "");
+    }
+
+    private String normalizeTypes(String types) {
+
+        if (types == null) {
+            return null;
+        }
+
+        String[] sortedTypes = types.split(" ");
+        Arrays.sort(sortedTypes);
+
+        return String.join(" ", sortedTypes);
+    }
+
+    private String toPriceBand(Integer minPrice, Integer maxPrice) {
+
+        if (minPrice == null || maxPrice == null) {
+            return null;
+        }
+
+        return maxPrice == 250000 ? minPrice + "-" : minPrice + "-" + maxPrice;
+    }
+
+    private String toCacheKey(Object... values) {
+        StringBuilder key = new StringBuilder();
+
+        for (Object value : values) {
+            key.append(Objects.toString(value, "")).append('|');
+        }
+
+        return key.toString();
     }
 
     private void setCheckInCheckOutQuery(LocalDate checkIn, LocalDate checkout, BooleanBuilder builder) {
-        builder.and(bookedDate.date.goe(checkIn));
+        builder.and(reservation.checkoutDate.after(checkIn));
 
         if (checkout != null) {
-            builder.and(bookedDate.date.before(checkout));
+            builder.and(reservation.checkInDate.before(checkout));
+        }
+    }
+
+    private void setAvailabilityQuery(LocalDate checkIn, LocalDate checkout, BooleanBuilder builder) {
+
+        if (availabilityIndex.isLoaded()) {
+            List<Long> bookedIds = availabilityIndex.findBookedAccommodationIds(checkIn, checkout);
+
+            if (!bookedIds.isEmpty()) {
+                builder.andNot(accommodation.id.in(bookedIds));
+            }
+        } else {
+            BooleanBuilder bdBuilder = new BooleanBuilder();
+            setCheckInCheckOutQuery(checkIn, checkout, bdBuilder);
+
+            builder.andNot(accommodation.id.in(JPAExpressions
+                    .select(reservation.accommodation.id)
+                    .from(reservation)
+                    .where(bdBuilder)));
         }
     }
 
-    private void setAccommodationTypesQuery(String types, BooleanBuilder builder) {
+    void setAccommodationTypesQuery(String types, BooleanBuilder builder) {
         if (types != null) {
             BooleanBuilder typeBuilder = new BooleanBuilder();
 
@@ -277,10 +524,9 @@ public class DynamicAccommodationRepository {
         }
     }
 
-    private BooleanBuilder setSearchBuilder(String searchKeyword, LocalDate checkIn, LocalDate checkout,
-                                            int guestNum, Integer minPrice, Integer maxPrice, String types, Pageable page) {
+    BooleanBuilder setSearchBuilder(String searchKeyword, LocalDate checkIn, LocalDate checkout,
+                                    int guestNum, Integer minPrice, Integer maxPrice, String types, Pageable page) {
 
-        BooleanBuilder bdBuilder = new BooleanBuilder();
         BooleanBuilder acBuilder = new BooleanBuilder();
 
         acBuilder.and(accommodation.capacity.goe(guestNum));
@@ -288,36 +534,25 @@ public class DynamicAccommodationRepository {
         setPriceQuery(minPrice, maxPrice, acBuilder);
         setAccommodationTypesQuery(types, acBuilder);
         setSearchKeywordQuery(searchKeyword, acBuilder);
-        setCheckInCheckOutQuery(checkIn, checkout, bdBuilder);
-
-        acBuilder.andNot(accommodation.id.in(JPAExpressions
-                .select(bookedDate.accommodation.id)
-                .from(bookedDate)
-                .where(bdBuilder)));
+        setAvailabilityQuery(checkIn, checkout, acBuilder);
 
         return acBuilder;
     }
 
-    private BooleanBuilder setMapSearchBuilder(Float minLatitude, Float maxLatitude,
-                                               Float minLongitude, Float maxLongitude,
-                                               LocalDate checkIn, LocalDate checkout,
-                                               Integer minPrice, Integer maxPrice,
-                                               int guestNum, String types) {
+    BooleanBuilder setMapSearchBuilder(Float minLatitude, Float maxLatitude,
+                                       Float minLongitude, Float maxLongitude,
+                                       LocalDate checkIn, LocalDate checkout,
+                                       Integer minPrice, Integer maxPrice,
+                                       int guestNum, String types) {
 
-        BooleanBuilder bdBuilder = new BooleanBuilder();
         BooleanBuilder acBuilder = new BooleanBuilder();
 
         acBuilder.and(accommodation.capacity.goe(guestNum));
 
         setPriceQuery(minPrice, maxPrice, acBuilder);
         setAccommodationTypesQuery(types, acBuilder);
-        setCheckInCheckOutQuery(checkIn, checkout, bdBuilder);
         setCoordinate(minLatitude, maxLatitude, minLongitude, maxLongitude, acBuilder);
-
-        acBuilder.andNot(accommodation.id.in(JPAExpressions
-                .select(bookedDate.accommodation.id)
-                .from(bookedDate)
-                .where(bdBuilder)));
+        setAvailabilityQuery(checkIn, checkout, acBuilder);
 
         return acBuilder;
     }
@@ -1,5 +1,6 @@
 package com.sweetypie.sweetypie.repository.dynamic;
 
+import com.querydsl.core.Tuple;
 import com.sweetypie.sweetypie.dto.BookedDateDto;
 import com.sweetypie.sweetypie.dto.QBookedDateDto;
 import com.sweetypie.sweetypie.model.QAccommodation;
@@ -31,4 +32,25 @@ public class DynamicBookedDateRepository {
                 .on(acc.id.eq(reservation.accommodation.id))
                 .fetch();
     }
+
+    // 예약 한 건이 숙박 기간 하나이므로 밤마다 행을 두지 않고 예약의 체크인/체크아웃을 그대로 읽는다
+    public List<Tuple> findBookedRangesFrom(LocalDate from) {
+
+        return queryFactory
+                .select(reservation.id, reservation.accommodation.id, reservation.checkInDate, reservation.checkoutDate)
+                .from(reservation)
+                .where(reservation.checkoutDate.after(from)
+                        .and(reservation.accommodation.id.isNotNull()))
+                .fetch();
+    }
+
+    public List<Tuple> findBookedRangesByAccommodationId(long accommodationId, LocalDate from) {
+
+        return queryFactory
+                .select(reservation.id, reservation.accommodation.id, reservation.checkInDate, reservation.checkoutDate)
+                .from(reservation)
+                .where(reservation.accommodation.id.eq(accommodationId)
+                        .and(reservation.checkoutDate.after(from)))
+                .fetch();
+    }
 }
@@ -1,9 +1,11 @@
 package com.sweetypie.sweetypie.repository.dynamic;
 
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import com.sweetypie.sweetypie.dto.BookmarkListDto;
 import com.sweetypie.sweetypie.dto.QBookmarkListDto;
 import com.sweetypie.sweetypie.model.QAccommodation;
+import com.sweetypie.sweetypie.model.QAccommodationPicture;
 import com.sweetypie.sweetypie.model.QBookmark;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
@@ -18,15 +20,33 @@ public class DynamicBookmarkRepository {
 
     QBookmark bookmark = QBookmark.bookmark;
     QAccommodation acc = QAccommodation.accommodation;
+    QAccommodationPicture picture = new QAccommodationPicture("picture");
+    QAccommodationPicture firstPicture = new QAccommodationPicture("firstPicture");
 
+    // 대표 사진(id 가 가장 작은 사진)까지 한 번에 가져온다
     public List<BookmarkListDto> findByMemberId(long memberId) {
 
         return queryFactory
-                .select(new QBookmarkListDto(bookmark.id, acc.id, acc.title, acc.city, acc.gu))
+                .select(new QBookmarkListDto(bookmark.id, acc.id, acc.title, acc.city, acc.gu, picture.id, picture.url))
                 .from(bookmark)
-                .where(bookmark.member.id.eq(memberId))
                 .join(acc)
                 .on(acc.id.eq(bookmark.accommodation.id))
+                .leftJoin(acc.accommodationPictures, picture)
+                .where(bookmark.member.id.eq(memberId)
+                        .and(picture.id.isNull().or(picture.id.eq(JPAExpressions
+                                .select(firstPicture.id.min())
+                                .from(firstPicture)
+                                .where(firstPicture.accommodation.id.eq(acc.id))))))
+                .orderBy(bookmark.id.asc())
+                .fetch();
+    }
+
+    public List<Long> findAccommodationIdsByMemberId(long memberId) {
+
+        return queryFactory
+                .select(bookmark.accommodation.id)
+                .from(bookmark)
+                .where(bookmark.member.id.eq(memberId))
                 .fetch();
     }
 }
@@ -1,10 +1,18 @@
 package com.sweetypie.sweetypie.repository.dynamic;
 
-import com.sweetypie.sweetypie.model.BookedDate;
-import com.sweetypie.sweetypie.model.QBookedDate;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.sweetypie.sweetypie.dto.QReservationDto;
+import com.sweetypie.sweetypie.dto.ReservationDto;
+import com.sweetypie.sweetypie.model.QAccommodation;
+import com.sweetypie.sweetypie.model.QAccommodationPicture;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.sweetypie.sweetypie.model.QReservation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -16,23 +24,76 @@ public class DynamicReservationRepository {
 
     private final JPAQueryFactory queryFactory;
 
-    QBookedDate qb = new QBookedDate("qb");
+    QReservation reservation = QReservation.reservation;
 
-    public List<BookedDate> findByAccommodationIdAndDate(Long accommodationId, LocalDate checkIn, LocalDate checkout) {
+    QAccommodation accommodation = QAccommodation.accommodation;
+
+    QAccommodationPicture picture = new QAccommodationPicture("picture");
+
+    QAccommodationPicture firstPicture = new QAccommodationPicture("firstPicture");
+
+    // (accommodation_id, check_in_date, checkout_date) 인덱스로 체크아웃 전에 시작하는 예약만 훑는다
+    public boolean existsOverlapping(Long accommodationId, LocalDate checkIn, LocalDate checkout, Long exceptReservationId) {
 
         BooleanBuilder builder = new BooleanBuilder();
+        builder.and(reservation.accommodation.id.eq(accommodationId));
+        builder.and(reservation.checkInDate.before(checkout));
+        builder.and(reservation.checkoutDate.after(checkIn));
 
-        if (accommodationId != null){
-            builder.and(qb.accommodation.id.eq(accommodationId));
+        if (exceptReservationId != null) {
+            builder.and(reservation.id.ne(exceptReservationId));
         }
 
-        if (checkIn != null && checkout != null) {
-            builder.and(qb.date.between(checkIn, checkout.minusDays(1)));
+        return queryFactory.selectOne()
+                .from(reservation)
+                .where(builder)
+                .fetchFirst() != null;
+    }
+
+    public List<ReservationDto> findByMemberId(long memberId) {
+
+        return reservationDtoQuery(memberId, null).fetch();
+    }
+
+    public Slice<ReservationDto> findByMemberId(long memberId, Long afterId, int size) {
+
+        List<ReservationDto> reservations = reservationDtoQuery(memberId, afterId)
+                .limit(size + 1)
+                .fetch();
+
+        boolean hasNext = reservations.size() > size;
+
+        if (hasNext) {
+            reservations = reservations.subList(0, size);
         }
 
-        return queryFactory.selectFrom(qb)
-        .where(builder)
-        .fetch();
+        return new SliceImpl<>(reservations, PageRequest.of(0, size), hasNext);
     }
 
+    // 숙소 정보와 대표 사진(id 가 가장 작은 사진)을 예약 목록과 함께 한 번에 가져온다
+    private JPAQuery<ReservationDto> reservationDtoQuery(long memberId, Long afterId) {
+        BooleanBuilder builder = new BooleanBuilder();
+
+        builder.and(reservation.member.id.eq(memberId));
+        builder.and(picture.id.isNull().or(picture.id.eq(JPAExpressions
+                .select(firstPicture.id.min())
+                .from(firstPicture)
+                .where(firstPicture.accommodation.id.eq(accommodation.id)))));
+
+        if (afterId != null) {
+            builder.and(reservation.id.gt(afterId));
+        }
+
+        return queryFactory
+                .select(new QReservationDto(reservation.id, reservation.checkInDate, reservation.checkoutDate, reservation.totalGuestNum, reservation.adultNum,
+                        reservation.childNum, reservation.infantNum, reservation.totalPrice, reservation.isWrittenReview,
+                        accommodation.id, accommodation.city, accommodation.gu, accommodation.title, accommodation.hostName, accommodation.bathroomNum,
+                        accommodation.bedroomNum, accommodation.bedNum, accommodation.rating, accommodation.reviewNum, accommodation.price,
+                        picture.id, picture.url))
+                .from(reservation)
+                .join(reservation.accommodation, accommodation)
+                .leftJoin(accommodation.accommodationPictures, picture)
+                .where(builder)
+                .orderBy(reservation.id.asc());
+    }
 }
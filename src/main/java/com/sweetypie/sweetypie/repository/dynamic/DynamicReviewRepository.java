@@ -0,0 +1,68 @@
+package com.sweetypie.sweetypie.repository.dynamic;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.sweetypie.sweetypie.dto.ReviewCursor;
+import com.sweetypie.sweetypie.model.QReview;
+import com.sweetypie.sweetypie.model.Review;
+import com.sweetypie.sweetypie.model.ReviewSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class DynamicReviewRepository {
+
+    private final JPAQueryFactory queryFactory;
+
+    QReview review = QReview.review;
+
+    public Slice<Review> findByAccommodationId(long accommodationId, ReviewCursor after, int size) {
+        BooleanBuilder builder = new BooleanBuilder();
+
+        builder.and(review.accommodation.id.eq(accommodationId));
+
+        if (after != null) {
+            builder.and(review.createdDate.lt(after.getCreatedDate())
+                    .or(review.createdDate.eq(after.getCreatedDate()).and(review.id.lt(after.getId()))));
+        }
+
+        List<Review> reviews = queryFactory
+                .selectFrom(review)
+                .where(builder)
+                .orderBy(review.createdDate.desc(), review.id.desc())
+                .limit(size + 1)
+                .fetch();
+
+        boolean hasNext = reviews.size() > size;
+
+        if (hasNext) {
+            reviews = reviews.subList(0, size);
+        }
+
+        return new SliceImpl<>(reviews, PageRequest.of(0, size), hasNext);
+    }
+
+    public ReviewSummary summarize(long accommodationId) {
+        List<Tuple> ratings = queryFactory
+                .select(review.rating, review.count())
+                .from(review)
+                .where(review.accommodation.id.eq(accommodationId))
+                .groupBy(review.rating)
+                .fetch();
+
+        ReviewSummary reviewSummary = new ReviewSummary(accommodationId);
+
+        for (Tuple tuple : ratings) {
+            reviewSummary.add(tuple.get(review.rating), Math.toIntExact(tuple.get(review.count())));
+        }
+
+        return reviewSummary;
+    }
+}
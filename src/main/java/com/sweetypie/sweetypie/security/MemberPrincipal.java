@@ -0,0 +1,21 @@
+package com.sweetypie.sweetypie.security;
+
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * 인증된 회원의 id 를 함께 들고 있는 principal. 요청마다 토큰을 다시 파싱하거나 회원을 조회하지 않기 위해 사용한다.
+ */
+@Getter
+public class MemberPrincipal extends User {
+
+    private final Long memberId;
+
+    public MemberPrincipal(Long memberId, String username, String password, Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.memberId = memberId;
+    }
+}
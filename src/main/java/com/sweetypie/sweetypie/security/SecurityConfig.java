@@ -5,6 +5,7 @@ import com.sweetypie.sweetypie.security.jwt.JwtAuthenticationEntryPoint;
 import com.sweetypie.sweetypie.security.jwt.JwtSecurityConfig;
 import com.sweetypie.sweetypie.security.jwt.TokenProvider;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -21,6 +22,9 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final JwtAccessDeniedHandler jwtAccessDeniedHandler;
 
+    // 메트릭은 외부에 열지 않는 관리 포트로만 제공한다
+    private @Value("${management.server.port:-1}") int managementPort;
+
     @Override
     protected void configure(HttpSecurity http) throws Exception {
         http
@@ -38,6 +42,8 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .authorizeRequests()
                 .antMatchers("/api/**").permitAll()
                 .antMatchers("/").permitAll()
+                .antMatchers("/actuator/health").permitAll()
+                .requestMatchers(request -> request.getLocalPort() == managementPort).permitAll()
                 .anyRequest().authenticated()
 
                 .and()
@@ -0,0 +1,185 @@
+package com.sweetypie.sweetypie.security.jwt;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * 로그아웃된 토큰 목록을 인스턴스마다 Bloom filter 로 복제해 둔다.
+ * 필터에 없으면 Redis 를 보지 않고 통과시키고, 필터에 걸린 경우에만 Redis 로 확인한다.
+ * 로그아웃은 Redis pub/sub 으로 다른 인스턴스에 전달되고, 필터는 토큰 유효기간마다 한 세대씩 교체된다.
+ * 시작할 때 Redis 에서 필터를 채우지 못했으면 요청 스레드가 아닌 스케줄러에서 다시 시도하고, 그동안은 매 요청 Redis 로 확인한다.
+ * Redis 가 응답하지 않으면 필터만으로 판단한다. 필터에 걸린 토큰은 로그아웃된 것으로 보고, 걸리지 않은 토큰은 통과시킨다.
+ */
+@Component
+public class TokenBlacklist implements MessageListener {
+
+    public static final String CHANNEL = "auth:logout";
+
+    private final Logger logger = LoggerFactory.getLogger(TokenBlacklist.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    private final long tokenValidityInSeconds;
+
+    private final int expectedInsertions;
+
+    private volatile BloomFilter current;
+
+    private volatile BloomFilter previous;
+
+    private volatile long rotateAt;
+
+    private volatile boolean synced;
+
+    public TokenBlacklist(RedisTemplate<String, String> redisTemplate,
+                          @Value("${jwt.token-validity-in-seconds}") long tokenValidityInSeconds,
+                          @Value("${jwt.blacklist.expected-insertions:100000}") int expectedInsertions) {
+        this.redisTemplate = redisTemplate;
+        this.tokenValidityInSeconds = tokenValidityInSeconds;
+        this.expectedInsertions = expectedInsertions;
+        this.current = new BloomFilter(expectedInsertions, 0.001);
+        this.previous = new BloomFilter(expectedInsertions, 0.001);
+        this.rotateAt = System.currentTimeMillis() + tokenValidityInSeconds * 1000;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            List<String> tokens = redisTemplate.execute((RedisCallback<List<String>>) connection -> {
+                List<String> keys = new ArrayList<>();
+                ScanOptions options = ScanOptions.scanOptions().match(JwtFilter.HEADER_PREFIX + "*").count(1000).build();
+
+                try (Cursor<byte[]> cursor = connection.scan(options)) {
+                    while (cursor.hasNext()) {
+                        keys.add(new String(cursor.next(), StandardCharsets.UTF_8));
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+
+                return keys;
+            });
+
+            if (tokens != null) {
+                for (String token : tokens) {
+                    add(digest(stripPrefix(token)));
+                }
+            }
+
+            synced = true;
+
+            logger.info("TokenBlacklist loaded: {} revoked tokens", tokens == null ? 0 : tokens.size());
+        } catch (DataAccessException | IllegalStateException e) {
+            logger.warn("TokenBlacklist could not be loaded, checking Redis per request: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.blacklist.sync-retry-millis:30000}")
+    public void resync() {
+        if (!synced) {
+            load();
+        }
+    }
+
+    public boolean isRevoked(String jwt, byte[] hash) {
+        rotateIfNeeded();
+
+        long hash1 = hash1(hash);
+        long hash2 = hash2(hash);
+        boolean mightBeRevoked = current.mightContain(hash1, hash2) || previous.mightContain(hash1, hash2);
+
+        if (synced && !mightBeRevoked) {
+            return false;
+        }
+
+        try {
+            return StringUtils.hasText(redisTemplate.opsForValue().get(JwtFilter.HEADER_PREFIX + jwt));
+        } catch (DataAccessException e) {
+            logger.warn("TokenBlacklist could not reach Redis, using the filter only: {}", e.getMessage());
+
+            return mightBeRevoked;
+        }
+    }
+
+    public void revoke(String token) {
+        redisTemplate.opsForValue().set(token, token, Duration.ofSeconds(tokenValidityInSeconds));
+
+        byte[] hash = digest(stripPrefix(token));
+        add(hash);
+
+        redisTemplate.convertAndSend(CHANNEL, Base64.getEncoder().encodeToString(hash));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            add(Base64.getDecoder().decode(message.getBody()));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring malformed logout message");
+        }
+    }
+
+    static byte[] digest(String jwt) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(jwt.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void add(byte[] hash) {
+        rotateIfNeeded();
+        current.put(hash1(hash), hash2(hash));
+    }
+
+    // 두 세대를 유지하므로 로그아웃된 토큰은 최소한 토큰 유효기간 동안 필터에 남는다
+    private void rotateIfNeeded() {
+        if (System.currentTimeMillis() < rotateAt) {
+            return;
+        }
+
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+
+            if (now >= rotateAt) {
+                previous = current;
+                current = new BloomFilter(expectedInsertions, 0.001);
+                rotateAt = now + tokenValidityInSeconds * 1000;
+            }
+        }
+    }
+
+    private String stripPrefix(String token) {
+        return token.startsWith(JwtFilter.HEADER_PREFIX) ? token.substring(JwtFilter.HEADER_PREFIX.length()) : token;
+    }
+
+    private long hash1(byte[] hash) {
+        return ByteBuffer.wrap(hash, 0, 8).getLong();
+    }
+
+    private long hash2(byte[] hash) {
+        return ByteBuffer.wrap(hash, 8, 8).getLong();
+    }
+}
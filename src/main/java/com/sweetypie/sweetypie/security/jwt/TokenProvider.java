@@ -1,29 +1,31 @@
 package com.sweetypie.sweetypie.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.sweetypie.sweetypie.exception.InvalidTokenException;
-import com.sweetypie.sweetypie.security.service.CustomUserDetailsService;
+import com.sweetypie.sweetypie.security.MemberPrincipal;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SecurityException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StringUtils;
 
 import java.security.Key;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Date;
 import java.util.stream.Collectors;
@@ -36,18 +38,29 @@ public class TokenProvider implements InitializingBean {
 
     private static final String AUTHORITIES_KEY = "auth";
 
-    private final RedisTemplate<String, String> redisTemplate;
+    private final TokenBlacklist tokenBlacklist;
 
     private @Value("${jwt.secret}") String secret;
 
     private @Value("${jwt.token-validity-in-seconds}") long tokenValidityInSeconds;
 
+    private @Value("${jwt.verified-cache.maximum-size:100000}") long verifiedCacheMaximumSize;
+
     private Key key;
 
+    private JwtParser parser;
+
+    private Cache<String, VerifiedToken> verifiedTokens;
+
     @Override
     public void afterPropertiesSet() {
         byte[] keyBytes = Decoders.BASE64.decode(secret);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(tokenValidityInSeconds))
+                .maximumSize(verifiedCacheMaximumSize)
+                .build();
     }
 
 
@@ -61,7 +74,7 @@ public class TokenProvider implements InitializingBean {
         return Jwts.builder()
                 .setSubject(authentication.getName())
                 .claim(AUTHORITIES_KEY, authorities)
-                .claim("memberId", CustomUserDetailsService.memberId)
+                .claim("memberId", getMemberId(authentication))
                 .signWith(key, SignatureAlgorithm.HS512)
                 .setExpiration(validity)
                 .compact();
@@ -72,42 +85,28 @@ public class TokenProvider implements InitializingBean {
             token = token.substring(JwtFilter.HEADER_PREFIX.length());
         }
 
-        Claims claims = getClaimsFromToken(token);
-
-        String memberId = String.valueOf(claims.get("memberId"));
-
-        return  Long.parseLong(memberId);
+        return verify(token, TokenBlacklist.digest(token)).getPrincipal().getMemberId();
     }
 
     public Authentication getAuthentication(String token) {
 
-        Claims claims = getClaimsFromToken(token);
-
-        Collection<? extends  GrantedAuthority> authorities =
-                Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-                        .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toList());
+        MemberPrincipal principal = verify(token, TokenBlacklist.digest(token)).getPrincipal();
 
-        User principal = new User(claims.getSubject(), "", authorities);
-
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        return new UsernamePasswordAuthenticationToken(principal, token, principal.getAuthorities());
     }
 
-    private Claims getClaimsFromToken(String token) {
+    public boolean validateToken(String token) {
 
-        return  Jwts
-                .parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return authenticate(token) != null;
     }
 
-    public boolean validateToken(String token) {
+    // 검증과 인증 정보 생성을 한 번에 해서 토큰 해시를 요청마다 한 번만 계산한다. 유효하지 않으면 null
+    public Authentication authenticate(String token) {
         try{
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            checkTokenBlackList(JwtFilter.HEADER_PREFIX + token);
-            return true;
+            byte[] hash = TokenBlacklist.digest(token);
+            MemberPrincipal principal = verify(token, hash).getPrincipal();
+            checkTokenBlackList(token, hash);
+            return new UsernamePasswordAuthenticationToken(principal, token, principal.getAuthorities());
         } catch (SecurityException | MalformedJwtException e) {
             logger.info("잘못된 JWT 서명입니다.");
         } catch (ExpiredJwtException e) {
@@ -119,13 +118,62 @@ public class TokenProvider implements InitializingBean {
         } catch (InvalidTokenException e) {
             logger.info("로그아웃된 토큰입니다");
         }
-        return false;
+        return null;
+    }
+
+    // 서명 검증은 토큰마다 한 번만 하고, 이후 요청은 토큰 해시로 캐시된 결과를 사용한다
+    private VerifiedToken verify(String token, byte[] hash) {
+        String cacheKey = Base64.getEncoder().encodeToString(hash);
+        VerifiedToken verifiedToken = verifiedTokens.getIfPresent(cacheKey);
+
+        if (verifiedToken != null && !verifiedToken.isExpired()) {
+            return verifiedToken;
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+
+        Collection<? extends  GrantedAuthority> authorities =
+                Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
+                        .map(SimpleGrantedAuthority::new)
+                        .collect(Collectors.toList());
+
+        Object memberId = claims.get("memberId");
+        MemberPrincipal principal = new MemberPrincipal(memberId == null ? null : Long.valueOf(memberId.toString()),
+                claims.getSubject(), "", authorities);
+
+        verifiedToken = new VerifiedToken(principal,
+                claims.getExpiration() == null ? Long.MAX_VALUE : claims.getExpiration().getTime());
+
+        verifiedTokens.put(cacheKey, verifiedToken);
+
+        return verifiedToken;
+    }
+
+    private Long getMemberId(Authentication authentication) {
+
+        if (authentication.getPrincipal() instanceof MemberPrincipal) {
+            return ((MemberPrincipal) authentication.getPrincipal()).getMemberId();
+        }
+
+        return null;
     }
 
-    private void checkTokenBlackList(String jwt) {
-        ValueOperations<String, String> valueOperations = redisTemplate.opsForValue();
-        if (StringUtils.hasText(valueOperations.get(jwt))) {
+    private void checkTokenBlackList(String jwt, byte[] hash) {
+        if (tokenBlacklist.isRevoked(jwt, hash)) {
             throw new InvalidTokenException("유효하지 않은 토큰으로 접근했습니다.");
         }
     }
+
+    @Getter
+    @AllArgsConstructor
+    private static class VerifiedToken {
+
+        private final MemberPrincipal principal;
+
+        private final long expiresAt;
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
 }
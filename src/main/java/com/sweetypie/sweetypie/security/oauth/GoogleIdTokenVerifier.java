@@ -0,0 +1,153 @@
+package com.sweetypie.sweetypie.security.oauth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sweetypie.sweetypie.exception.InputNotValidException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Google ID 토큰을 tokeninfo 엔드포인트에 묻지 않고 Google 공개키(JWKS)로 직접 검증한다.
+ * 공개키는 응답의 Cache-Control max-age 동안 캐시하고, 모르는 kid 가 오면 키가 교체된 것이므로 다시 받는다.
+ */
+@Component
+public class GoogleIdTokenVerifier {
+
+    private static final List<String> ISSUERS = Arrays.asList("accounts.google.com", "https://accounts.google.com");
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private final GoogleOAuthClient googleOAuthClient;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private @Value("${google.client_id}") String clientId;
+
+    private @Value("${google.jwks.ttl-seconds:3600}") long ttlSeconds;
+
+    // 위조된 kid 로 JWKS 를 계속 받아 오지 않도록 다시 받는 간격을 제한한다
+    private @Value("${google.jwks.min-refresh-seconds:60}") long minRefreshSeconds;
+
+    private volatile Map<String, PublicKey> keys = Collections.emptyMap();
+
+    private volatile long expiresAt;
+
+    private volatile long refreshedAt;
+
+    public GoogleIdTokenVerifier(GoogleOAuthClient googleOAuthClient) {
+        this.googleOAuthClient = googleOAuthClient;
+    }
+
+    public Claims verify(String idToken) {
+        if (idToken == null) {
+            throw new InputNotValidException("Google 인증에 실패했습니다.");
+        }
+
+        try {
+            Claims claims = Jwts.parserBuilder()
+                    .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                        @Override
+                        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                            return key(header.getKeyId());
+                        }
+                    })
+                    .requireAudience(clientId)
+                    .setAllowedClockSkewSeconds(60)
+                    .build()
+                    .parseClaimsJws(idToken)
+                    .getBody();
+
+            // 확인되지 않은 이메일로는 같은 이메일의 회원으로 로그인할 수 없다. Google 은 true 또는 "true" 로 보낸다
+            if (!ISSUERS.contains(claims.getIssuer()) || !Boolean.parseBoolean(String.valueOf(claims.get("email_verified")))) {
+                throw new InputNotValidException("Google 인증에 실패했습니다.");
+            }
+
+            return claims;
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InputNotValidException("Google 인증에 실패했습니다.");
+        }
+    }
+
+    private PublicKey key(String kid) {
+        long now = System.currentTimeMillis();
+        PublicKey key = keys.get(kid);
+
+        if (now >= expiresAt || (key == null && now - refreshedAt >= minRefreshSeconds * 1000)) {
+            refresh(now);
+            key = keys.get(kid);
+        }
+
+        if (key == null) {
+            throw new InputNotValidException("Google 인증에 실패했습니다.");
+        }
+
+        return key;
+    }
+
+    private synchronized void refresh(long now) {
+        // 기다리는 동안 다른 스레드가 이미 받아 왔으면 다시 받지 않는다
+        if (refreshedAt > now) {
+            return;
+        }
+
+        ResponseEntity<String> response = googleOAuthClient.fetchJwks();
+        Map<String, PublicKey> fetched = new HashMap<>();
+
+        try {
+            for (JsonNode jwk : mapper.readTree(response.getBody()).path("keys")) {
+                if ("RSA".equals(jwk.path("kty").asText())) {
+                    fetched.put(jwk.path("kid").asText(), rsaPublicKey(jwk.path("n").asText(), jwk.path("e").asText()));
+                }
+            }
+        } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+            throw new InputNotValidException("Google 인증에 실패했습니다.");
+        }
+
+        keys = fetched;
+        refreshedAt = System.currentTimeMillis();
+        expiresAt = refreshedAt + maxAgeSeconds(response) * 1000;
+    }
+
+    private long maxAgeSeconds(ResponseEntity<String> response) {
+        String cacheControl = response.getHeaders().getCacheControl();
+
+        if (cacheControl != null) {
+            Matcher matcher = MAX_AGE.matcher(cacheControl);
+
+            if (matcher.find()) {
+                return Long.parseLong(matcher.group(1));
+            }
+        }
+
+        return ttlSeconds;
+    }
+
+    private PublicKey rsaPublicKey(String modulus, String exponent) throws GeneralSecurityException {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+
+        return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                new BigInteger(1, decoder.decode(modulus)), new BigInteger(1, decoder.decode(exponent))));
+    }
+}
@@ -0,0 +1,170 @@
+package com.sweetypie.sweetypie.security.oauth;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.sweetypie.sweetypie.dto.GoogleTokenResponseDto;
+import com.sweetypie.sweetypie.exception.InputNotValidException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Google OAuth 엔드포인트 호출. 요청마다 RestTemplate 을 만들지 않고 커넥션 풀을 공유하는 클라이언트 하나를 쓴다.
+ * 호출 시간은 call, outcome 태그가 붙은 Timer 로 기록되어 p99 를 볼 수 있다.
+ */
+@Component
+public class GoogleOAuthClient implements InitializingBean, DisposableBean {
+
+    private final Logger logger = LoggerFactory.getLogger(GoogleOAuthClient.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final Executor executor;
+
+    private final ObjectMapper mapper = new ObjectMapper()
+            .setPropertyNamingStrategy(PropertyNamingStrategy.SNAKE_CASE)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private @Value("${google.client_id}") String clientId;
+
+    private @Value("${google.client_secret}") String clientSecret;
+
+    private @Value("${google.redirect-uri:https://sweetypie.netlify.app/redirect/oauth2callback}") String redirectUri;
+
+    private @Value("${google.token-uri:https://oauth2.googleapis.com/token}") String tokenUri;
+
+    private @Value("${google.revoke-uri:https://oauth2.googleapis.com/revoke}") String revokeUri;
+
+    private @Value("${google.jwks-uri:https://www.googleapis.com/oauth2/v3/certs}") String jwksUri;
+
+    private @Value("${google.http.max-connections:20}") int maxConnections;
+
+    private @Value("${google.http.connect-timeout-millis:2000}") int connectTimeoutMillis;
+
+    private @Value("${google.http.read-timeout-millis:3000}") int readTimeoutMillis;
+
+    private CloseableHttpClient httpClient;
+
+    private RestTemplate restTemplate;
+
+    public GoogleOAuthClient(MeterRegistry meterRegistry, @Qualifier("googleOAuthExecutor") Executor executor) {
+        this.meterRegistry = meterRegistry;
+        this.executor = executor;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+
+        httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .evictIdleConnections(30, TimeUnit.SECONDS)
+                .build();
+
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setConnectTimeout(connectTimeoutMillis);
+        requestFactory.setConnectionRequestTimeout(connectTimeoutMillis);
+        requestFactory.setReadTimeout(readTimeoutMillis);
+
+        restTemplate = new RestTemplate(requestFactory);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        httpClient.close();
+    }
+
+    public GoogleTokenResponseDto exchangeCode(String authCode) {
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("code", authCode);
+        form.add("client_id", clientId);
+        form.add("client_secret", clientSecret);
+        form.add("redirect_uri", redirectUri);
+        form.add("grant_type", "authorization_code");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+        String body = timed("token", () -> restTemplate.postForObject(tokenUri, new HttpEntity<>(form, headers), String.class));
+
+        try {
+            return mapper.readValue(body, GoogleTokenResponseDto.class);
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            throw new InputNotValidException("Google 인증에 실패했습니다.");
+        }
+    }
+
+    public ResponseEntity<String> fetchJwks() {
+
+        return timed("jwks", () -> restTemplate.getForEntity(jwksUri, String.class));
+    }
+
+    // 응답을 기다릴 필요가 없으므로 요청 스레드를 붙잡지 않고 별도 스레드에서 만료시킨다
+    public void revokeAsync(String token) {
+        if (token == null) {
+            return;
+        }
+
+        executor.execute(() -> {
+            MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+            form.add("token", token);
+
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+            try {
+                timed("revoke", () -> restTemplate.postForObject(revokeUri, new HttpEntity<>(form, headers), String.class));
+            } catch (RuntimeException e) {
+                logger.warn("Google access token revocation failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    private <T> T timed(String call, Supplier<T> request) {
+        long startedAt = System.nanoTime();
+        String outcome = "error";
+
+        try {
+            T result = request.get();
+            outcome = "success";
+
+            return result;
+        } catch (RestClientException e) {
+            throw new InputNotValidException("Google 인증에 실패했습니다.");
+        } finally {
+            Timer.builder("sweetypie.google.oauth")
+                    .tag("call", call)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+}
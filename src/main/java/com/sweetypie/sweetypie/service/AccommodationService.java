@@ -1,52 +1,80 @@
 package com.sweetypie.sweetypie.service;
 
+import com.sweetypie.sweetypie.cache.AccommodationDetailCache;
+import com.sweetypie.sweetypie.cache.BookmarkCache;
 import com.sweetypie.sweetypie.dto.AccommodationDto;
-import com.sweetypie.sweetypie.dto.IsBookmarkDto;
+import com.sweetypie.sweetypie.dto.CursorSlice;
+import com.sweetypie.sweetypie.dto.PriceHistogramDto;
+import com.sweetypie.sweetypie.dto.ReviewCursor;
 import com.sweetypie.sweetypie.dto.SearchAccommodationDto;
+import com.sweetypie.sweetypie.dto.SearchCursor;
 import com.sweetypie.sweetypie.exception.DataNotFoundException;
 import com.sweetypie.sweetypie.exception.InputNotValidException;
+import com.sweetypie.sweetypie.index.DailyOrdering;
+import com.sweetypie.sweetypie.index.OrderingSnapshot;
 import com.sweetypie.sweetypie.model.Accommodation;
-import com.sweetypie.sweetypie.model.Member;
+import com.sweetypie.sweetypie.model.Review;
 import com.sweetypie.sweetypie.repository.AccommodationPictureRepository;
 import com.sweetypie.sweetypie.repository.AccommodationRepository;
-import com.sweetypie.sweetypie.repository.MemberRepository;
-import com.sweetypie.sweetypie.repository.ReviewRepository;
+import com.sweetypie.sweetypie.repository.ReviewSummaryRepository;
 import com.sweetypie.sweetypie.repository.dynamic.DynamicAccommodationRepository;
 import com.sweetypie.sweetypie.repository.dynamic.DynamicBookedDateRepository;
-import com.sweetypie.sweetypie.security.jwt.TokenProvider;
+import com.sweetypie.sweetypie.repository.dynamic.DynamicReviewRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanUtils;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 @Transactional
 @Service
 @RequiredArgsConstructor
 public class AccommodationService {
 
+    private static final int DETAIL_REVIEW_SIZE = 6;
+
+    // 검색의 maxPrice 상한과 같다. 이 가격 이상은 히스토그램 마지막 구간에 들어간다
+    private static final int PRICE_CAP = 250000;
+
+    private static final int MAX_PRICE_BUCKETS = 100;
+
+    private static final int MAX_SLICE_SIZE = 100;
+
     private final AccommodationPictureRepository accommodationPictureRepository;
     private final DynamicBookedDateRepository dynamicBookedDateRepository;
     private final DynamicAccommodationRepository dynamicAccRepository;
-    private final MemberRepository memberRepository;
+    private final BookmarkCache bookmarkCache;
     private final AccommodationRepository accRepository;
-    private final ReviewRepository reviewRepository;
-    private final TokenProvider tokenProvider;
+    private final ReviewSummaryRepository reviewSummaryRepository;
+    private final DynamicReviewRepository dynamicReviewRepository;
+    private final AccommodationDetailCache accommodationDetailCache;
+    private final DailyOrdering dailyOrdering;
 
-    public AccommodationDto findById(String token, Long id) {
+    public AccommodationDto findById(Long memberId, Long id) {
 
-        AccommodationDto accommodationDto = dynamicAccRepository.findById(parseTokenToMemberId(token), id);
+        AccommodationDto cached = accommodationDetailCache.get(id, this::findAccommodationDetail);
 
-        if (accommodationDto == null) {
+        if (cached == null) {
             throw new DataNotFoundException("Accommodation Not Found");
         }
 
-        return setListObjects(accommodationDto);
+        AccommodationDto accommodationDto = new AccommodationDto();
+        BeanUtils.copyProperties(cached, accommodationDto);
+
+        if (memberId != null) {
+            accommodationDto.setBookmarked(bookmarkCache.contains(memberId, id));
+        }
+
+        return accommodationDto;
     }
 
     public Page<Accommodation> findAccommodations(Pageable pageable) {
@@ -54,33 +82,32 @@ public class AccommodationService {
         return accRepository.findAccommodationsBy(pageable);
     }
 
-    public Page<SearchAccommodationDto> findByCity(String token, String city, Pageable page) {
+    public Page<SearchAccommodationDto> findByCity(Long memberId, String city, Pageable page) {
 
-        Page<Accommodation> accommodations = dynamicAccRepository.findByCity(city, parseTokenToMemberId(token), page);
+        Page<Accommodation> accommodations = dynamicAccRepository.findByCity(city, memberId, page);
 
-        return mapToSearchAccommodationDtos(accommodations, page);
+        return mapToSearchAccommodationDtos(accommodations, memberId, page);
     }
 
-    public Page<SearchAccommodationDto> findByBuildingType(String token, String buildingType, Pageable page) {
+    public Page<SearchAccommodationDto> findByBuildingType(Long memberId, String buildingType, Pageable page) {
 
         Page<Accommodation> accommodations = dynamicAccRepository.findByBuildingType(buildingType, page);
 
-        return mapToSearchAccommodationDtos(accommodations, page);
+        return mapToSearchAccommodationDtos(accommodations, memberId, page);
     }
 
-    public Page<SearchAccommodationDto> findAccommodationsBySearch(String token, String searchKeyword,
+    public Page<SearchAccommodationDto> findAccommodationsBySearch(Long memberId, String searchKeyword,
                                                                    LocalDate checkIn, LocalDate checkout,
                                                                    int guestNum, Integer minPrice, Integer maxPrice, String types, Pageable page) {
 
         checkIn = validateCheckInCheckout(checkIn, checkout);
 
         Page<Accommodation> accommodations = dynamicAccRepository.findAccommodationsBySearch(searchKeyword, checkIn, checkout, guestNum, minPrice, maxPrice, types, page);
-        List<IsBookmarkDto> bookmarks = dynamicAccRepository.findIsBookmarks(searchKeyword, checkIn, checkout, guestNum, parseTokenToMemberId(token), minPrice, maxPrice, types, page);
 
-        return bookmarks == null ? mapToSearchAccommodationDtos(accommodations, page) : mapToSearchAccommodationDtos(accommodations, bookmarks, page);
+        return mapToSearchAccommodationDtos(accommodations, memberId, page);
     }
 
-    public Page<SearchAccommodationDto> findAccommodationsByMapSearch(String token, Float minLatitude, Float maxLatitude,
+    public Page<SearchAccommodationDto> findAccommodationsByMapSearch(Long memberId, Float minLatitude, Float maxLatitude,
                                                                       Float minLongitude, Float maxLongitude, Integer minPrice, Integer maxPrice,
                                                                       LocalDate checkIn, LocalDate checkout, int guestNum, String types, Pageable page) {
 
@@ -89,10 +116,70 @@ public class AccommodationService {
         Page<Accommodation> accommodations = dynamicAccRepository.findAccommodationsByMapSearch(minLatitude, maxLatitude, minLongitude, maxLongitude,
                 checkIn, checkout, minPrice, maxPrice, guestNum, types, page);
 
-        List<IsBookmarkDto> bookmarks = dynamicAccRepository.findIsBookmarks(minLatitude, maxLatitude, minLongitude, maxLongitude,
-                checkIn, checkout, minPrice, maxPrice, guestNum, parseTokenToMemberId(token), types, page);
+        return mapToSearchAccommodationDtos(accommodations, memberId, page);
+    }
+
+    public CursorSlice<SearchAccommodationDto> findByCity(Long memberId, String city, String after, int size) {
+
+        validateSliceSize(size);
+
+        Slice<Accommodation> accommodations = dynamicAccRepository.findByCity(city, decodeCursor(after), size);
+
+        return mapToSearchAccommodationSlice(accommodations, memberId);
+    }
+
+    public CursorSlice<SearchAccommodationDto> findByBuildingType(Long memberId, String buildingType, String after, int size) {
+
+        validateSliceSize(size);
+
+        Slice<Accommodation> accommodations = dynamicAccRepository.findByBuildingType(buildingType, decodeCursor(after), size);
+
+        return mapToSearchAccommodationSlice(accommodations, memberId);
+    }
+
+    public CursorSlice<SearchAccommodationDto> findAccommodationsBySearch(Long memberId, String searchKeyword,
+                                                                          LocalDate checkIn, LocalDate checkout,
+                                                                          int guestNum, Integer minPrice, Integer maxPrice, String types,
+                                                                          String after, int size) {
+
+        checkIn = validateCheckInCheckout(checkIn, checkout);
+        validateSliceSize(size);
+
+        Slice<Accommodation> accommodations = dynamicAccRepository.findAccommodationsBySearch(searchKeyword, checkIn, checkout, guestNum,
+                minPrice, maxPrice, types, decodeCursor(after), size);
+
+        return mapToSearchAccommodationSlice(accommodations, memberId);
+    }
+
+    public CursorSlice<SearchAccommodationDto> findAccommodationsByMapSearch(Long memberId, Float minLatitude, Float maxLatitude,
+                                                                             Float minLongitude, Float maxLongitude, Integer minPrice, Integer maxPrice,
+                                                                             LocalDate checkIn, LocalDate checkout, int guestNum, String types,
+                                                                             String after, int size) {
+
+        checkIn = validateCheckInCheckout(checkIn, checkout);
+        validateSliceSize(size);
+
+        Slice<Accommodation> accommodations = dynamicAccRepository.findAccommodationsByMapSearch(minLatitude, maxLatitude, minLongitude, maxLongitude,
+                checkIn, checkout, minPrice, maxPrice, guestNum, types, decodeCursor(after), size);
 
-        return bookmarks == null ? mapToSearchAccommodationDtos(accommodations, page) : mapToSearchAccommodationDtos(accommodations, bookmarks, page);
+        return mapToSearchAccommodationSlice(accommodations, memberId);
+    }
+
+    public CursorSlice<Review> findReviews(Long id, String after, int size) {
+
+        validateSliceSize(size);
+
+        Slice<Review> reviews = dynamicReviewRepository.findByAccommodationId(id, ReviewCursor.decode(after), size);
+        List<Review> reviewList = reviews.getContent();
+
+        String nextCursor = null;
+
+        if (reviews.hasNext()) {
+            Review last = reviewList.get(reviewList.size() - 1);
+            nextCursor = ReviewCursor.of(last.getCreatedDate(), last.getId()).encode();
+        }
+
+        return new CursorSlice<>(reviewList, reviews.getSize(), reviews.hasNext(), nextCursor);
     }
 
     public List<Integer> findPricesBySearch(String searchKeyword, Float minLatitude, Float maxLatitude, Float minLongitude, Float maxLongitude,
@@ -100,29 +187,45 @@ public class AccommodationService {
 
         checkIn = validateCheckInCheckout(checkIn, checkout);
 
-        return dynamicAccRepository.findPricesBySearch(searchKeyword, minLatitude, maxLatitude, minLongitude, maxLongitude, checkIn, checkout, guestNum, types);
+        int[] prices = dynamicAccRepository.findPricesBySearch(searchKeyword, minLatitude, maxLatitude, minLongitude, maxLongitude, checkIn, checkout, guestNum, types);
+        List<Integer> priceList = new ArrayList<>(prices.length);
+
+        for (int price : prices) {
+            priceList.add(price);
+        }
+
+        return priceList;
     }
 
-    private AccommodationDto setListObjects(AccommodationDto acc) {
+    public PriceHistogramDto findPriceHistogram(String searchKeyword, Float minLatitude, Float maxLatitude, Float minLongitude, Float maxLongitude,
+                                                LocalDate checkIn, LocalDate checkout, int guestNum, String types, int buckets) {
 
-        acc.setAccommodationPictures(accommodationPictureRepository.findByAccommodationId(acc.getId()));
-        acc.setBookedDateDtos(dynamicBookedDateRepository.findByAccommodationId(acc.getId()));
-        acc.setReviews(reviewRepository.findReviewsByAccommodationId(acc.getId()));
+        if (buckets < 1 || buckets > MAX_PRICE_BUCKETS) {
+            throw new InputNotValidException("Bucket count must be between 1 and " + MAX_PRICE_BUCKETS);
+        }
 
-        return acc;
+        checkIn = validateCheckInCheckout(checkIn, checkout);
+
+        int[] prices = dynamicAccRepository.findPricesBySearch(searchKeyword, minLatitude, maxLatitude, minLongitude, maxLongitude, checkIn, checkout, guestNum, types);
+
+        return PriceHistogramDto.of(prices, buckets, PRICE_CAP);
     }
 
-    private Long parseTokenToMemberId(String token) {
-        Long memberId = null;
+    private AccommodationDto findAccommodationDetail(Long id) {
+        AccommodationDto accommodationDto = dynamicAccRepository.findById(null, id);
 
-        if (token != null) {
-            Member member = memberRepository.findById(tokenProvider.parseTokenToGetMemberId(token))
-                    .orElseThrow(() -> new DataNotFoundException("Member Not Found"));
+        return accommodationDto == null ? null : setListObjects(accommodationDto);
+    }
 
-            memberId = member.getId();
-        }
+    private AccommodationDto setListObjects(AccommodationDto acc) {
+
+        acc.setAccommodationPictures(accommodationPictureRepository.findByAccommodationId(acc.getId()));
+        acc.setBookedDateDtos(dynamicBookedDateRepository.findByAccommodationId(acc.getId()));
+        acc.setReviews(dynamicReviewRepository.findByAccommodationId(acc.getId(), null, DETAIL_REVIEW_SIZE).getContent());
+        acc.setReviewSummary(reviewSummaryRepository.findById(acc.getId())
+                .orElseGet(() -> dynamicReviewRepository.summarize(acc.getId())));
 
-        return memberId;
+        return acc;
     }
 
     private LocalDate validateCheckInCheckout(LocalDate checkIn, LocalDate checkout) {
@@ -146,54 +249,65 @@ public class AccommodationService {
         return checkIn;
     }
 
-    private Page<SearchAccommodationDto> mapToSearchAccommodationDtos(Page<Accommodation> accommodations, Pageable page) {
-        List<Accommodation> accommodationList = accommodations.toList();
-        List<SearchAccommodationDto> searchAccommodationDtos = new ArrayList<>();
+    private void validateSliceSize(int size) {
 
-        for (int i = 0; i < accommodationList.size(); i++) {
-            searchAccommodationDtos.add(mapToSearchAccommodationDto(accommodationList.get(i)));
+        if (size < 1 || size > MAX_SLICE_SIZE) {
+            throw new InputNotValidException("Size must be between 1 and " + MAX_SLICE_SIZE);
         }
+    }
+
+    private Page<SearchAccommodationDto> mapToSearchAccommodationDtos(Page<Accommodation> accommodations, Long memberId, Pageable page) {
 
-        return new PageImpl<>(searchAccommodationDtos, page, accommodations.getTotalPages());
+        return new PageImpl<>(mapToSearchAccommodationDtos(accommodations.getContent(), memberId), page, accommodations.getTotalElements());
     }
 
-    private Page<SearchAccommodationDto> mapToSearchAccommodationDtos(Page<Accommodation> accommodations, List<IsBookmarkDto> isBookmarkDtos, Pageable page) {
-        List<Accommodation> accommodationList = accommodations.toList();
+    // 날이 바뀌어 정렬 순서가 달라지면 같은 커서로 이어 읽을 때 숙소가 빠지거나 겹치므로 처음부터 다시 읽게 한다
+    private SearchCursor decodeCursor(String after) {
+        SearchCursor cursor = SearchCursor.decode(after);
+
+        if (cursor != null && !cursor.getVersion().equals(dailyOrdering.current().version())) {
+            throw new InputNotValidException("Cursor Expired");
+        }
+
+        return cursor;
+    }
+
+    private CursorSlice<SearchAccommodationDto> mapToSearchAccommodationSlice(Slice<Accommodation> accommodations, Long memberId) {
+        List<Accommodation> accommodationList = accommodations.getContent();
+        List<SearchAccommodationDto> searchAccommodationDtos = mapToSearchAccommodationDtos(accommodationList, memberId);
+
+        String nextCursor = null;
+
+        if (accommodations.hasNext()) {
+            Accommodation last = accommodationList.get(accommodationList.size() - 1);
+            OrderingSnapshot ordering = dailyOrdering.current();
+            nextCursor = SearchCursor.of(ordering.sortKey(last.getId()), last.getId(), ordering.version()).encode();
+        }
+
+        return new CursorSlice<>(searchAccommodationDtos, accommodations.getSize(), accommodations.hasNext(), nextCursor);
+    }
+
+    private List<SearchAccommodationDto> mapToSearchAccommodationDtos(List<Accommodation> accommodations, Long memberId) {
+        Set<Long> bookmarkedIds = findBookmarkedIds(memberId, accommodations);
         List<SearchAccommodationDto> searchAccommodationDtos = new ArrayList<>();
 
-        for (int i = 0; i < accommodationList.size(); i++) {
-            searchAccommodationDtos.add(mapToSearchAccommodationDto(accommodationList.get(i), isBookmarkDtos.get(i)));
+        for (Accommodation accommodation : accommodations) {
+            searchAccommodationDtos.add(mapToSearchAccommodationDto(accommodation, bookmarkedIds.contains(accommodation.getId())));
         }
 
-        return new PageImpl<>(searchAccommodationDtos, page, accommodations.getTotalPages());
+        return searchAccommodationDtos;
     }
 
-    private SearchAccommodationDto mapToSearchAccommodationDto(Accommodation accommodation) {
-        return SearchAccommodationDto.builder()
-                .accommodationType(accommodation.getAccommodationType())
-                .accommodationPictures(accommodation.getAccommodationPictures())
-                .address(accommodation.getAddress())
-                .bathroomNum(accommodation.getBathroomNum())
-                .bedNum(accommodation.getBedNum())
-                .bedroomNum(accommodation.getBedroomNum())
-                .buildingType(accommodation.getBuildingType())
-                .capacity(accommodation.getCapacity())
-                .city(accommodation.getCity())
-                .gu(accommodation.getGu())
-                .contact(accommodation.getContact())
-                .hostName(accommodation.getHostName())
-                .latitude(accommodation.getLatitude())
-                .longitude(accommodation.getLongitude())
-                .id(accommodation.getId())
-                .price(accommodation.getPrice())
-                .rating(accommodation.getRating())
-                .reviewNum(accommodation.getReviewNum())
-                .title(accommodation.getTitle())
-                .isBookmarked(false)
-                .build();
+    private Set<Long> findBookmarkedIds(Long memberId, List<Accommodation> accommodations) {
+
+        if (memberId == null || accommodations.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        return bookmarkCache.get(memberId);
     }
 
-    private SearchAccommodationDto mapToSearchAccommodationDto(Accommodation accommodation, IsBookmarkDto isBookmarkDto) {
+    static SearchAccommodationDto mapToSearchAccommodationDto(Accommodation accommodation, boolean isBookmarked) {
         return SearchAccommodationDto.builder()
                 .accommodationType(accommodation.getAccommodationType())
                 .accommodationPictures(accommodation.getAccommodationPictures())
@@ -214,7 +328,7 @@ public class AccommodationService {
                 .rating(accommodation.getRating())
                 .reviewNum(accommodation.getReviewNum())
                 .title(accommodation.getTitle())
-                .isBookmarked(isBookmarkDto.isBookmarked())
+                .isBookmarked(isBookmarked)
                 .build();
     }
 }
\ No newline at end of file
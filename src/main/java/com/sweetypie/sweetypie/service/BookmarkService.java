@@ -1,19 +1,18 @@
 package com.sweetypie.sweetypie.service;
 
+import com.sweetypie.sweetypie.cache.BookmarkCache;
 import com.sweetypie.sweetypie.dto.BookmarkDto;
 import com.sweetypie.sweetypie.dto.BookmarkListDto;
 import com.sweetypie.sweetypie.exception.DataNotFoundException;
 import com.sweetypie.sweetypie.exception.DuplicateValueExeption;
-import com.sweetypie.sweetypie.model.Accommodation;
 import com.sweetypie.sweetypie.model.Bookmark;
-import com.sweetypie.sweetypie.model.Member;
-import com.sweetypie.sweetypie.repository.AccommodationPictureRepository;
 import com.sweetypie.sweetypie.repository.AccommodationRepository;
 import com.sweetypie.sweetypie.repository.BookmarkRepository;
 import com.sweetypie.sweetypie.repository.MemberRepository;
 import com.sweetypie.sweetypie.repository.dynamic.DynamicBookmarkRepository;
-import com.sweetypie.sweetypie.security.jwt.TokenProvider;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,47 +29,56 @@ public class BookmarkService {
 
     private final AccommodationRepository accommodationRepository;
 
-    private final AccommodationPictureRepository accPictureRepository;
-
     private final DynamicBookmarkRepository dynamicBookmarkRepository;
 
-    private final TokenProvider tokenProvider;
-
-    public List<BookmarkListDto> findBookmarksByToken(String token) {
+    private final BookmarkCache bookmarkCache;
 
-        List<BookmarkListDto> bookmarks = dynamicBookmarkRepository.findByMemberId(tokenProvider.parseTokenToGetMemberId(token));
-
-        for (BookmarkListDto bookmark : bookmarks) {
-            bookmark.setAccommodationPicture(accPictureRepository.findFirstByAccommodationId(bookmark.getAccommodationId()));
-        }
+    public List<BookmarkListDto> findBookmarksByToken(Long memberId) {
 
-        return bookmarks;
+        return dynamicBookmarkRepository.findByMemberId(memberId);
     }
 
-    public void postBookmark(String token, BookmarkDto bookmarkDto) {
-        Member member = memberRepository.findById(tokenProvider.parseTokenToGetMemberId(token))
-                .orElseThrow(() -> new DataNotFoundException("Member Not Found"));
+    // 회원은 토큰에서 확인되었고 숙소는 외래 키로 확인되므로 둘 다 조회하지 않고 참조만 만든다
+    public void postBookmark(Long memberId, BookmarkDto bookmarkDto) {
 
-        Accommodation accommodation = accommodationRepository.findById(bookmarkDto.getAccommodationId())
-                .orElseThrow(() -> new DataNotFoundException("Accommodation Not Found"));
-
-        if (bookmarkRepository.findBookmarkByMemberIdAndAccommodationId(member.getId(),
-                bookmarkDto.getAccommodationId()).isPresent()) {
+        if (bookmarkCache.contains(memberId, bookmarkDto.getAccommodationId())) {
             throw new DuplicateValueExeption("Already Have a Bookmark");
         }
 
         Bookmark bookmark = new Bookmark();
-        bookmark.setMember(member);
-        bookmark.setAccommodation(accommodation);
+        bookmark.setMember(memberRepository.getOne(memberId));
+        bookmark.setAccommodation(accommodationRepository.getOne(bookmarkDto.getAccommodationId()));
+
+        try {
+            bookmarkRepository.save(bookmark);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateBookmark(e)) {
+                throw new DuplicateValueExeption("Already Have a Bookmark");
+            }
 
-        bookmarkRepository.save(bookmark);
+            throw new DataNotFoundException("Accommodation Not Found");
+        }
+
+        bookmarkCache.evict(memberId);
     }
 
-    public void deleteBookmark(String token, long accommodationId) {
+    public void deleteBookmark(Long memberId, long accommodationId) {
 
-        Bookmark bookmark = bookmarkRepository.findBookmarkByMemberIdAndAccommodationId(tokenProvider.parseTokenToGetMemberId(token), accommodationId)
+        Bookmark bookmark = bookmarkRepository.findBookmarkByMemberIdAndAccommodationId(memberId, accommodationId)
                 .orElseThrow(() -> new DataNotFoundException("Bookmark Not Found"));
 
         bookmarkRepository.delete(bookmark);
+        bookmarkCache.evict(memberId);
+    }
+
+    // 캐시가 늦어 중복 확인을 통과해도 유니크 키가 막는다. 외래 키 위반은 없는 숙소다
+    private boolean isDuplicateBookmark(DataIntegrityViolationException e) {
+        if (!(e.getCause() instanceof ConstraintViolationException)) {
+            return false;
+        }
+
+        String constraintName = ((ConstraintViolationException) e.getCause()).getConstraintName();
+
+        return constraintName != null && constraintName.toLowerCase().contains(Bookmark.UNIQUE_MEMBER_ACCOMMODATION);
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.sweetypie.sweetypie.service;
+
+import com.sweetypie.sweetypie.cache.LocationSuggestCache;
+import com.sweetypie.sweetypie.dto.LocationSuggestDto;
+import com.sweetypie.sweetypie.exception.InputNotValidException;
+import com.sweetypie.sweetypie.index.AccommodationCatalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class LocationService {
+
+    private static final int MAX_SUGGEST_SIZE = 20;
+
+    // 가장 긴 지역 이름보다 충분히 길다. 이보다 긴 접두어는 트라이를 볼 필요 없이 추천이 없다
+    private static final int MAX_PREFIX_LENGTH = 20;
+
+    private final AccommodationCatalog accommodationCatalog;
+
+    private final LocationSuggestCache locationSuggestCache;
+
+    // DB 를 읽지 않고 카탈로그의 지역 트라이로만 답한다. 띄어쓰기가 있으면 마지막 단어를 입력 중인 것으로 본다
+    public List<LocationSuggestDto> suggest(String query, int size) {
+
+        if (size < 1 || size > MAX_SUGGEST_SIZE) {
+            throw new InputNotValidException("Size must be between 1 and " + MAX_SUGGEST_SIZE);
+        }
+
+        String prefix = normalize(query);
+
+        if (prefix.isEmpty() || prefix.length() > MAX_PREFIX_LENGTH || !accommodationCatalog.isLoaded()) {
+            return Collections.emptyList();
+        }
+
+        return locationSuggestCache.get(prefix + "|" + size, () -> accommodationCatalog.suggestLocations(prefix, size));
+    }
+
+    // 마지막 단어에서 지역 이름에 쓰이지 않는 문자를 뺀다
+    private String normalize(String query) {
+        String trimmed = query == null ? "" : query.trim();
+        String word = trimmed.substring(trimmed.lastIndexOf(' ') + 1);
+        StringBuilder prefix = new StringBuilder(Math.min(word.length(), MAX_PREFIX_LENGTH + 1));
+
+        for (int i = 0; i < word.length() && prefix.length() <= MAX_PREFIX_LENGTH; i++) {
+            char c = word.charAt(i);
+
+            if (Character.isLetterOrDigit(c)) {
+                prefix.append(c);
+            }
+        }
+
+        return prefix.toString();
+    }
+}
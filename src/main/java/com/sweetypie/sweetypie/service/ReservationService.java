@@ -1,26 +1,30 @@
 package com.sweetypie.sweetypie.service;
 
+import com.sweetypie.sweetypie.cache.AccommodationDetailCache;
+import com.sweetypie.sweetypie.cache.SearchResultCache;
+import com.sweetypie.sweetypie.dto.CursorSlice;
 import com.sweetypie.sweetypie.dto.ReservationDto;
 import com.sweetypie.sweetypie.exception.DataNotFoundException;
 import com.sweetypie.sweetypie.exception.DuplicateValueExeption;
 import com.sweetypie.sweetypie.exception.InputNotValidException;
+import com.sweetypie.sweetypie.index.AvailabilityIndex;
+import com.sweetypie.sweetypie.lock.AccommodationLocks;
 import com.sweetypie.sweetypie.model.Accommodation;
-import com.sweetypie.sweetypie.model.BookedDate;
 import com.sweetypie.sweetypie.model.Member;
 import com.sweetypie.sweetypie.model.Reservation;
 import com.sweetypie.sweetypie.repository.AccommodationRepository;
-import com.sweetypie.sweetypie.repository.BookedDateRepository;
 import com.sweetypie.sweetypie.repository.MemberRepository;
 import com.sweetypie.sweetypie.repository.ReservationRepository;
 import com.sweetypie.sweetypie.repository.dynamic.DynamicReservationRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -28,16 +32,38 @@ import java.util.List;
 @Transactional
 public class ReservationService {
 
+    private static final int MAX_SLICE_SIZE = 100;
+
     private final DynamicReservationRepository dynamicReservationRepository;
     private final ReservationRepository reservationRepository;
     private final MemberRepository memberRepository;
     private final AccommodationRepository accommodationRepository;
-    private final BookedDateRepository bookedDateRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final SearchResultCache searchResultCache;
+    private final AccommodationDetailCache accommodationDetailCache;
+    private final AccommodationLocks accommodationLocks;
 
     public List<ReservationDto> getReservations(Long memberId) {
-        List<Reservation> reservations = reservationRepository.findReservationByMemberId(memberId);
 
-        return makeReservationDtoList(reservations);
+        return dynamicReservationRepository.findByMemberId(memberId);
+    }
+
+    public CursorSlice<ReservationDto> getReservations(Long memberId, String after, int size) {
+
+        if (size < 1 || size > MAX_SLICE_SIZE) {
+            throw new InputNotValidException("Size must be between 1 and " + MAX_SLICE_SIZE);
+        }
+
+        Slice<ReservationDto> reservations = dynamicReservationRepository.findByMemberId(memberId, decodeCursor(after), size);
+        List<ReservationDto> reservationList = reservations.getContent();
+
+        String nextCursor = null;
+
+        if (reservations.hasNext()) {
+            nextCursor = String.valueOf(reservationList.get(reservationList.size() - 1).getReservationId());
+        }
+
+        return new CursorSlice<>(reservationList, reservations.getSize(), reservations.hasNext(), nextCursor);
     }
 
     public Reservation makeAReservation(Long memberId, ReservationDto reservationDto) throws RuntimeException {
@@ -46,15 +72,32 @@ public class ReservationService {
 
         Member member = memberRepository.findById(memberId).orElseThrow(() -> new DataNotFoundException("등록된 회원 정보를 찾을 수 없습니다."));
 
-        Accommodation accommodation = accommodationRepository.findById(reservationDto.getAccommodationId()).orElseThrow(() -> new DataNotFoundException("등록된 숙박 정보를 찾을 수 없습니다."));
+        rejectIfKnownToBeBooked(reservationDto);
+
+        accommodationLocks.lockUntilCompletion(reservationDto.getAccommodationId());
+
+        Accommodation accommodation = accommodationRepository.findByIdForUpdate(reservationDto.getAccommodationId()).orElseThrow(() -> new DataNotFoundException("등록된 숙박 정보를 찾을 수 없습니다."));
 
         checkCapacity(reservationDto, accommodation);
 
         checkTotalPrice(reservationDto, accommodation.getPrice());
 
-        List<BookedDate> bookedDates = dynamicReservationRepository.findByAccommodationIdAndDate(accommodation.getId(), reservationDto.getCheckInDate(), reservationDto.getCheckoutDate());
+        checkDuplicateReservationDate(accommodation.getId(), reservationDto, null);
+
+        Reservation reservation = new Reservation();
+        setReservation(reservation, reservationDto);
+        reservation.setMember(member);
+        reservation.setAccommodation(accommodation);
+        reservation.setPaymentDate(LocalDate.now());
+        reservation.setReservationCode(setReservationCode(accommodation.getId(), member.getId()));
+
+        Reservation savedReservation = reservationRepository.save(reservation);
+
+        availabilityIndex.book(accommodation.getId(), savedReservation.getId(), reservationDto.getCheckInDate(), reservationDto.getCheckoutDate());
+        searchResultCache.book(accommodation.getId(), savedReservation.getId(), reservationDto.getCheckInDate(), reservationDto.getCheckoutDate());
+        accommodationDetailCache.evict(accommodation.getId());
 
-        return checkDuplicateReservationDate(bookedDates, reservationDto, member, accommodation);
+        return savedReservation;
     }
 
     public Reservation updateReservation(Long reservationId, Long memberId, ReservationDto reservationDto) {
@@ -67,16 +110,27 @@ public class ReservationService {
             throw new InputNotValidException("요청한 회원정보와 예약된 회원정보가 일치하지 않습니다.");
         }
 
-        checkCapacity(reservationDto, reservation.getAccommodation());
+        Accommodation accommodation = reservation.getAccommodation();
+
+        checkCapacity(reservationDto, accommodation);
+
+        checkTotalPrice(reservationDto, accommodation.getPrice());
+
+        accommodationLocks.lockUntilCompletion(accommodation.getId());
+        accommodationRepository.findByIdForUpdate(accommodation.getId());
 
-        checkTotalPrice(reservationDto, reservation.getAccommodation().getPrice());
+        checkDuplicateReservationDate(accommodation.getId(), reservationDto, reservationId);
 
-        bookedDateRepository.deleteBookedDateByReservationId(reservationId);
+        availabilityIndex.release(accommodation.getId(), reservationId, reservation.getCheckInDate(), reservation.getCheckoutDate());
+        searchResultCache.release(accommodation.getId(), reservationId, reservation.getCheckInDate(), reservation.getCheckoutDate());
 
-        List<BookedDate> duplicateBookedDate = dynamicReservationRepository.findByAccommodationIdAndDate(reservation.getAccommodation().getId(), reservationDto.getCheckInDate(), reservationDto.getCheckoutDate());
+        setReservation(reservation, reservationDto);
 
-        return updateCheckDuplicateBookedDate(duplicateBookedDate, reservation, reservationDto);
+        availabilityIndex.book(accommodation.getId(), reservationId, reservationDto.getCheckInDate(), reservationDto.getCheckoutDate());
+        searchResultCache.book(accommodation.getId(), reservationId, reservationDto.getCheckInDate(), reservationDto.getCheckoutDate());
+        accommodationDetailCache.evict(accommodation.getId());
 
+        return reservationRepository.save(reservation);
     }
 
     public void deleteReservation(Long reservationId, Long memberId) {
@@ -87,7 +141,22 @@ public class ReservationService {
             throw new InputNotValidException("요청한 회원정보와 예약된 회원정보가 일치하지 않습니다.");
         }
 
-        reservationRepository.deleteById(reservationId);
+        reservationRepository.delete(reservation);
+        availabilityIndex.release(reservation.getAccommodation().getId(), reservationId, reservation.getCheckInDate(), reservation.getCheckoutDate());
+        searchResultCache.release(reservation.getAccommodation().getId(), reservationId, reservation.getCheckInDate(), reservation.getCheckoutDate());
+        accommodationDetailCache.evict(reservation.getAccommodation().getId());
+    }
+
+    private Long decodeCursor(String after) {
+        if (!StringUtils.hasText(after)) {
+            return null;
+        }
+
+        try {
+            return Long.parseLong(after);
+        } catch (NumberFormatException e) {
+            throw new InputNotValidException("Cursor Not Valid");
+        }
     }
 
     private void checkCapacity(ReservationDto reservationDto, Accommodation accommodation){
@@ -103,83 +172,28 @@ public class ReservationService {
         }
     }
 
-    private List<ReservationDto> makeReservationDtoList(List<Reservation> reservations) {
-        List<ReservationDto> reservationDtoList = new ArrayList<>();
-
-        for (Reservation reservation : reservations) {
-            ReservationDto reservationDto = new ReservationDto();
-            reservationDto.setAccommodationId(reservation.getAccommodation().getId());
-            reservationDto.setReservationId(reservation.getId());
-            reservationDto.setCheckInDate(reservation.getCheckInDate());
-            reservationDto.setCheckoutDate(reservation.getCheckoutDate());
-            reservationDto.setIsWrittenReview(reservation.isWrittenReview());
-            reservationDto.setTotalGuestNum(reservation.getTotalGuestNum());
-            reservationDto.setAdultNum(reservation.getAdultNum());
-            reservationDto.setChildNum(reservation.getChildNum());
-            reservationDto.setInfantNum(reservation.getInfantNum());
-            reservationDto.setCity(reservation.getAccommodation().getCity());
-            reservationDto.setGu(reservation.getAccommodation().getGu());
-            reservationDto.setTitle(reservation.getAccommodation().getTitle());
-            reservationDto.setHostName(reservation.getAccommodation().getHostName());
-            reservationDto.setBathroomNum(reservation.getAccommodation().getBathroomNum());
-            reservationDto.setBedNum(reservation.getAccommodation().getBedNum());
-            reservationDto.setBedroomNum(reservation.getAccommodation().getBedroomNum());
-            reservationDto.setRatingAvg(reservation.getAccommodation().getRating());
-            reservationDto.setReviewNum(reservation.getAccommodation().getReviewNum());
-            reservationDto.setPricePerDay(reservation.getAccommodation().getPrice());
-            reservationDto.setTotalPrice(reservation.getTotalPrice());
-            reservationDto.setAccommodationPicture(reservation.getAccommodation().getAccommodationPictures().get(0));
-            reservationDtoList.add(reservationDto);
-        }
-        return reservationDtoList;
-    }
-
-    private Reservation updateCheckDuplicateBookedDate(List<BookedDate> duplicateBookedDate, Reservation reservation, ReservationDto reservationDto) {
-        if (duplicateBookedDate.isEmpty()) {
+    // 이 인스턴스가 아는 예약과 겹치면 잠금을 잡기 전에 DB 로 한 번 확인하고, 실제로는 비어 있으면 인덱스를 다시 읽는다
+    private void rejectIfKnownToBeBooked(ReservationDto reservationDto) {
+        Long accommodationId = reservationDto.getAccommodationId();
 
-            setReservation(reservation, reservationDto);
-
-            for (LocalDate date = reservationDto.getCheckInDate(); date.isBefore(reservationDto.getCheckoutDate()); date = date.plusDays(1)) {
-                setBookedDate(date, reservation.getAccommodation(), reservation);
+        if (availabilityIndex.isBooked(accommodationId, reservationDto.getCheckInDate(), reservationDto.getCheckoutDate())) {
+            if (dynamicReservationRepository.existsOverlapping(accommodationId, reservationDto.getCheckInDate(), reservationDto.getCheckoutDate(), null)) {
+                throw new DuplicateValueExeption("이미 예약된 날짜입니다.");
             }
-            return reservationRepository.save(reservation);
-
-        } else {
 
-            throw new DuplicateValueExeption("이미 예약된 날짜입니다.");
+            availabilityIndex.reload(accommodationId);
         }
     }
 
-    private Reservation checkDuplicateReservationDate(List<BookedDate> bookedDates, ReservationDto reservationDto, Member member, Accommodation accommodation) {
-
-        if (bookedDates.isEmpty()) {
-            Reservation reservation = new Reservation();
-            setReservation(reservation, reservationDto);
-            reservation.setMember(member);
-            reservation.setAccommodation(accommodation);
-            reservation.setPaymentDate(LocalDate.now());
-            reservation.setReservationCode(setReservationCode(accommodation.getId(), member.getId()));
-
-            for (LocalDate date = reservationDto.getCheckInDate(); date.isBefore(reservationDto.getCheckoutDate()); date = date.plusDays(1)) {
-                setBookedDate(date, accommodation, reservation);
-            }
-
-            return reservationRepository.save(reservation);
+    // 숙소 행을 잠근 뒤에 확인하므로 다른 인스턴스가 같은 기간을 동시에 예약할 수 없다
+    private void checkDuplicateReservationDate(Long accommodationId, ReservationDto reservationDto, Long exceptReservationId) {
+        if (dynamicReservationRepository.existsOverlapping(accommodationId, reservationDto.getCheckInDate(), reservationDto.getCheckoutDate(), exceptReservationId)) {
+            availabilityIndex.reload(accommodationId);
 
-        } else {
             throw new DuplicateValueExeption("이미 예약된 날짜입니다.");
         }
     }
 
-    private void setBookedDate(LocalDate date, Accommodation accommodation, Reservation reservation) {
-
-        BookedDate bookedDate = new BookedDate();
-        bookedDate.setDate(date);
-        bookedDate.setAccommodation(accommodation);
-        bookedDate.setReservation(reservation);
-
-    }
-
     private String setReservationCode(Long accommodationId, Long memberId) {
 
         String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
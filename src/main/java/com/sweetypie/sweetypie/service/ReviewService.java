@@ -1,17 +1,18 @@
 package com.sweetypie.sweetypie.service;
 
+import com.sweetypie.sweetypie.cache.AccommodationDetailCache;
 import com.sweetypie.sweetypie.dto.ReviewDto;
 import com.sweetypie.sweetypie.exception.DataNotFoundException;
 import com.sweetypie.sweetypie.exception.DuplicateValueExeption;
 import com.sweetypie.sweetypie.exception.InputNotValidException;
 import com.sweetypie.sweetypie.model.Accommodation;
-import com.sweetypie.sweetypie.model.Member;
 import com.sweetypie.sweetypie.model.Reservation;
 import com.sweetypie.sweetypie.model.Review;
-import com.sweetypie.sweetypie.repository.MemberRepository;
+import com.sweetypie.sweetypie.model.ReviewSummary;
 import com.sweetypie.sweetypie.repository.ReservationRepository;
 import com.sweetypie.sweetypie.repository.ReviewRepository;
-import com.sweetypie.sweetypie.security.jwt.TokenProvider;
+import com.sweetypie.sweetypie.repository.ReviewSummaryRepository;
+import com.sweetypie.sweetypie.repository.dynamic.DynamicReviewRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,25 +26,26 @@ public class ReviewService {
 
     private final ReviewRepository reviewRepository;
 
-    private final ReservationRepository reservationRepository;
+    private final ReviewSummaryRepository reviewSummaryRepository;
+
+    private final DynamicReviewRepository dynamicReviewRepository;
 
-    private final MemberRepository memberRepository;
+    private final ReservationRepository reservationRepository;
 
-    private final TokenProvider tokenProvider;
+    private final AccommodationDetailCache accommodationDetailCache;
 
-    public Review findReviewByReservationId(String token, long reservationId) {
+    public Review findReviewByReservationId(Long memberId, long reservationId) {
         Review review = reviewRepository.findReviewByReservationId(reservationId)
                 .orElseThrow(() -> new DataNotFoundException("Review Not Found"));
 
-        if (!memberRepository.findById(tokenProvider.parseTokenToGetMemberId(token))
-                .orElseThrow(() -> new DataNotFoundException("Member Not Found")).equals(review.getMember())) {
+        if (!review.getMember().getId().equals(memberId)) {
             throw new InputNotValidException("토큰의 회원 정보와 리뷰 작성자가 일치하지 않습니다.");
         }
 
         return review;
     }
 
-    public void writeReview(String token, ReviewDto reviewDto) {
+    public void writeReview(Long memberId, ReviewDto reviewDto) {
 
         Reservation reservation = reservationRepository.findById(reviewDto.getReservationId())
                 .orElseThrow(() -> new DataNotFoundException("Reservation Not Found"));
@@ -66,10 +68,7 @@ public class ReviewService {
             throw new InputNotValidException("Accommodation Not Matched");
         }
 
-        Member member = memberRepository.findById(tokenProvider.parseTokenToGetMemberId(token))
-                .orElseThrow(() -> new DataNotFoundException("Member Not Found"));
-
-        if (!reservation.getMember().equals(member)) {
+        if (!reservation.getMember().getId().equals(memberId)) {
             throw new InputNotValidException("토큰의 회원 정보와 예약 회원이 일치하지 않습니다.");
         }
 
@@ -86,13 +85,18 @@ public class ReviewService {
         review.setRating(reviewDto.getRating());
         review.setContent(reviewDto.getContent());
         review.setAccommodation(accommodation);
-        review.setMember(member);
+        review.setMember(reservation.getMember());
         review.setReservation(reservation);
 
+        ReviewSummary reviewSummary = findReviewSummary(accommodation.getId());
+        reviewSummary.add(reviewDto.getRating());
+        reviewSummaryRepository.save(reviewSummary);
+
         reviewRepository.save(review);
+        accommodationDetailCache.evict(accommodation.getId());
     }
 
-    public void updateReview(String token, ReviewDto reviewDto) {
+    public void updateReview(Long memberId, ReviewDto reviewDto) {
         Review originReview = reviewRepository
                 .findReviewByReservationId(reviewDto.getReservationId())
                 .orElseThrow(() -> new DataNotFoundException("Review Not Found"));
@@ -109,11 +113,15 @@ public class ReviewService {
             throw new InputNotValidException("Accommodation Not Matched");
         }
 
-        if (!memberRepository.findById(tokenProvider.parseTokenToGetMemberId(token))
-                .orElseThrow(() -> new DataNotFoundException("Member Not Found")).equals(originReview.getMember())) {
+        if (!originReview.getMember().getId().equals(memberId)) {
             throw new InputNotValidException("토큰의 회원 정보와 리뷰 작성자가 일치하지 않습니다.");
         }
 
+        ReviewSummary reviewSummary = findReviewSummary(accommodation.getId());
+        reviewSummary.remove(originReview.getRating());
+        reviewSummary.add(reviewDto.getRating());
+        reviewSummaryRepository.save(reviewSummary);
+
         float originRating = accommodation.getRating();
         float newRating = originRating + (reviewDto.getRating() - originReview.getRating()) / accommodation.getReviewNum();
         accommodation.setRating(newRating);
@@ -122,9 +130,10 @@ public class ReviewService {
         originReview.setContent(reviewDto.getContent());
         originReview.setRating(reviewDto.getRating());
         originReview.setCreatedDate(LocalDate.now());
+        accommodationDetailCache.evict(accommodation.getId());
     }
 
-    public void deleteReview(String token, Long id) {
+    public void deleteReview(Long memberId, Long id) {
         Review review = reviewRepository.findById(id)
                 .orElseThrow(() -> new DataNotFoundException("Review Not Found"));
 
@@ -140,8 +149,7 @@ public class ReviewService {
             throw new DataNotFoundException("Accommodation Not Found");
         }
 
-        if (!memberRepository.findById(tokenProvider.parseTokenToGetMemberId(token))
-                .orElseThrow(() -> new DataNotFoundException("Member Not Found")).equals(review.getMember())) {
+        if (!review.getMember().getId().equals(memberId)) {
             throw new InputNotValidException("토큰의 회원 정보와 리뷰 작성자가 일치하지 않습니다.");
         }
 
@@ -150,6 +158,22 @@ public class ReviewService {
         accommodation.setReviewNum(accommodation.getReviewNum() - 1);
         accommodation.setHostReviewNum(accommodation.getHostReviewNum() - 1);
 
+        ReviewSummary reviewSummary = findReviewSummary(accommodation.getId());
+        reviewSummary.remove(review.getRating());
+        reviewSummaryRepository.save(reviewSummary);
+
         reviewRepository.deleteById(id);
+        accommodationDetailCache.evict(accommodation.getId());
+    }
+
+    // 요약 행이 없으면 기존 리뷰로 만든 뒤 잠그고 읽는다. 동시에 만든 행은 upsert 가 하나로 합친다
+    private ReviewSummary findReviewSummary(long accommodationId) {
+
+        if (!reviewSummaryRepository.existsById(accommodationId)) {
+            reviewSummaryRepository.insertIfAbsent(dynamicReviewRepository.summarize(accommodationId));
+        }
+
+        return reviewSummaryRepository.findForUpdateByAccommodationId(accommodationId)
+                .orElseThrow(() -> new DataNotFoundException("Review Summary Not Found"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+package com.sweetypie.sweetypie.support;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+
+import java.util.function.Supplier;
+
+/**
+ * Redis 를 보조 저장소로 쓰는 컴포넌트의 Redis 호출. 명령이 실패하면 retrySeconds 동안 Redis 를 부르지 않고 null 을 돌려주므로
+ * 호출하는 쪽은 Redis 가 없을 때와 같은 경로(로컬 캐시, DB)로 처리하면 된다.
+ */
+public class RedisFallback {
+
+    private final Logger logger = LoggerFactory.getLogger(RedisFallback.class);
+
+    private final String name;
+
+    private final long retrySeconds;
+
+    private volatile long retryAt;
+
+    public RedisFallback(String name, long retrySeconds) {
+        this.name = name;
+        this.retrySeconds = retrySeconds;
+    }
+
+    public <T> T get(Supplier<T> command) {
+
+        if (!isAvailable()) {
+            return null;
+        }
+
+        try {
+            return command.get();
+        } catch (DataAccessException e) {
+            retryAt = System.currentTimeMillis() + retrySeconds * 1000;
+            logger.warn("{} is running without Redis for {} seconds: {}", name, retrySeconds, e.getMessage());
+
+            return null;
+        }
+    }
+
+    public void run(Runnable command) {
+        get(() -> {
+            command.run();
+            return null;
+        });
+    }
+
+    public boolean isAvailable() {
+        return System.currentTimeMillis() >= retryAt;
+    }
+}
@@ -0,0 +1,66 @@
+-- 예약된 날짜를 밤마다 한 행씩 두지 않고 reservation 의 (check_in_date, checkout_date) 기간으로만 관리한다
+-- booked_date 를 읽던 쿼리와 리포트는 아래 호환 view 로 같은 모양의 결과를 받는다 (MySQL 8.0 이상)
+
+-- 같은 숙소에서 기간이 겹치는 예약이 있으면 먼저 확인하고 정리한다
+select a.accommodation_id, a.id, b.id
+from reservation a
+         join reservation b
+              on a.accommodation_id = b.accommodation_id
+                  and a.id < b.id
+                  and a.check_in_date < b.checkout_date
+                  and b.check_in_date < a.checkout_date;
+
+-- booked_date 에만 있고 예약 기간과 맞지 않는 날짜가 있는지 확인한다
+select d.id, d.accommodation_id, d.reservation_id, d.date
+from booked_date d
+         left join reservation r
+                   on r.id = d.reservation_id
+                       and d.date >= r.check_in_date
+                       and d.date < r.checkout_date
+where r.id is null;
+
+create index idx_reservation_accommodation_stay on reservation (accommodation_id, check_in_date, checkout_date);
+
+-- 바로 지우지 않고 이름만 바꿔 둔다. 아래 view 를 검증하기 전까지 되돌릴 수 있도록 남기고(booked_range_rollback.sql),
+-- 이전 id 로 조회하는 /api/bookDate/{id} 도 이 테이블을 읽는다
+rename table booked_date to booked_date_legacy;
+
+-- 남겨 둔 테이블이 예약 삭제를 막지 않도록 외래 키를 지운다
+select concat('alter table booked_date_legacy ', group_concat(concat('drop foreign key ', constraint_name) separator ', '))
+into @drop_foreign_keys
+from information_schema.referential_constraints
+where constraint_schema = database()
+  and table_name = 'booked_date_legacy';
+
+prepare drop_foreign_keys from @drop_foreign_keys;
+execute drop_foreign_keys;
+deallocate prepare drop_foreign_keys;
+
+create view booked_date (date, accommodation_id, reservation_id) as
+with recursive night (date, accommodation_id, reservation_id, checkout_date) as (
+    select check_in_date, accommodation_id, id, checkout_date
+    from reservation
+    where check_in_date < checkout_date
+    union all
+    select date + interval 1 day, accommodation_id, reservation_id, checkout_date
+    from night
+    where date + interval 1 day < checkout_date
+)
+select date, accommodation_id, reservation_id
+from night;
+
+-- view 검증: 전환 직후 두 쿼리 모두 결과가 없어야 한다. 확인이 끝나고 /api/bookDate/{id} 를 더 쓰지 않게 되면
+-- drop table booked_date_legacy; 로 정리한다
+select l.id, l.accommodation_id, l.reservation_id, l.date
+from booked_date_legacy l
+         left join booked_date v
+                   on v.reservation_id = l.reservation_id
+                       and v.date = l.date
+where v.reservation_id is null;
+
+select v.accommodation_id, v.reservation_id, v.date
+from booked_date v
+         left join booked_date_legacy l
+                   on l.reservation_id = v.reservation_id
+                       and l.date = v.date
+where l.id is null;
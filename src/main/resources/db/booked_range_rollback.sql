@@ -0,0 +1,28 @@
+-- booked_range.sql 을 되돌린다. booked_date_legacy 를 지운 뒤에는 쓸 수 없다
+-- 밤마다 booked_date 를 쓰던 이전 버전의 애플리케이션과 함께 배포해야 한다
+
+-- 전환 뒤에 취소되거나 기간이 바뀐 예약의 밤을 지운다
+delete l
+from booked_date_legacy l
+         left join reservation r
+                   on r.id = l.reservation_id
+                       and l.date >= r.check_in_date
+                       and l.date < r.checkout_date
+where r.id is null;
+
+-- 전환 뒤에 생긴 예약의 밤을 view 에서 채운다
+insert into booked_date_legacy (date, accommodation_id, reservation_id)
+select v.date, v.accommodation_id, v.reservation_id
+from booked_date v
+         left join booked_date_legacy l
+                   on l.reservation_id = v.reservation_id
+                       and l.date = v.date
+where l.id is null;
+
+drop view booked_date;
+
+rename table booked_date_legacy to booked_date;
+
+alter table booked_date
+    add constraint fk_booked_date_accommodation foreign key (accommodation_id) references accommodation (id),
+    add constraint fk_booked_date_reservation foreign key (reservation_id) references reservation (id);
@@ -0,0 +1,10 @@
+-- 같은 회원/숙소의 북마크가 여러 행이면 가장 먼저 만든 행만 남긴다
+delete b
+from bookmark b
+         join bookmark kept
+              on kept.member_id = b.member_id
+                  and kept.accommodation_id = b.accommodation_id
+                  and kept.id < b.id;
+
+alter table bookmark
+    add constraint uk_bookmark_member_accommodation unique (member_id, accommodation_id);
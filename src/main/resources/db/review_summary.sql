@@ -0,0 +1,28 @@
+create table review_summary
+(
+    accommodation_id bigint not null primary key,
+    review_count     int    not null default 0,
+    rating_sum       double not null default 0,
+    one_star_count   int    not null default 0,
+    two_star_count   int    not null default 0,
+    three_star_count int    not null default 0,
+    four_star_count  int    not null default 0,
+    five_star_count  int    not null default 0
+);
+
+-- 별점 구간은 ReviewSummary.addStar 와 같이 floor(rating + 0.5) 로 나눈다. float 에 round() 를 쓰면 .5 가 짝수 쪽으로 반올림될 수 있다
+insert into review_summary (accommodation_id, review_count, rating_sum, one_star_count, two_star_count,
+                            three_star_count, four_star_count, five_star_count)
+select accommodation_id,
+       count(*),
+       sum(rating),
+       sum(case when floor(rating + 0.5) <= 1 then 1 else 0 end),
+       sum(case when floor(rating + 0.5) = 2 then 1 else 0 end),
+       sum(case when floor(rating + 0.5) = 3 then 1 else 0 end),
+       sum(case when floor(rating + 0.5) = 4 then 1 else 0 end),
+       sum(case when floor(rating + 0.5) >= 5 then 1 else 0 end)
+from review
+where accommodation_id is not null
+group by accommodation_id;
+
+create index idx_review_accommodation_created on review (accommodation_id, created_date, id);
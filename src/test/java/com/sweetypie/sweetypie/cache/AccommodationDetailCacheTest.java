@@ -0,0 +1,80 @@
+package com.sweetypie.sweetypie.cache;
+
+import com.sweetypie.sweetypie.dto.AccommodationDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AccommodationDetailCacheTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AccommodationDetailCache accommodationDetailCache;
+
+    @BeforeEach
+    void setUp() {
+        accommodationDetailCache = new AccommodationDetailCache(redisTemplate, meterRegistry);
+        ReflectionTestUtils.setField(accommodationDetailCache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(accommodationDetailCache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(accommodationDetailCache, "redisRetrySeconds", 30L);
+        accommodationDetailCache.afterPropertiesSet();
+    }
+
+    @DisplayName("숙소 상세 캐시 조회와 삭제, 적중률 기록")
+    @Test
+    void getAndEvict() {
+        AtomicInteger loads = new AtomicInteger();
+
+        accommodationDetailCache.get(1L, id -> load(id, loads));
+        accommodationDetailCache.get(1L, id -> load(id, loads));
+        accommodationDetailCache.evict(1L);
+        accommodationDetailCache.get(1L, id -> load(id, loads));
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "accommodation.detail").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "accommodation.detail").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    @DisplayName("삭제를 다른 인스턴스에 알리고, 받은 알림으로 로컬 캐시를 삭제")
+    @Test
+    void evictAcrossInstances() {
+        AtomicInteger loads = new AtomicInteger();
+
+        accommodationDetailCache.evict(1L);
+        verify(redisTemplate).convertAndSend(AccommodationDetailCache.CHANNEL, "1");
+
+        accommodationDetailCache.get(2L, id -> load(id, loads));
+        accommodationDetailCache.onMessage(new DefaultMessage(AccommodationDetailCache.CHANNEL.getBytes(), "2".getBytes()), null);
+        accommodationDetailCache.get(2L, id -> load(id, loads));
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private AccommodationDto load(Long id, AtomicInteger loads) {
+        loads.incrementAndGet();
+
+        AccommodationDto accommodationDto = new AccommodationDto();
+        accommodationDto.setId(id);
+
+        return accommodationDto;
+    }
+}
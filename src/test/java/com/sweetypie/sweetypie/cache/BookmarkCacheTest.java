@@ -0,0 +1,93 @@
+package com.sweetypie.sweetypie.cache;
+
+import com.sweetypie.sweetypie.repository.dynamic.DynamicBookmarkRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookmarkCacheTest {
+
+    @Mock
+    private DynamicBookmarkRepository dynamicBookmarkRepository;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private BookmarkCache bookmarkCache;
+
+    @BeforeEach
+    void setUp() {
+        bookmarkCache = new BookmarkCache(dynamicBookmarkRepository, redisTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(bookmarkCache, "ttlSeconds", 600L);
+        ReflectionTestUtils.setField(bookmarkCache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(bookmarkCache, "redisRetrySeconds", 30L);
+        bookmarkCache.afterPropertiesSet();
+    }
+
+    @DisplayName("Redis 에 있는 북마크 집합 사용")
+    @Test
+    void getFromRedis() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("bookmark:generation:1")).thenReturn("g1");
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(setOperations.members("bookmark:member:1:g1")).thenReturn(new HashSet<>(Arrays.asList("0", "3", "7")));
+
+        assertThat(bookmarkCache.get(1L)).containsExactlyInAnyOrder(3L, 7L);
+        assertThat(bookmarkCache.contains(1L, 3L)).isTrue();
+
+        verify(setOperations, times(1)).members("bookmark:member:1:g1");
+    }
+
+    @DisplayName("지우면 세대를 바꿔서 이전 세대의 집합은 다시 읽히지 않음")
+    @Test
+    void evictChangesGeneration() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.getAndSet(eq("bookmark:generation:1"), anyString())).thenReturn("g1");
+
+        bookmarkCache.evict(1L);
+
+        verify(redisTemplate).delete("bookmark:member:1:g1");
+        verify(redisTemplate).convertAndSend(BookmarkCache.CHANNEL, "1");
+    }
+
+    @DisplayName("Redis 가 없으면 DB 에서 읽고 로컬에만 캐시")
+    @Test
+    void getWithoutRedis() {
+        when(redisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("down"));
+        when(dynamicBookmarkRepository.findAccommodationIdsByMemberId(1L)).thenReturn(Arrays.asList(1L, 2L));
+
+        assertThat(bookmarkCache.contains(1L, 2L)).isTrue();
+        assertThat(bookmarkCache.contains(1L, 3L)).isFalse();
+
+        bookmarkCache.evict(1L);
+
+        assertThat(bookmarkCache.get(1L)).containsExactlyInAnyOrder(1L, 2L);
+        verify(dynamicBookmarkRepository, times(2)).findAccommodationIdsByMemberId(1L);
+    }
+}
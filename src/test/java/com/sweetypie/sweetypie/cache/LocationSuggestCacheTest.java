@@ -0,0 +1,55 @@
+package com.sweetypie.sweetypie.cache;
+
+import com.sweetypie.sweetypie.dto.LocationSuggestDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocationSuggestCacheTest {
+
+    private LocationSuggestCache locationSuggestCache;
+
+    @BeforeEach
+    void setUp() {
+        locationSuggestCache = new LocationSuggestCache();
+        ReflectionTestUtils.setField(locationSuggestCache, "ttlSeconds", 300L);
+        ReflectionTestUtils.setField(locationSuggestCache, "maximumSize", 100L);
+        locationSuggestCache.afterPropertiesSet();
+    }
+
+    @DisplayName("계산한 추천은 로컬에 두고 다시 계산하지 않음")
+    @Test
+    void loadOnce() {
+        AtomicInteger loads = new AtomicInteger();
+
+        locationSuggestCache.get("서|10", () -> load(loads, "서울특별시"));
+        List<LocationSuggestDto> cached = locationSuggestCache.get("서|10", () -> load(loads, "서울특별시"));
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cached).extracting(LocationSuggestDto::getName).containsExactly("서울특별시");
+    }
+
+    @DisplayName("트라이에 없는 접두어의 빈 결과는 담지 않음")
+    @Test
+    void skipEmpty() {
+        AtomicInteger loads = new AtomicInteger();
+
+        locationSuggestCache.get("없는|10", () -> load(loads, null));
+        locationSuggestCache.get("없는|10", () -> load(loads, null));
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private List<LocationSuggestDto> load(AtomicInteger loads, String name) {
+        loads.incrementAndGet();
+
+        return name == null ? Collections.emptyList() : Collections.singletonList(new LocationSuggestDto(name, "city", 3));
+    }
+}
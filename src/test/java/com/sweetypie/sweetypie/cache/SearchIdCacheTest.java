@@ -0,0 +1,56 @@
+package com.sweetypie.sweetypie.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIdCacheTest {
+
+    private SearchIdCache searchIdCache;
+
+    @BeforeEach
+    void setUp() {
+        searchIdCache = new SearchIdCache();
+        ReflectionTestUtils.setField(searchIdCache, "ttlSeconds", 30L);
+        ReflectionTestUtils.setField(searchIdCache, "maximumIds", 100L);
+        searchIdCache.afterPropertiesSet();
+    }
+
+    @DisplayName("같은 검색 조건의 다음 페이지는 DB 를 다시 읽지 않음")
+    @Test
+    void loadOnce() {
+        AtomicInteger loads = new AtomicInteger();
+
+        searchIdCache.get("city|서울|v1", () -> load(loads, 3L, 1L, 2L));
+        List<Long> cached = searchIdCache.get("city|서울|v1", () -> load(loads, 3L, 1L, 2L));
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cached).containsExactly(3L, 1L, 2L);
+    }
+
+    @DisplayName("예약 변경으로 비우면 다시 읽음")
+    @Test
+    void invalidateAll() {
+        AtomicInteger loads = new AtomicInteger();
+
+        searchIdCache.get("city|서울|v1", () -> load(loads, 1L));
+        searchIdCache.invalidateAll();
+        searchIdCache.get("city|서울|v1", () -> load(loads, 1L));
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private List<Long> load(AtomicInteger loads, Long... ids) {
+        loads.incrementAndGet();
+
+        return new ArrayList<>(Arrays.asList(ids));
+    }
+}
@@ -0,0 +1,212 @@
+package com.sweetypie.sweetypie.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sweetypie.sweetypie.index.AvailabilityIndex;
+import com.sweetypie.sweetypie.index.DailyOrdering;
+import com.sweetypie.sweetypie.index.OrderingSnapshot;
+import com.sweetypie.sweetypie.model.Accommodation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchResultCacheTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private DailyOrdering dailyOrdering;
+
+    @Mock
+    private AvailabilityIndex availabilityIndex;
+
+    @Mock
+    private SearchIdCache searchIdCache;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private SetOperations<String, String> setOperations;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    private SearchResultCache searchResultCache;
+
+    private final LocalDate today = LocalDate.now();
+
+    // 정렬 키가 id - 1 이 된다
+    private final OrderingSnapshot ordering = new OrderingSnapshot(today, IntStream.range(0, 20).toArray());
+
+    @BeforeEach
+    void setUp() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenThrow(new RedisConnectionFailureException("Unable to connect to Redis"));
+
+        searchResultCache = searchResultCache();
+
+        put("first", page(today.plusDays(1), today.plusDays(3), accommodation(5L), accommodation(10L)));
+        put("second", page(today.plusDays(1), today.plusDays(3), accommodation(15L), accommodation(20L)));
+        put("later", page(today.plusDays(10), today.plusDays(12), accommodation(5L), accommodation(10L)));
+    }
+
+    @DisplayName("Redis 가 없어도 로컬 캐시로 동작")
+    @Test
+    void getWithoutRedis() {
+        assertThat(searchResultCache.getIfPresent("first").getIds()).containsExactly(5L, 10L);
+        assertThat(searchResultCache.getIfPresent("unknown")).isNull();
+    }
+
+    @DisplayName("예약된 숙소가 있는 페이지와 그 뒤 페이지만 삭제")
+    @Test
+    void bookEvictsPagesContainingAccommodation() {
+        when(dailyOrdering.current()).thenReturn(ordering);
+
+        searchResultCache.book(10L, 1L, today.plusDays(2), today.plusDays(4));
+
+        assertThat(searchResultCache.getIfPresent("first")).isNull();
+        assertThat(searchResultCache.getIfPresent("second")).isNull();
+        assertThat(searchResultCache.getIfPresent("later")).isNotNull();
+    }
+
+    @DisplayName("페이지 범위 안의 검색되지 않던 숙소 예약은 무시하고, 앞 페이지는 전체 개수가 바뀔 수 있어 삭제")
+    @Test
+    void bookIgnoresAccommodationNotInResult() {
+        when(dailyOrdering.current()).thenReturn(ordering);
+
+        searchResultCache.book(17L, 1L, today.plusDays(1), today.plusDays(2));
+
+        assertThat(searchResultCache.getIfPresent("first")).isNull();
+        assertThat(searchResultCache.getIfPresent("second")).isNotNull();
+    }
+
+    @DisplayName("예약 취소는 겹치는 기간의 페이지를 모두 삭제")
+    @Test
+    void releaseEvictsOverlappingPages() {
+        when(dailyOrdering.current()).thenReturn(ordering);
+
+        searchResultCache.release(17L, 1L, today.plusDays(1), today.plusDays(2));
+
+        assertThat(searchResultCache.getIfPresent("first")).isNull();
+        assertThat(searchResultCache.getIfPresent("second")).isNull();
+        assertThat(searchResultCache.getIfPresent("later")).isNotNull();
+    }
+
+    @DisplayName("Redis 에서는 예약 기간의 숙박일 색인에 있는 페이지만 읽어서 삭제")
+    @Test
+    void bookEvictsIndexedRedisPages() throws Exception {
+        String first = new ObjectMapper().findAndRegisterModules()
+                .writeValueAsString(page(today.plusDays(1), today.plusDays(3), accommodation(5L), accommodation(10L)));
+
+        when(dailyOrdering.current()).thenReturn(ordering);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(setOperations.union(startsWith("search:result:night:" + today.plusDays(2) + ":"), anyCollection()))
+                .thenReturn(Collections.singleton("first"));
+        when(valueOperations.multiGet(Collections.singletonList("search:result:first"))).thenReturn(Collections.singletonList(first));
+
+        searchResultCache().book(10L, 1L, today.plusDays(2), today.plusDays(4));
+
+        verify(redisTemplate).delete(Collections.singletonList("search:result:first"));
+    }
+
+    @DisplayName("다른 인스턴스의 예약 알림은 예약 인덱스를 먼저 고친 뒤 페이지를 삭제")
+    @Test
+    void onMessageAppliesBookingToIndex() throws Exception {
+        SearchInvalidation invalidation = new SearchInvalidation(10L, 1L, 9, today.plusDays(2), today.plusDays(4), true);
+        byte[] body = new ObjectMapper().findAndRegisterModules().writeValueAsBytes(invalidation);
+
+        searchResultCache.onMessage(new DefaultMessage(SearchResultCache.CHANNEL.getBytes(), body), null);
+
+        verify(availabilityIndex).applyBooked(10L, 1L, today.plusDays(2), today.plusDays(4));
+        assertThat(searchResultCache.getIfPresent("first")).isNull();
+        assertThat(searchResultCache.getIfPresent("later")).isNotNull();
+    }
+
+    @DisplayName("검색하는 사이 페이지가 지워졌으면 검색 결과를 넣지 않음")
+    @Test
+    void putAfterEvictionIsDropped() {
+        when(dailyOrdering.current()).thenReturn(ordering);
+
+        long evictionCount = searchResultCache.evictionCount();
+        searchResultCache.release(17L, 1L, today.plusDays(1), today.plusDays(2));
+        searchResultCache.put("first", page(today.plusDays(1), today.plusDays(3), accommodation(5L)), evictionCount);
+
+        assertThat(searchResultCache.getIfPresent("first")).isNull();
+    }
+
+    @DisplayName("모든 페이지를 지우면 Redis 키의 세대를 올리고 다른 인스턴스에 알림")
+    @Test
+    void invalidateAllBumpsGeneration() {
+        doReturn(Collections.emptyList()).when(redisTemplate).executePipelined(any(SessionCallback.class));
+
+        SearchResultCache cache = searchResultCache();
+        cache.put("first", page(today.plusDays(1), today.plusDays(3), accommodation(5L)), cache.evictionCount());
+        when(valueOperations.increment("search:result:generation")).thenReturn(3L);
+
+        cache.invalidateAll();
+
+        verify(redisTemplate).convertAndSend(SearchResultCache.GENERATION_CHANNEL, "3");
+        verify(searchIdCache).invalidateAll();
+        assertThat(cache.getIfPresent("first")).isNull();
+        verify(valueOperations).get("search:result:3:first");
+    }
+
+    @DisplayName("다른 인스턴스가 세대를 올리면 로컬 페이지를 모두 삭제")
+    @Test
+    void onGenerationMessageEvictsAll() {
+        searchResultCache.onMessage(new DefaultMessage(SearchResultCache.GENERATION_CHANNEL.getBytes(), "3".getBytes()), null);
+
+        assertThat(searchResultCache.getIfPresent("first")).isNull();
+        assertThat(searchResultCache.getIfPresent("later")).isNull();
+    }
+
+    private void put(String key, SearchResultPage page) {
+        searchResultCache.put(key, page, searchResultCache.evictionCount());
+    }
+
+    private SearchResultCache searchResultCache() {
+        SearchResultCache cache = new SearchResultCache(redisTemplate, new ObjectMapper().findAndRegisterModules(), dailyOrdering, availabilityIndex, searchIdCache);
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(cache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(cache, "redisRetrySeconds", 30L);
+        cache.afterPropertiesSet();
+
+        return cache;
+    }
+
+    private SearchResultPage page(LocalDate checkIn, LocalDate checkout, Accommodation... accommodations) {
+        return SearchResultPage.of(Arrays.asList(accommodations), 4, checkIn, checkout, ordering);
+    }
+
+    private Accommodation accommodation(Long id) {
+        return Accommodation.builder().id(id).build();
+    }
+}
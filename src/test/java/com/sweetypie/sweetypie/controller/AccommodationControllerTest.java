@@ -1,9 +1,13 @@
 package com.sweetypie.sweetypie.controller;
 
+import com.jayway.jsonpath.JsonPath;
+import com.sweetypie.sweetypie.index.DailyOrdering;
+import com.sweetypie.sweetypie.index.OrderingSnapshot;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -11,7 +15,10 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 import org.springframework.web.filter.CharacterEncodingFilter;
 
+import java.time.LocalDate;
+
 import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.doReturn;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -23,8 +30,14 @@ class AccommodationControllerTest {
 
     private MockMvc mockMvc;
 
+    @SpyBean
+    private DailyOrdering dailyOrdering;
+
     @BeforeEach
     void before(WebApplicationContext was) {
+        // 사진이 있는 숙소는 1번뿐이므로 날짜에 따라 결과가 달라지지 않게 id 순서로 고정한다
+        doReturn(new OrderingSnapshot(LocalDate.now(), new int[]{0, 1, 2})).when(dailyOrdering).current();
+
         mockMvc = MockMvcBuilders.webAppContextSetup(was)
                 .alwaysDo(print())
                 .addFilters(new CharacterEncodingFilter("UTF-8", true))
@@ -41,6 +54,19 @@ class AccommodationControllerTest {
                 .andExpect(jsonPath("$.contact").value("010-1234-1234"));
     }
 
+    @DisplayName("숙소 리뷰 목록과 요약 조회")
+    @Test
+    void getReviews() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/accommodation/1/reviews?size=5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/accommodation/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reviewSummary.reviewCount").value(1));
+    }
+
     @DisplayName("모든 숙박 검색")
     @Test
     void getAllAccommodations() throws Exception {
@@ -65,4 +91,29 @@ class AccommodationControllerTest {
                 .andExpect(jsonPath("$.content[0].city").value("서울특별시"))
                 .andExpect(jsonPath("$.content[0].gu").value("마포구"));
     }
-}
\ No newline at end of file
+
+    @DisplayName("메인 검색 커서 페이징")
+    @Test
+    void getAccommodationsBySearchWithCursor() throws Exception {
+        String response = mockMvc.perform(MockMvcRequestBuilders.get("/api/accommodations/search?searchKeyword=서울&after=&size=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].city").value("서울특별시"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+
+        String nextCursor = JsonPath.read(response, "$.nextCursor");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/accommodations/search?searchKeyword=서울&size=2&after=" + nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @DisplayName("잘못된 커서로 검색")
+    @Test
+    void getAccommodationsBySearchWithInvalidCursor() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/accommodations/search?after=invalid"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -57,7 +57,8 @@ class BookmarkControllerTest {
         mockMvc.perform(MockMvcRequestBuilders.get("/api/bookmark")
                 .header("Authorization", token))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(2)));
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$.[0].accommodationPicture.url").value("picture"));
     }
 
     @DisplayName("북마크 추가")
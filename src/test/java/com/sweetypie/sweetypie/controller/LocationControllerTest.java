@@ -0,0 +1,56 @@
+package com.sweetypie.sweetypie.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.filter.CharacterEncodingFilter;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.config.location="
+        + "classpath:test.yml")
+class LocationControllerTest {
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void before(WebApplicationContext was) {
+        mockMvc = MockMvcBuilders.webAppContextSetup(was)
+                .alwaysDo(print())
+                .addFilters(new CharacterEncodingFilter("UTF-8", true))
+                .build();
+    }
+
+    @DisplayName("지역 자동완성 - 숙소가 많은 순, 입력 중인 글자 포함")
+    @Test
+    void suggestLocations() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/locations/suggest").param("q", "서"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].name").value("서울특별시"))
+                .andExpect(jsonPath("$[0].type").value("city"))
+                .andExpect(jsonPath("$[0].count").value(3))
+                .andExpect(jsonPath("$[1].name").value("서대문구"))
+                .andExpect(jsonPath("$[2].name").value("성동구"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/locations/suggest").param("q", "서울 마ㅍ"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name").value("마포구"));
+    }
+
+    @DisplayName("지역 자동완성 - 결과 개수 범위 초과")
+    @Test
+    void suggestLocationsInvalidSize() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/locations/suggest").param("q", "서").param("size", "100"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -71,6 +71,28 @@ class ReservationControllerTest {
                 .andExpect(jsonPath("$.[0].accommodationPicture.url").value("picture"));
     }
 
+    @DisplayName("예약 내역 조회 (커서)")
+    @Test
+    void getReservationsWithCursor() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reservation")
+                .header("Authorization", token)
+                .param("after", "")
+                .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("2"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/reservation")
+                .header("Authorization", token)
+                .param("after", "2")
+                .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].reservationId").value(100))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
     @DisplayName("예약 내역 조회시 없을 때")
     @Test
     void getReservationsIfNull() throws Exception {
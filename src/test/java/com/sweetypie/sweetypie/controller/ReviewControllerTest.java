@@ -3,6 +3,7 @@ package com.sweetypie.sweetypie.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sweetypie.sweetypie.dto.LoginDto;
 import com.sweetypie.sweetypie.dto.ReviewDto;
+import com.sweetypie.sweetypie.security.jwt.TokenProvider;
 import com.sweetypie.sweetypie.service.AuthService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,8 +11,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
@@ -33,6 +36,9 @@ class ReviewControllerTest {
     @Autowired
     AuthService authService;
 
+    @Autowired
+    TokenProvider tokenProvider;
+
     private String token1;
     private String token2;
 
@@ -59,7 +65,7 @@ class ReviewControllerTest {
     @Test
     void getReview() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/api/review/1")
-                .header("Authorization", token1))
+                .with(member(token1)))
                 .andExpect(status().isOk());
     }
 
@@ -74,7 +80,7 @@ class ReviewControllerTest {
     @Test
     void getReviewException2() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/api/review/100")
-                .header("Authorization", token1))
+                .with(member(token1)))
                 .andExpect(status().isBadRequest());
     }
 
@@ -82,7 +88,7 @@ class ReviewControllerTest {
     @Test
     void getReviewException3() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.get("/api/review/1")
-                .header("Authorization", token2))
+                .with(member(token2)))
                 .andExpect(status().isBadRequest());
     }
 
@@ -90,7 +96,7 @@ class ReviewControllerTest {
     @Test
     void postReview() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.post("/api/review")
-                .header("Authorization", token1)
+                .with(member(token1))
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
                 .content(objectMapper.writeValueAsString(
                         new ReviewDto(1L, 100L, 3, "좋아요"))))
@@ -101,7 +107,7 @@ class ReviewControllerTest {
     @Test
     void postReviewException1() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.post("/api/review")
-                .header("Authorization", token1)
+                .with(member(token1))
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
                 .content(objectMapper.writeValueAsString(
                         new ReviewDto(1L, 1L, 3, "좋아요"))))
@@ -112,7 +118,7 @@ class ReviewControllerTest {
     @Test
     void postReviewException2() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.post("/api/review")
-                .header("Authorization", token1)
+                .with(member(token1))
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
                 .content(objectMapper.writeValueAsString(
                         new ReviewDto(1L, 1000L, 3, "좋아요"))))
@@ -123,7 +129,7 @@ class ReviewControllerTest {
     @Test
     void postReviewException3() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.post("/api/review")
-                .header("Authorization", token1)
+                .with(member(token1))
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
                 .content(objectMapper.writeValueAsString(
                         new ReviewDto(100L, 1L, 3, "좋아요"))))
@@ -134,10 +140,20 @@ class ReviewControllerTest {
     @Test
     void postReviewException4() throws Exception {
         mockMvc.perform(MockMvcRequestBuilders.post("/api/review")
-                .header("Authorization", token2)
+                .with(member(token2))
                 .contentType(MediaType.APPLICATION_JSON_VALUE)
                 .content(objectMapper.writeValueAsString(
                         new ReviewDto(1L, 1L, 3, "좋아요"))))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    // 테스트에는 JwtFilter 가 없으므로 요청마다 토큰의 인증 정보를 직접 넣어 준다
+    private RequestPostProcessor member(String token) {
+        return request -> {
+            request.addHeader("Authorization", token);
+            SecurityContextHolder.getContext().setAuthentication(tokenProvider.getAuthentication(token));
+
+            return request;
+        };
+    }
+}
@@ -0,0 +1,214 @@
+package com.sweetypie.sweetypie.index;
+
+import com.sweetypie.sweetypie.cache.SearchResultCache;
+import com.sweetypie.sweetypie.dto.AccommodationCatalogRow;
+import com.sweetypie.sweetypie.dto.SearchCursor;
+import com.sweetypie.sweetypie.model.Accommodation;
+import com.sweetypie.sweetypie.repository.AccommodationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccommodationCatalogTest {
+
+    @InjectMocks
+    private AccommodationCatalog accommodationCatalog;
+
+    @Mock
+    private AccommodationRepository accommodationRepository;
+
+    @Mock
+    private DailyOrdering dailyOrdering;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private SearchResultCache searchResultCache;
+
+    // 1 ~ 4 번 숙소를 id 역순으로 정렬한다
+    private final OrderingSnapshot ordering = new OrderingSnapshot(LocalDate.now(), new int[]{3, 2, 1, 0});
+
+    @BeforeEach
+    void setUp() {
+        when(accommodationRepository.findCatalogRowsBy()).thenReturn(new ArrayList<>());
+        when(dailyOrdering.current()).thenReturn(ordering);
+
+        ReflectionTestUtils.setField(accommodationCatalog, "redisRetrySeconds", 30L);
+        accommodationCatalog.afterPropertiesSet();
+        accommodationCatalog.load();
+        accommodationCatalog.put(accommodation(1L, "서울특별시", "마포구", 40000, 2, "원룸", "아파트", 37.5563f, 126.9220f));
+        accommodationCatalog.put(accommodation(2L, "서울특별시", "강남구", 120000, 4, "전체", "아파트", 37.5172f, 127.0473f));
+        accommodationCatalog.put(accommodation(3L, "부산광역시", "해운대구", 80000, 6, "전체", "게스트하우스", 35.1587f, 129.1604f));
+        accommodationCatalog.put(accommodation(4L, "제주특별자치도", "제주시", 300000, 8, "전체", "호텔", 33.4996f, 126.5312f));
+    }
+
+    @DisplayName("그날의 정렬 순서로 조건에 맞는 숙소 페이지와 전체 개수")
+    @Test
+    void findIdsPage() {
+        Page<Long> ids = accommodationCatalog.findIds(CatalogFilter.builder().guestNum(1).build(), PageRequest.of(1, 2));
+
+        assertThat(ids.getContent()).containsExactly(2L, 1L);
+        assertThat(ids.getTotalElements()).isEqualTo(4);
+    }
+
+    @DisplayName("지역 접두어, 인원, 가격, 숙소 유형 조건")
+    @Test
+    void findIdsByFilter() {
+        assertThat(find(CatalogFilter.builder().guestNum(1).keywordPrefixes(Collections.singletonList("서울")).build()))
+                .containsExactly(2L, 1L);
+        assertThat(find(CatalogFilter.builder().guestNum(1).keywordPrefixes(Collections.singletonList("제주")).build()))
+                .containsExactly(4L);
+        assertThat(find(CatalogFilter.builder().guestNum(1).keywordPrefixes(Arrays.asList("서울", "마포구")).build()))
+                .containsExactly(1L);
+        assertThat(find(CatalogFilter.builder().guestNum(1).keywordPrefixes(Arrays.asList("부산", "마포구")).build()))
+                .isEmpty();
+        assertThat(find(CatalogFilter.builder().guestNum(5).build()))
+                .containsExactly(4L, 3L);
+        assertThat(find(CatalogFilter.builder().guestNum(1).minPrice(50000).maxPrice(250000).build()))
+                .containsExactly(4L, 3L, 2L);
+        assertThat(find(CatalogFilter.builder().guestNum(1).minPrice(50000).maxPrice(100000).build()))
+                .containsExactly(3L);
+        assertThat(find(CatalogFilter.builder().guestNum(1).types("원룸 개인실").build()))
+                .containsExactly(1L);
+        assertThat(find(CatalogFilter.builder().buildingType("아파트").build()))
+                .containsExactly(2L, 1L);
+        assertThat(find(CatalogFilter.builder().cityPrefix("부산").build()))
+                .containsExactly(3L);
+    }
+
+    @DisplayName("지도 범위와 예약된 숙소 제외")
+    @Test
+    void findIdsByBoundsExcludingBooked() {
+        BitSet booked = new BitSet();
+        booked.set(2);
+
+        CatalogFilter filter = CatalogFilter.builder()
+                .guestNum(1)
+                .minLatitude(37.5f).maxLatitude(37.6f).minLongitude(126.9f).maxLongitude(127.1f)
+                .excludedIds(booked)
+                .build();
+
+        assertThat(find(filter)).containsExactly(1L);
+    }
+
+    @DisplayName("커서 다음 숙소부터 검색")
+    @Test
+    void findIdsAfterCursor() {
+        CatalogFilter filter = CatalogFilter.builder().guestNum(1).build();
+
+        assertThat(accommodationCatalog.findIds(filter, SearchCursor.of(ordering.sortKey(3L), 3L, ordering.version()), 10)).containsExactly(2L, 1L);
+        assertThat(accommodationCatalog.findIds(filter, null, 2)).containsExactly(4L, 3L);
+    }
+
+    @DisplayName("숙소 추가와 삭제 반영. 그날 순서에 없는 새 숙소는 맨 뒤")
+    @Test
+    void putAndRemove() {
+        accommodationCatalog.put(accommodation(5L, "서울특별시", "마포구", 40000, 2, "원룸", "아파트", 37.5563f, 126.9220f));
+        accommodationCatalog.remove(3L);
+
+        assertThat(find(CatalogFilter.builder().guestNum(1).build())).containsExactly(4L, 2L, 1L, 5L);
+    }
+
+    @DisplayName("검색 조건에 쓰지 않는 열만 바뀌면 무시하고, 가격과 인원은 그 행만 고침")
+    @Test
+    void putPatchesChangedRow() {
+        Accommodation reviewed = accommodation(1L, "서울특별시", "마포구", 40000, 2, "원룸", "아파트", 37.5563f, 126.9220f);
+        reviewed.setRating(4.5f);
+
+        assertThat(find(CatalogFilter.builder().guestNum(1).build())).containsExactly(4L, 3L, 2L, 1L);
+        assertThat(accommodationCatalog.put(reviewed)).isFalse();
+
+        Object columns = ReflectionTestUtils.getField(accommodationCatalog, "columns");
+
+        assertThat(accommodationCatalog.put(accommodation(1L, "서울특별시", "마포구", 90000, 5, "전체", "아파트", 37.5563f, 126.9220f))).isTrue();
+        assertThat(ReflectionTestUtils.getField(accommodationCatalog, "columns")).isSameAs(columns);
+        assertThat(find(CatalogFilter.builder().guestNum(5).build())).containsExactly(4L, 3L, 1L);
+        assertThat(accommodationCatalog.findPrices(CatalogFilter.builder().guestNum(5).build())).containsExactly(80000, 90000, 300000);
+    }
+
+    @DisplayName("지역이 바뀌면 다시 만들어 지역 검색에 반영")
+    @Test
+    void putRebuildsOnLocationChange() {
+        assertThat(find(CatalogFilter.builder().keywordPrefixes(Collections.singletonList("부산")).build())).containsExactly(3L);
+
+        accommodationCatalog.put(accommodation(1L, "부산광역시", "수영구", 40000, 2, "원룸", "아파트", 35.1456f, 129.1131f));
+
+        assertThat(find(CatalogFilter.builder().keywordPrefixes(Collections.singletonList("부산")).build())).containsExactly(3L, 1L);
+    }
+
+    @DisplayName("날이 바뀌어 정렬 순서가 달라지면 새 순서로 다시 정렬")
+    @Test
+    void reorderOnNewOrdering() {
+        assertThat(find(CatalogFilter.builder().guestNum(1).build())).containsExactly(4L, 3L, 2L, 1L);
+
+        when(dailyOrdering.current()).thenReturn(new OrderingSnapshot(LocalDate.now().plusDays(1), new int[]{0, 1, 2, 3}));
+
+        assertThat(find(CatalogFilter.builder().guestNum(1).build())).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @DisplayName("바뀐 숙소를 다른 인스턴스에 알리고, 받은 알림은 DB 에서 행을 다시 읽어 반영")
+    @Test
+    void syncAcrossInstances() {
+        verify(redisTemplate).convertAndSend(AccommodationCatalog.CHANNEL, "1");
+
+        when(accommodationRepository.findCatalogRowById(1L)).thenReturn(new SpelAwareProxyProjectionFactory().createProjection(AccommodationCatalogRow.class,
+                accommodation(1L, "서울특별시", "마포구", 40000, 7, "원룸", "아파트", 37.5563f, 126.9220f)));
+
+        accommodationCatalog.onMessage(new DefaultMessage(AccommodationCatalog.CHANNEL.getBytes(), "1".getBytes()), null);
+        accommodationCatalog.onMessage(new DefaultMessage(AccommodationCatalog.CHANNEL.getBytes(), "3".getBytes()), null);
+
+        assertThat(find(CatalogFilter.builder().guestNum(7).build())).containsExactly(4L, 1L);
+        assertThat(find(CatalogFilter.builder().guestNum(1).build())).containsExactly(4L, 2L, 1L);
+        verify(searchResultCache, times(2)).evictAllLocal();
+    }
+
+    @DisplayName("조건에 맞는 가격 정렬")
+    @Test
+    void findPrices() {
+        assertThat(accommodationCatalog.findPrices(CatalogFilter.builder().guestNum(3).build()))
+                .containsExactly(80000, 120000, 300000);
+    }
+
+    private Iterable<Long> find(CatalogFilter filter) {
+        return accommodationCatalog.findIds(filter, null, 100);
+    }
+
+    private Accommodation accommodation(Long id, String city, String gu, int price, int capacity,
+                                        String accommodationType, String buildingType, float latitude, float longitude) {
+
+        return Accommodation.builder()
+                .id(id)
+                .city(city)
+                .gu(gu)
+                .price(price)
+                .capacity(capacity)
+                .accommodationType(accommodationType)
+                .buildingType(buildingType)
+                .latitude(latitude)
+                .longitude(longitude)
+                .build();
+    }
+}
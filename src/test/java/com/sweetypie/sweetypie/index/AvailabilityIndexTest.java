@@ -0,0 +1,124 @@
+package com.sweetypie.sweetypie.index;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Projections;
+import com.sweetypie.sweetypie.model.QReservation;
+import com.sweetypie.sweetypie.repository.dynamic.DynamicBookedDateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityIndexTest {
+
+    private static final QReservation reservation = QReservation.reservation;
+
+    @InjectMocks
+    private AvailabilityIndex availabilityIndex;
+
+    @Mock
+    private DynamicBookedDateRepository dynamicBookedDateRepository;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        when(dynamicBookedDateRepository.findBookedRangesFrom(today)).thenReturn(new ArrayList<>());
+
+        availabilityIndex.load();
+    }
+
+    @DisplayName("숙박 기간과 겹치는 예약만 제외")
+    @Test
+    void findBookedAccommodationIds() {
+        availabilityIndex.book(1L, 1L, today.plusDays(1), today.plusDays(3));
+        availabilityIndex.book(2L, 2L, today.plusDays(3), today.plusDays(5));
+
+        assertThat(availabilityIndex.isLoaded()).isTrue();
+        assertThat(availabilityIndex.findBookedAccommodationIds(today, today.plusDays(1))).isEmpty();
+        assertThat(availabilityIndex.findBookedAccommodationIds(today, today.plusDays(2))).containsExactly(1L);
+        assertThat(availabilityIndex.findBookedAccommodationIds(today.plusDays(2), today.plusDays(4))).containsExactly(1L, 2L);
+        assertThat(availabilityIndex.findBookedAccommodationIds(today.plusDays(3), null)).containsExactly(2L);
+    }
+
+    @DisplayName("예약 취소 시 해당 날짜 해제")
+    @Test
+    void release() {
+        availabilityIndex.book(1L, 100L, today.plusDays(1), today.plusDays(3));
+        availabilityIndex.release(1L, 100L, today.plusDays(1), today.plusDays(3));
+
+        assertThat(availabilityIndex.findBookedAccommodationIds(today, null)).isEmpty();
+        assertThat(availabilityIndex.isBooked(1L, today.plusDays(1), today.plusDays(3))).isFalse();
+    }
+
+    @DisplayName("숙소별 숙박 기간 겹침 확인")
+    @Test
+    void isBooked() {
+        availabilityIndex.book(1L, 3L, today.plusDays(1), today.plusDays(3));
+        availabilityIndex.book(1L, 4L, today.plusDays(5), today.plusDays(8));
+
+        assertThat(availabilityIndex.isBooked(1L, today, today.plusDays(1))).isFalse();
+        assertThat(availabilityIndex.isBooked(1L, today, today.plusDays(2))).isTrue();
+        assertThat(availabilityIndex.isBooked(1L, today.plusDays(3), today.plusDays(5))).isFalse();
+        assertThat(availabilityIndex.isBooked(1L, today.plusDays(4), today.plusDays(10))).isTrue();
+        assertThat(availabilityIndex.isBooked(1L, today.plusDays(7), today.plusDays(9))).isTrue();
+        assertThat(availabilityIndex.isBooked(2L, today, today.plusDays(10))).isFalse();
+    }
+
+    @DisplayName("다시 읽으면 해당 숙소의 기간만 DB 기준으로 바뀜")
+    @Test
+    void reload() {
+        availabilityIndex.book(1L, 5L, today.plusDays(1), today.plusDays(3));
+        availabilityIndex.book(2L, 6L, today.plusDays(1), today.plusDays(3));
+
+        when(dynamicBookedDateRepository.findBookedRangesByAccommodationId(1L, today))
+                .thenReturn(Collections.singletonList(stay(7L, 1L, today.plusDays(5), today.plusDays(6))));
+
+        availabilityIndex.reload(1L);
+
+        assertThat(availabilityIndex.isBooked(1L, today.plusDays(1), today.plusDays(3))).isFalse();
+        assertThat(availabilityIndex.isBooked(1L, today.plusDays(5), today.plusDays(6))).isTrue();
+        assertThat(availabilityIndex.findBookedAccommodationIds(today.plusDays(1), today.plusDays(3))).containsExactly(2L);
+    }
+
+    @DisplayName("읽는 동안 커밋된 예약 알림이 다시 와도 한 번만 반영")
+    @Test
+    void applyBookedIsIdempotent() {
+        when(dynamicBookedDateRepository.findBookedRangesFrom(today))
+                .thenReturn(new ArrayList<>(Collections.singletonList(stay(1L, 1L, today.plusDays(1), today.plusDays(3)))));
+
+        availabilityIndex.load();
+        availabilityIndex.applyBooked(1L, 1L, today.plusDays(1), today.plusDays(3));
+        availabilityIndex.applyReleased(1L, 1L, today.plusDays(1), today.plusDays(3));
+
+        assertThat(availabilityIndex.isBooked(1L, today.plusDays(1), today.plusDays(3))).isFalse();
+        assertThat(availabilityIndex.findBookedAccommodationIds(today, null)).isEmpty();
+    }
+
+    @DisplayName("예약 변경 알림은 같은 예약의 이전 기간을 지움")
+    @Test
+    void applyBookedMovesReservation() {
+        availabilityIndex.applyBooked(1L, 1L, today.plusDays(1), today.plusDays(3));
+        availabilityIndex.applyBooked(1L, 1L, today.plusDays(5), today.plusDays(6));
+        availabilityIndex.applyReleased(1L, 2L, today.plusDays(5), today.plusDays(6));
+
+        assertThat(availabilityIndex.isBooked(1L, today.plusDays(1), today.plusDays(3))).isFalse();
+        assertThat(availabilityIndex.findBookedAccommodationIds(today.plusDays(5), today.plusDays(6))).containsExactly(1L);
+    }
+
+    private Tuple stay(Long reservationId, Long accommodationId, LocalDate checkIn, LocalDate checkout) {
+        return Projections.tuple(reservation.id, reservation.accommodation.id, reservation.checkInDate, reservation.checkoutDate)
+                .newInstance(reservationId, accommodationId, checkIn, checkout);
+    }
+}
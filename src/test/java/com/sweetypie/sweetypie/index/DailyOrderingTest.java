@@ -0,0 +1,101 @@
+package com.sweetypie.sweetypie.index;
+
+import com.sweetypie.sweetypie.repository.AccommodationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DailyOrderingTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private AccommodationRepository accommodationRepository;
+
+    @DisplayName("Redis 에 먼저 올라간 그날의 순서를 사용")
+    @Test
+    void useSharedOrdering() {
+        String key = "search:ordering:shuffle:" + LocalDate.now();
+
+        when(accommodationRepository.findMaxId()).thenReturn(100L);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(eq(key), anyString(), any(Duration.class))).thenReturn(false);
+        when(valueOperations.get(key)).thenReturn("7:50");
+
+        OrderingSnapshot snapshot = dailyOrdering().current();
+
+        assertThat(snapshot).isEqualTo(OrderingSnapshot.shuffle(LocalDate.now(), 7L, 50));
+        assertThat(snapshot.sortKey(60L)).isEqualTo(50);
+    }
+
+    @DisplayName("Redis 가 없으면 모든 인스턴스가 날짜에서 같은 순서를 계산")
+    @Test
+    void deriveWithoutRedis() {
+        when(accommodationRepository.findMaxId()).thenReturn(100L);
+        when(redisTemplate.opsForValue()).thenThrow(new RedisConnectionFailureException("Unable to connect to Redis"));
+
+        OrderingSnapshot first = dailyOrdering().current();
+        OrderingSnapshot second = dailyOrdering().current();
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first.version()).isEqualTo(second.version());
+        assertThat(first.getDay()).isEqualTo(LocalDate.now());
+    }
+
+    @DisplayName("정렬 키는 id 마다 다르고, 순서에 없는 id 는 맨 뒤")
+    @Test
+    void sortKeyIsPermutation() {
+        OrderingSnapshot snapshot = OrderingSnapshot.shuffle(LocalDate.now(), 12345L, 100000);
+        Set<Integer> sortKeys = new HashSet<>();
+
+        for (long id = 1; id <= 100000; id++) {
+            sortKeys.add(snapshot.sortKey(id));
+        }
+
+        assertThat(sortKeys).hasSize(100000).allMatch(sortKey -> sortKey >= 0 && sortKey < 100000);
+        assertThat(snapshot.sortKey(100001L)).isEqualTo(100000);
+    }
+
+    @DisplayName("이웃한 id 의 순서가 규칙적으로 이어지지 않음")
+    @Test
+    void shuffleIsNotPatterned() {
+        OrderingSnapshot snapshot = OrderingSnapshot.shuffle(LocalDate.now(), 12345L, 1000);
+        Set<Integer> gaps = new HashSet<>();
+
+        for (long id = 1; id < 1000; id++) {
+            gaps.add(snapshot.sortKey(id + 1) - snapshot.sortKey(id));
+        }
+
+        assertThat(gaps.size()).isGreaterThan(500);
+    }
+
+    private DailyOrdering dailyOrdering() {
+        DailyOrdering dailyOrdering = new DailyOrdering(redisTemplate, accommodationRepository);
+        ReflectionTestUtils.setField(dailyOrdering, "redisRetrySeconds", 30L);
+        dailyOrdering.afterPropertiesSet();
+
+        return dailyOrdering;
+    }
+}
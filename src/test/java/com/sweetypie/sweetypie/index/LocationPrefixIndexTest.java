@@ -0,0 +1,55 @@
+package com.sweetypie.sweetypie.index;
+
+import com.sweetypie.sweetypie.dto.LocationSuggestDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocationPrefixIndexTest {
+
+    private LocationPrefixIndex index;
+
+    // 행 0 ~ 4 의 지역 이름 번호
+    @BeforeEach
+    void setUp() {
+        index = LocationPrefixIndex.of(Arrays.asList("서울특별시", "서우리", "강남구", "가양동", "닭실마을"), new int[]{0, 1, 2, 3, 0, 4});
+    }
+
+    @DisplayName("음절 단위 접두어는 startsWith 와 같은 행")
+    @Test
+    void findRows() {
+        assertThat(rows(index.findRows("서울"))).containsExactly(0, 4);
+        assertThat(rows(index.findRows("서우"))).containsExactly(1);
+        assertThat(rows(index.findRows("강"))).containsExactly(2);
+        assertThat(rows(index.findRows(""))).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(rows(index.findRows("부산"))).isEmpty();
+    }
+
+    @DisplayName("추천은 입력 중인 글자까지 자모 단위로 맞춤")
+    @Test
+    void suggestByJamo() {
+        assertThat(index.suggest("강", "gu")).extracting(LocationSuggestDto::getName).containsExactlyInAnyOrder("강남구", "가양동");
+        assertThat(index.suggest("강남ㄱ", "gu")).extracting(LocationSuggestDto::getName).containsExactly("강남구");
+        assertThat(index.suggest("달", "gu")).extracting(LocationSuggestDto::getName).containsExactly("닭실마을");
+    }
+
+    @DisplayName("자모 단위 접두어에 맞는 이름과 숙소 수")
+    @Test
+    void suggest() {
+        List<LocationSuggestDto> suggestions = index.suggest("서", "city");
+
+        assertThat(suggestions).extracting(LocationSuggestDto::getName).containsExactly("서울특별시", "서우리");
+        assertThat(suggestions).extracting(LocationSuggestDto::getCount).containsExactly(2, 1);
+        assertThat(suggestions).extracting(LocationSuggestDto::getType).containsOnly("city");
+    }
+
+    private int[] rows(BitSet rows) {
+        return rows.stream().toArray();
+    }
+}
@@ -0,0 +1,85 @@
+package com.sweetypie.sweetypie.metrics;
+
+import com.sweetypie.sweetypie.exception.QueryBudgetExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StatementCounterTest {
+
+    private StatementCounter statementCounter;
+
+    @BeforeEach
+    void setUp() {
+        statementCounter = new StatementCounter();
+        statementCounter.setMode(StatementCounter.Mode.FAIL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statementCounter.stop();
+    }
+
+    @DisplayName("요청 스레드의 SQL 문 수 세기")
+    @Test
+    void count() {
+        statementCounter.inspect("select 1");
+
+        statementCounter.start();
+        statementCounter.inspect("select 1");
+        statementCounter.inspect("select 2");
+
+        assertThat(statementCounter.stop()).isEqualTo(2);
+        assertThat(statementCounter.stop()).isEqualTo(0);
+    }
+
+    @DisplayName("예산 안의 SQL 문")
+    @Test
+    void withinBudget() {
+        assertThat(statementCounter.budget("Controller.method", 2)).isTrue();
+
+        statementCounter.inspect("select 1");
+        statementCounter.inspect("select 2");
+
+        assertThat(statementCounter.stop()).isEqualTo(2);
+    }
+
+    @DisplayName("예산 초과 (예외)")
+    @Test
+    void exceedBudget() {
+        statementCounter.start();
+        assertThat(statementCounter.budget("Controller.method", 1)).isFalse();
+
+        statementCounter.inspect("select 1");
+
+        assertThrows(QueryBudgetExceededException.class, () -> statementCounter.inspect("select 2"));
+    }
+
+    @DisplayName("같은 SQL 반복 (N+1 예외)")
+    @Test
+    void repeatedStatement() {
+        statementCounter.budget("Controller.method", 100);
+
+        for (int i = 0; i < 4; i++) {
+            statementCounter.inspect("select * from accommodation_picture where accommodation_id=?");
+        }
+
+        assertThrows(QueryBudgetExceededException.class,
+                () -> statementCounter.inspect("select * from accommodation_picture where accommodation_id=?"));
+    }
+
+    @DisplayName("예산 초과 (로그만 남기기)")
+    @Test
+    void exceedBudgetLogOnly() {
+        statementCounter.setMode(StatementCounter.Mode.LOG);
+        statementCounter.budget("Controller.method", 0);
+
+        statementCounter.inspect("select 1");
+
+        assertThat(statementCounter.stop()).isEqualTo(1);
+    }
+}
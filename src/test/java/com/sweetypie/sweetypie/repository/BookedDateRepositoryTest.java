@@ -1,6 +1,7 @@
 package com.sweetypie.sweetypie.repository;
 
 import com.sweetypie.sweetypie.model.BookedDate;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -10,24 +11,25 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-
 @DataJpaTest(properties = "spring.config.location=classpath:test.yml")
 class BookedDateRepositoryTest {
 
     @Autowired
     private BookedDateRepository bookedDateRepository;
 
+    @DisplayName("이전 id 로 예약된 날짜 조회")
     @Test
-    void deleteByReservationId() {
+    void findBookedById() {
+        Optional<BookedDate> bookedDate = bookedDateRepository.findBookedById(3L);
 
-        bookedDateRepository.deleteBookedDateByReservationId(1L);
+        assertThat(bookedDate.get().getDate()).isEqualTo(LocalDate.of(2022, 2, 20));
+    }
 
-        Optional<BookedDate> optionalBookedDate = bookedDateRepository.findById(1L);
-        Optional<BookedDate> optionalBookedDate1 = bookedDateRepository.findById(2L);
-        Optional<BookedDate> optionalBookedDate2 = bookedDateRepository.findById(3L);
+    @DisplayName("예약 기간에서 벗어난 날짜는 조회되지 않음")
+    @Test
+    void findBookedByIdOutsideReservation() {
 
-        assertThat(optionalBookedDate.isPresent()).isFalse();
-        assertThat(optionalBookedDate1.isPresent()).isFalse();
-        assertThat(optionalBookedDate2.get().getDate()).isEqualTo(LocalDate.of(2022,2,20));
+        assertThat(bookedDateRepository.findBookedById(5L).isPresent()).isFalse();
+        assertThat(bookedDateRepository.findBookedById(100L).isPresent()).isFalse();
     }
-}
\ No newline at end of file
+}
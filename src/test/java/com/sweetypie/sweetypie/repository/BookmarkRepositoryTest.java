@@ -3,17 +3,20 @@ package com.sweetypie.sweetypie.repository;
 import com.sweetypie.sweetypie.model.Accommodation;
 import com.sweetypie.sweetypie.model.Bookmark;
 import com.sweetypie.sweetypie.model.Member;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.time.LocalDate;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @DataJpaTest(properties = "spring.config.location=classpath:test.yml")
 class BookmarkRepositoryTest {
@@ -63,10 +66,27 @@ class BookmarkRepositoryTest {
         assertThat(bookmarks.size()).isEqualTo(0);
     }
 
+    @DisplayName("같은 숙소 중복 북마크는 유니크 키로 막힘")
+    @Test
+    void duplicateBookmark() {
+        Member member = givenMember();
+        givenBookmarks(member);
+
+        Bookmark duplicate = new Bookmark();
+        duplicate.setMember(member);
+        duplicate.setAccommodation(bookmarkRepository.findBookmarksByMemberId(member.getId()).get(0).getAccommodation());
+
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class,
+                () -> bookmarkRepository.saveAndFlush(duplicate));
+
+        assertThat(((ConstraintViolationException) exception.getCause()).getConstraintName())
+                .containsIgnoringCase(Bookmark.UNIQUE_MEMBER_ACCOMMODATION);
+    }
+
     private void givenBookmarks(Member member) {
 
-        Accommodation accommodation = new Accommodation(null, 0, "서울특별시", "마포구", "서울특별시 마포구", "원룸", 1, 1, 1, 40000, 2, "010-1234-5678", 36.141f, 126.531f, "마포", "버스 7016", "깔끔", "", 4.56f, 125, "전체", "원룸", "이재복", 543, null, null, null, null);
-        Accommodation accommodation2 = new Accommodation(null, 0, "서울특별시", "서대문구", "서울특별시 서대문구", "아파트", 2, 2, 2, 100000, 4, "010-1234-5678", 36.141f, 126.531f, "서대문구", "버스 7016", "깔끔", "", 4.56f, 125, "전체", "원룸", "이재복", 543, null, null, null, null);
+        Accommodation accommodation = new Accommodation(null, 0, "서울특별시", "마포구", "서울특별시 마포구", "원룸", 1, 1, 1, 40000, 2, "010-1234-5678", 36.141f, 126.531f, "마포", "버스 7016", "깔끔", "", 4.56f, 125, "전체", "원룸", "이재복", 543, null, null, null);
+        Accommodation accommodation2 = new Accommodation(null, 0, "서울특별시", "서대문구", "서울특별시 서대문구", "아파트", 2, 2, 2, 100000, 4, "010-1234-5678", 36.141f, 126.531f, "서대문구", "버스 7016", "깔끔", "", 4.56f, 125, "전체", "원룸", "이재복", 543, null, null, null);
 
         accommodationRepository.save(accommodation);
         accommodationRepository.save(accommodation2);
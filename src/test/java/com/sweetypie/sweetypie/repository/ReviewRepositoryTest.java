@@ -1,7 +1,6 @@
 package com.sweetypie.sweetypie.repository;
 
 import com.sweetypie.sweetypie.model.Accommodation;
-import com.sweetypie.sweetypie.model.BookedDate;
 import com.sweetypie.sweetypie.model.Member;
 import com.sweetypie.sweetypie.model.Reservation;
 import com.sweetypie.sweetypie.model.Review;
@@ -11,7 +10,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -48,7 +46,7 @@ class ReviewRepositoryTest {
 
     private Accommodation givenAccommodation() {
 
-        return accommodationRepository.save(new Accommodation(null, 0, "대구광역시", "수성구", "대구광역시 수성구 xx로", "원룸", 1, 1, 1, 40000, 2, "010-1234-5678", 36.141f, 126.531f, "마포역 1번 출구 앞", "버스 7016", "깨끗해요", "착해요", 4.56f, 125, "전체", "원룸", "이재복", 543, null, null, new ArrayList<>(), null));
+        return accommodationRepository.save(new Accommodation(null, 0, "대구광역시", "수성구", "대구광역시 수성구 xx로", "원룸", 1, 1, 1, 40000, 2, "010-1234-5678", 36.141f, 126.531f, "마포역 1번 출구 앞", "버스 7016", "깨끗해요", "착해요", 4.56f, 125, "전체", "원룸", "이재복", 543, null, null, null));
     }
 
     private Member givenMember() {
@@ -75,12 +73,6 @@ class ReviewRepositoryTest {
         reservation.setAccommodation(accommodation);
         reservation.setMember(member);
 
-        for (LocalDate localDate = reservation.getCheckInDate(); localDate.isBefore(reservation.getCheckoutDate()); localDate = localDate.plusDays(1)) {
-            BookedDate bookedDate = new BookedDate();
-            bookedDate.setDate(localDate);
-            bookedDate.setReservation(reservation);
-        }
-
         return reservationRepository.save(reservation);
     }
 
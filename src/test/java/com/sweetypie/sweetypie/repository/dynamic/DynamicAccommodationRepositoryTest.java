@@ -1,7 +1,6 @@
 package com.sweetypie.sweetypie.repository.dynamic;
 
 import com.sweetypie.sweetypie.model.Accommodation;
-import com.sweetypie.sweetypie.model.BookedDate;
 import com.sweetypie.sweetypie.model.Member;
 import com.sweetypie.sweetypie.model.Reservation;
 import com.sweetypie.sweetypie.repository.AccommodationRepository;
@@ -16,7 +15,6 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -114,7 +112,7 @@ class DynamicAccommodationRepositoryTest {
                 1, 1, 1, 40000, 2, "010-1234-5678", 36.141f,
                 126.531f, "마포역 1번 출구 앞", "버스 7016", "깨끗해요",
                 "착해요", 4.56f, 125, "전체", "원룸", "이재복",
-                543, null, null, new ArrayList<>(), null);
+                543, null, null, null);
     }
 
     private Member givenMember() {
@@ -132,12 +130,6 @@ class DynamicAccommodationRepositoryTest {
         Member member = givenMember();
         Reservation reservation = givenReservation(accommodation, member);
 
-        for (LocalDate localDate = reservation.getCheckInDate(); localDate.isBefore(reservation.getCheckoutDate()); localDate = localDate.plusDays(1)) {
-            BookedDate bookedDate = new BookedDate();
-            bookedDate.setDate(localDate);
-            bookedDate.setReservation(reservation);
-        }
-
         reservationRepository.save(reservation);
     }
 
@@ -1,9 +1,10 @@
 package com.sweetypie.sweetypie.repository.dynamic;
 
-import com.sweetypie.sweetypie.model.BookedDate;
+import com.sweetypie.sweetypie.dto.ReservationDto;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,18 +25,39 @@ class DynamicReservationRepositoryTest {
     @Test
     void duplicateReservationDate(){
 
-        List<BookedDate> findBookedDate = dynamicReservationRepository.findByAccommodationIdAndDate(1L, LocalDate.of(2022, 2, 10), LocalDate.of(2022, 2, 12));
-
-        assertThat(findBookedDate.size()).isEqualTo(2);
-        assertThat(findBookedDate.get(0).getDate()).isEqualTo("2022-02-10");
-        assertThat(findBookedDate.get(1).getDate()).isEqualTo("2022-02-11");
+        assertThat(dynamicReservationRepository.existsOverlapping(1L, LocalDate.of(2022, 2, 10), LocalDate.of(2022, 2, 12), null)).isTrue();
+        assertThat(dynamicReservationRepository.existsOverlapping(1L, LocalDate.of(2022, 2, 11), LocalDate.of(2022, 2, 15), null)).isTrue();
+        assertThat(dynamicReservationRepository.existsOverlapping(1L, LocalDate.of(2022, 2, 10), LocalDate.of(2022, 2, 12), 1L)).isFalse();
     }
 
     @Test
     void nonDuplicateReservationDate(){
 
-        List<BookedDate> findBookedDate = dynamicReservationRepository.findByAccommodationIdAndDate(1L, LocalDate.of(2022, 5, 20), LocalDate.of(2022, 5, 22));
+        assertThat(dynamicReservationRepository.existsOverlapping(1L, LocalDate.of(2022, 5, 20), LocalDate.of(2022, 5, 22), null)).isFalse();
+        assertThat(dynamicReservationRepository.existsOverlapping(1L, LocalDate.of(2022, 2, 12), LocalDate.of(2022, 2, 20), null)).isFalse();
+    }
+
+    @Test
+    void findReservationsByMemberId() {
+
+        List<ReservationDto> reservations = dynamicReservationRepository.findByMemberId(1L);
+
+        assertThat(reservations.size()).isEqualTo(3);
+        assertThat(reservations.get(0).getReservationId()).isEqualTo(1L);
+        assertThat(reservations.get(0).getCity()).isEqualTo("서울특별시");
+        assertThat(reservations.get(0).getAccommodationPicture().getUrl()).isEqualTo("picture");
+    }
+
+    @Test
+    void findReservationsByMemberIdAfterCursor() {
+
+        Slice<ReservationDto> first = dynamicReservationRepository.findByMemberId(1L, null, 2);
+        Slice<ReservationDto> second = dynamicReservationRepository.findByMemberId(1L, first.getContent().get(1).getReservationId(), 2);
 
-        assertThat(findBookedDate.size()).isEqualTo(0);
+        assertThat(first.getContent().size()).isEqualTo(2);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent().size()).isEqualTo(1);
+        assertThat(second.getContent().get(0).getReservationId()).isEqualTo(100L);
+        assertThat(second.hasNext()).isFalse();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,89 @@
+package com.sweetypie.sweetypie.security.jwt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenBlacklistTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private TokenBlacklist tokenBlacklist;
+
+    @BeforeEach
+    void setUp() {
+        tokenBlacklist = new TokenBlacklist(redisTemplate, 3600, 1000);
+        tokenBlacklist.load();
+    }
+
+    @DisplayName("로그아웃하지 않은 토큰은 Redis 조회 없이 통과")
+    @Test
+    void notRevokedWithoutRedis() {
+        assertThat(tokenBlacklist.isRevoked("token", TokenBlacklist.digest("token"))).isFalse();
+
+        verify(redisTemplate, never()).opsForValue();
+    }
+
+    @DisplayName("로그아웃한 토큰은 필터에 걸리고 Redis 로 확인")
+    @Test
+    void revoked() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(JwtFilter.HEADER_PREFIX + "token")).thenReturn(JwtFilter.HEADER_PREFIX + "token");
+
+        tokenBlacklist.revoke(JwtFilter.HEADER_PREFIX + "token");
+
+        assertThat(tokenBlacklist.isRevoked("token", TokenBlacklist.digest("token"))).isTrue();
+        assertThat(tokenBlacklist.isRevoked("other", TokenBlacklist.digest("other"))).isFalse();
+    }
+
+    @DisplayName("Redis 가 응답하지 않으면 필터에 걸린 토큰만 로그아웃된 것으로 판단")
+    @Test
+    void filterOnlyWithoutRedis() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(JwtFilter.HEADER_PREFIX + "token")).thenThrow(new RedisConnectionFailureException("Unable to connect to Redis"));
+
+        tokenBlacklist.revoke(JwtFilter.HEADER_PREFIX + "token");
+
+        assertThat(tokenBlacklist.isRevoked("token", TokenBlacklist.digest("token"))).isTrue();
+        assertThat(tokenBlacklist.isRevoked("other", TokenBlacklist.digest("other"))).isFalse();
+    }
+
+    @DisplayName("필터를 채우지 못하면 요청마다 Redis 로 확인하다가 스케줄러가 다시 채운 뒤에는 보지 않음")
+    @Test
+    void resync() {
+        when(redisTemplate.execute(any(RedisCallback.class))).thenThrow(new RedisConnectionFailureException("Unable to connect to Redis"));
+        TokenBlacklist unsynced = new TokenBlacklist(redisTemplate, 3600, 1000);
+        unsynced.load();
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(JwtFilter.HEADER_PREFIX + "token")).thenThrow(new RedisConnectionFailureException("Unable to connect to Redis"));
+
+        assertThat(unsynced.isRevoked("token", TokenBlacklist.digest("token"))).isFalse();
+
+        doReturn(null).when(redisTemplate).execute(any(RedisCallback.class));
+        unsynced.resync();
+
+        assertThat(unsynced.isRevoked("token", TokenBlacklist.digest("token"))).isFalse();
+        verify(redisTemplate, times(1)).opsForValue();
+    }
+}
@@ -0,0 +1,243 @@
+package com.sweetypie.sweetypie.security.oauth;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.sweetypie.sweetypie.exception.InputNotValidException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 실제 Google 대신 로컬 스텁 서버에 토큰 교환, 공개키, 토큰 만료 요청을 보낸다
+class GoogleOAuthClientTest {
+
+    private static final String CLIENT_ID = "test-client";
+
+    private HttpServer server;
+
+    private KeyPair keyPair;
+
+    private String idToken;
+
+    private final AtomicInteger jwksRequests = new AtomicInteger();
+
+    private final List<String> revokeBodies = new CopyOnWriteArrayList<>();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private GoogleOAuthClient client;
+
+    private GoogleIdTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+        idToken = idToken("key-1", CLIENT_ID);
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/token", exchange -> respond(exchange,
+                "{\"access_token\":\"access\",\"expires_in\":3599,\"token_type\":\"Bearer\",\"id_token\":\"" + idToken + "\"}"));
+        server.createContext("/certs", exchange -> {
+            jwksRequests.incrementAndGet();
+            exchange.getResponseHeaders().add("Cache-Control", "public, max-age=3600");
+            respond(exchange, jwks("key-1"));
+        });
+        server.createContext("/revoke", exchange -> {
+            revokeBodies.add(body(exchange));
+            respond(exchange, "");
+        });
+        server.start();
+
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        client = new GoogleOAuthClient(meterRegistry, Runnable::run);
+        ReflectionTestUtils.setField(client, "clientId", CLIENT_ID);
+        ReflectionTestUtils.setField(client, "clientSecret", "secret");
+        ReflectionTestUtils.setField(client, "redirectUri", baseUrl + "/callback");
+        ReflectionTestUtils.setField(client, "tokenUri", baseUrl + "/token");
+        ReflectionTestUtils.setField(client, "revokeUri", baseUrl + "/revoke");
+        ReflectionTestUtils.setField(client, "jwksUri", baseUrl + "/certs");
+        ReflectionTestUtils.setField(client, "maxConnections", 4);
+        ReflectionTestUtils.setField(client, "connectTimeoutMillis", 1000);
+        ReflectionTestUtils.setField(client, "readTimeoutMillis", 1000);
+        client.afterPropertiesSet();
+
+        verifier = new GoogleIdTokenVerifier(client);
+        ReflectionTestUtils.setField(verifier, "clientId", CLIENT_ID);
+        ReflectionTestUtils.setField(verifier, "ttlSeconds", 3600L);
+        ReflectionTestUtils.setField(verifier, "minRefreshSeconds", 60L);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.destroy();
+        server.stop(0);
+    }
+
+    @DisplayName("인가 코드를 교환하고 ID 토큰을 공개키로 검증-성공")
+    @Test
+    void exchangeAndVerify() {
+        Claims claims = verifier.verify(client.exchangeCode("code").getIdToken());
+
+        assertThat(claims.getSubject()).isEqualTo("1234");
+        assertThat(claims.get("email", String.class)).isEqualTo("google@gmail.com");
+    }
+
+    @DisplayName("공개키는 캐시해서 검증마다 다시 받지 않음")
+    @Test
+    void jwksCached() {
+        for (int i = 0; i < 10; i++) {
+            verifier.verify(idToken);
+        }
+
+        assertThat(jwksRequests.get()).isEqualTo(1);
+    }
+
+    @DisplayName("다른 클라이언트용 ID 토큰-실패")
+    @Test
+    void wrongAudience() {
+        String token = idToken("key-1", "other-client");
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(InputNotValidException.class);
+    }
+
+    @DisplayName("이메일이 확인되지 않은 ID 토큰-실패")
+    @Test
+    void emailNotVerified() {
+        String token = idToken("key-1", CLIENT_ID, false);
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(InputNotValidException.class);
+    }
+
+    @DisplayName("모르는 kid 는 한 번만 다시 받아 보고 거절-실패")
+    @Test
+    void unknownKid() {
+        verifier.verify(idToken);
+        String token = idToken("key-2", CLIENT_ID);
+
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(InputNotValidException.class);
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(InputNotValidException.class);
+        assertThat(jwksRequests.get()).isEqualTo(1);
+    }
+
+    @DisplayName("액세스 토큰 만료 요청을 실행기에 넘김")
+    @Test
+    void revokeAsync() {
+        client.revokeAsync("access");
+
+        assertThat(revokeBodies).containsExactly("token=access");
+    }
+
+    @DisplayName("토큰 교환 지연 시간이 Timer 에 기록되어 p99 확인")
+    @Test
+    void tokenLatencyRecorded() {
+        Timer.builder("sweetypie.google.oauth")
+                .tag("call", "token")
+                .tag("outcome", "success")
+                .publishPercentiles(0.99)
+                .register(meterRegistry);
+
+        for (int i = 0; i < 50; i++) {
+            client.exchangeCode("code");
+        }
+
+        Timer timer = meterRegistry.get("sweetypie.google.oauth").tag("call", "token").tag("outcome", "success").timer();
+        ValueAtPercentile p99 = timer.takeSnapshot().percentileValues()[0];
+
+        assertThat(timer.count()).isEqualTo(50);
+        assertThat(p99.percentile()).isEqualTo(0.99);
+        assertThat(p99.value(TimeUnit.MILLISECONDS)).isLessThan(1000);
+    }
+
+    private String idToken(String kid, String audience) {
+
+        return idToken(kid, audience, true);
+    }
+
+    private String idToken(String kid, String audience, boolean emailVerified) {
+
+        return Jwts.builder()
+                .setHeaderParam("kid", kid)
+                .setIssuer("https://accounts.google.com")
+                .setAudience(audience)
+                .setSubject("1234")
+                .claim("email", "google@gmail.com")
+                .claim("email_verified", emailVerified)
+                .claim("name", "테스터")
+                .setExpiration(new Date(System.currentTimeMillis() + 3600_000))
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+
+    private String jwks(String kid) {
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+
+        return "{\"keys\":[{\"kty\":\"RSA\",\"alg\":\"RS256\",\"use\":\"sig\",\"kid\":\"" + kid
+                + "\",\"n\":\"" + base64Url(publicKey.getModulus()) + "\",\"e\":\"" + base64Url(publicKey.getPublicExponent()) + "\"}]}";
+    }
+
+    private String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+
+        if (bytes[0] == 0) {
+            byte[] unsigned = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+            bytes = unsigned;
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private String body(HttpExchange exchange) throws IOException {
+        StringBuilder body = new StringBuilder();
+
+        try (Reader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            char[] buffer = new char[256];
+            int read;
+
+            while ((read = reader.read(buffer)) != -1) {
+                body.append(buffer, 0, read);
+            }
+        }
+
+        return body.toString();
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length == 0 ? -1 : bytes.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
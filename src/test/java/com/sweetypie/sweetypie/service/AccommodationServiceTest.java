@@ -1,10 +1,20 @@
 package com.sweetypie.sweetypie.service;
 
+import com.sweetypie.sweetypie.cache.AccommodationDetailCache;
+import com.sweetypie.sweetypie.cache.BookmarkCache;
+import com.sweetypie.sweetypie.dto.CursorSlice;
+import com.sweetypie.sweetypie.dto.PriceHistogramDto;
 import com.sweetypie.sweetypie.dto.SearchAccommodationDto;
+import com.sweetypie.sweetypie.dto.SearchCursor;
+import com.sweetypie.sweetypie.exception.InputNotValidException;
+import com.sweetypie.sweetypie.index.DailyOrdering;
+import com.sweetypie.sweetypie.index.OrderingSnapshot;
 import com.sweetypie.sweetypie.model.Accommodation;
 import com.sweetypie.sweetypie.model.AccommodationPicture;
 import com.sweetypie.sweetypie.repository.AccommodationPictureRepository;
+import com.sweetypie.sweetypie.repository.ReviewSummaryRepository;
 import com.sweetypie.sweetypie.repository.dynamic.DynamicAccommodationRepository;
+import com.sweetypie.sweetypie.repository.dynamic.DynamicReviewRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,12 +24,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,6 +48,21 @@ class AccommodationServiceTest {
     @Mock
     private AccommodationPictureRepository accPictureRepository;
 
+    @Mock
+    private BookmarkCache bookmarkCache;
+
+    @Mock
+    private AccommodationDetailCache accommodationDetailCache;
+
+    @Mock
+    private ReviewSummaryRepository reviewSummaryRepository;
+
+    @Mock
+    private DynamicReviewRepository dynamicReviewRepository;
+
+    @Mock
+    private DailyOrdering dailyOrdering;
+
     @DisplayName("도시별 검색")
     @Test
     void findByCity() {
@@ -64,9 +93,6 @@ class AccommodationServiceTest {
         when(dynamicAccommodationRepository
                 .findAccommodationsBySearch("서울", LocalDate.now(), null, 1, null, null, null, PageRequest.of(1, 10)))
                 .thenReturn(mockAccommodationPage());
-        when(dynamicAccommodationRepository
-                .findIsBookmarks("서울", LocalDate.now(), null, 1, null, null, null, null, PageRequest.of(1, 10)))
-                .thenReturn(null);
 
 
         Page<SearchAccommodationDto> accommodations = accommodationService
@@ -84,10 +110,6 @@ class AccommodationServiceTest {
         when(dynamicAccommodationRepository.findAccommodationsBySearch(null, LocalDate.of(2022, 3, 5)
                 , LocalDate.of(2022, 3, 10), 0, null, null, null, PageRequest.of(1, 10)))
                 .thenReturn(mockAccommodationPage());
-        when(dynamicAccommodationRepository
-                .findIsBookmarks(null, LocalDate.of(2022, 3, 5)
-                        , LocalDate.of(2022, 3, 10), 0, null, null, null, null, PageRequest.of(1, 10)))
-                .thenReturn(null);
 
         Page<SearchAccommodationDto> accommodations = accommodationService.findAccommodationsBySearch(null, null, LocalDate.of(2022, 3, 5),
                 LocalDate.of(2022, 3, 10), 0, null, null, null, PageRequest.of(1, 10));
@@ -103,10 +125,6 @@ class AccommodationServiceTest {
         when(dynamicAccommodationRepository.findAccommodationsBySearch(null, LocalDate.of(2022, 5, 1),
                 null, 0, null, null, null, PageRequest.of(1, 10)))
                 .thenReturn(mockAccommodationPage());
-        when(dynamicAccommodationRepository
-                .findIsBookmarks(null, LocalDate.of(2022, 5, 1),
-                        null, 0, null, null, null, null, PageRequest.of(1, 10)))
-                .thenReturn(null);
 
         Page<SearchAccommodationDto> accommodations = accommodationService
                 .findAccommodationsBySearch(null, null, LocalDate.of(2022, 5, 1),
@@ -117,9 +135,104 @@ class AccommodationServiceTest {
         assertThat(accommodations.toList().get(0).getAccommodationPictures().get(0).getUrl()).isEqualTo("https://sharebnb.co.kr/pictures/1.jpg");
     }
 
+    @DisplayName("로그인 회원 메인 검색 시 북마크 표시")
+    @Test
+    void searchAccommodationsWithBookmarks() {
+        when(dynamicAccommodationRepository
+                .findAccommodationsBySearch("서울", LocalDate.now(), null, 1, null, null, null, PageRequest.of(1, 10)))
+                .thenReturn(mockAccommodationPage());
+        when(bookmarkCache.get(1L)).thenReturn(new HashSet<>(Arrays.asList(3L, 100L)));
+
+        Page<SearchAccommodationDto> accommodations = accommodationService
+                .findAccommodationsBySearch(1L, "서울", null, null, 1, null, null, null, PageRequest.of(1, 10));
+
+        assertThat(accommodations.toList().get(2).isBookmarked()).isTrue();
+        assertThat(accommodations.toList().stream().filter(SearchAccommodationDto::isBookmarked).count()).isEqualTo(1);
+    }
+
+    @DisplayName("메인 검색 커서 페이징")
+    @Test
+    void searchAccommodationsWithCursor() {
+        when(dynamicAccommodationRepository
+                .findAccommodationsBySearch("서울", LocalDate.now(), null, 1, null, null, null, null, 10))
+                .thenReturn(new SliceImpl<>(mockAccommodationList(), PageRequest.of(0, 10), true));
+        OrderingSnapshot ordering = OrderingSnapshot.shuffle(LocalDate.now(), 1L, 20);
+        when(dailyOrdering.current()).thenReturn(ordering);
+
+        CursorSlice<SearchAccommodationDto> accommodations = accommodationService
+                .findAccommodationsBySearch(null, "서울", null, null, 1, null, null, null, "", 10);
+
+        SearchCursor nextCursor = SearchCursor.decode(accommodations.getNextCursor());
+
+        assertThat(accommodations.getContent().size()).isEqualTo(10);
+        assertThat(accommodations.isHasNext()).isTrue();
+        assertThat(nextCursor.getSortKey()).isEqualTo(ordering.sortKey(10L));
+        assertThat(nextCursor.getId()).isEqualTo(10L);
+        assertThat(nextCursor.getVersion()).isEqualTo(ordering.version());
+    }
+
+    @DisplayName("커서 페이지 크기는 1 ~ 100")
+    @Test
+    void searchAccommodationsWithInvalidSize() {
+        assertThatThrownBy(() -> accommodationService.findByCity(null, "서울", "", 0))
+                .isInstanceOf(InputNotValidException.class);
+        assertThatThrownBy(() -> accommodationService.findAccommodationsBySearch(null, "서울", null, null, 1, null, null, null, "", 101))
+                .isInstanceOf(InputNotValidException.class);
+    }
+
+    @DisplayName("리뷰 페이지 크기는 1 ~ 100")
+    @Test
+    void findReviewsWithInvalidSize() {
+        assertThatThrownBy(() -> accommodationService.findReviews(1L, null, 0))
+                .isInstanceOf(InputNotValidException.class);
+        assertThatThrownBy(() -> accommodationService.findReviews(1L, null, Integer.MAX_VALUE))
+                .isInstanceOf(InputNotValidException.class);
+    }
+
+    @DisplayName("정렬 순서가 바뀐 뒤의 커서는 거절")
+    @Test
+    void searchAccommodationsWithExpiredCursor() {
+        OrderingSnapshot yesterday = OrderingSnapshot.shuffle(LocalDate.now().minusDays(1), 1L, 20);
+        String cursor = SearchCursor.of(yesterday.sortKey(10L), 10L, yesterday.version()).encode();
+
+        when(dailyOrdering.current()).thenReturn(OrderingSnapshot.shuffle(LocalDate.now(), 2L, 20));
+
+        assertThatThrownBy(() -> accommodationService.findByCity(null, "서울", cursor, 10))
+                .isInstanceOf(InputNotValidException.class)
+                .hasMessage("Cursor Expired");
+    }
+
+    @DisplayName("가격 히스토그램 - 상한가 이상은 마지막 구간")
+    @Test
+    void findPriceHistogram() {
+        when(dynamicAccommodationRepository
+                .findPricesBySearch("서울", null, null, null, null, LocalDate.now(), null, 1, null))
+                .thenReturn(new int[]{10000, 15000, 40000, 40000, 300000});
+
+        PriceHistogramDto histogram = accommodationService
+                .findPriceHistogram("서울", null, null, null, null, null, null, 1, null, 25);
+
+        assertThat(histogram.getCount()).isEqualTo(5);
+        assertThat(histogram.getMinPrice()).isEqualTo(10000);
+        assertThat(histogram.getMaxPrice()).isEqualTo(300000);
+        assertThat(histogram.getAvgPrice()).isEqualTo(81000);
+        assertThat(histogram.getBucketSize()).isEqualTo(10000);
+        assertThat(histogram.getBuckets()[1]).isEqualTo(2);
+        assertThat(histogram.getBuckets()[4]).isEqualTo(2);
+        assertThat(histogram.getBuckets()[24]).isEqualTo(1);
+    }
+
+    @DisplayName("가격 히스토그램 - 구간 수가 범위를 벗어나면 실패")
+    @Test
+    void findPriceHistogramInvalidBuckets() {
+        assertThatThrownBy(() -> accommodationService
+                .findPriceHistogram("서울", null, null, null, null, null, null, 1, null, 0))
+                .isInstanceOf(InputNotValidException.class);
+    }
+
     private Accommodation mockSearchAccommodationDto(Long id) {
         Accommodation searchAccommodationDto =
-                new Accommodation(id, 0, "서울특별시", "마포구", "서울특별시 마포구 독막로 266", "원룸", 1, 1, 1, 40000, 2, "010-1234-5678", 36.141f, 126.531f, "마포역 1번 출구 앞", "버스 7016", "깨끗해요", "착해요", 4.56f, 125, "전체", "원룸", "이재복", 543, null, new ArrayList<>(), null, mockAccPictures());
+                new Accommodation(id, 0, "서울특별시", "마포구", "서울특별시 마포구 독막로 266", "원룸", 1, 1, 1, 40000, 2, "010-1234-5678", 36.141f, 126.531f, "마포역 1번 출구 앞", "버스 7016", "깨끗해요", "착해요", 4.56f, 125, "전체", "원룸", "이재복", 543, null, new ArrayList<>(), mockAccPictures());
 
         return searchAccommodationDto;
     }
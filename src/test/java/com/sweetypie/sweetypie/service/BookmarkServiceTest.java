@@ -1,5 +1,6 @@
 package com.sweetypie.sweetypie.service;
 
+import com.sweetypie.sweetypie.cache.BookmarkCache;
 import com.sweetypie.sweetypie.dto.BookmarkDto;
 import com.sweetypie.sweetypie.dto.BookmarkListDto;
 import com.sweetypie.sweetypie.exception.DataNotFoundException;
@@ -7,19 +8,20 @@ import com.sweetypie.sweetypie.exception.DuplicateValueExeption;
 import com.sweetypie.sweetypie.model.Accommodation;
 import com.sweetypie.sweetypie.model.Bookmark;
 import com.sweetypie.sweetypie.model.Member;
-import com.sweetypie.sweetypie.repository.AccommodationPictureRepository;
 import com.sweetypie.sweetypie.repository.AccommodationRepository;
 import com.sweetypie.sweetypie.repository.BookmarkRepository;
 import com.sweetypie.sweetypie.repository.MemberRepository;
 import com.sweetypie.sweetypie.repository.dynamic.DynamicBookmarkRepository;
-import com.sweetypie.sweetypie.security.jwt.TokenProvider;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -28,7 +30,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -52,17 +54,14 @@ class BookmarkServiceTest {
     private AccommodationRepository accommodationRepository;
 
     @Mock
-    private AccommodationPictureRepository accommodationPictureRepository;
-
-    @Mock
-    private TokenProvider tokenProvider;
+    private BookmarkCache bookmarkCache;
 
     @DisplayName("북마크 리스트 조회")
     @Test
     void findBookmarks() {
         when(dynamicBookmarkRepository.findByMemberId(0L)).thenReturn(mockBookmarks());
 
-        List<BookmarkListDto> bookmarks = bookmarkService.findBookmarksByToken("token");
+        List<BookmarkListDto> bookmarks = bookmarkService.findBookmarksByToken(0L);
 
         assertThat(bookmarks.size()).isEqualTo(2);
 
@@ -76,48 +75,53 @@ class BookmarkServiceTest {
     @DisplayName("북마크 등록")
     @Test
     void postBookmark() {
-        when(memberRepository.findById(0L)).thenReturn(mockMember());
-        when(accommodationRepository.findById(0L)).thenReturn(mockAccommodation());
+        when(bookmarkCache.contains(0L, 0L)).thenReturn(false);
+        when(memberRepository.getOne(0L)).thenReturn(mockMember().get());
+        when(accommodationRepository.getOne(0L)).thenReturn(mockAccommodation().get());
 
-        bookmarkService.postBookmark("token", mockBookmarkDto());
+        bookmarkService.postBookmark(0L, mockBookmarkDto());
 
         verify(bookmarkRepository, times(1)).save(any(Bookmark.class));
+        verify(bookmarkCache, times(1)).evict(0L);
     }
 
-    @DisplayName("북마크 등록 (토큰에 있는 회원 없음)")
+    @DisplayName("북마크 등록 (없는 숙소)")
     @Test
-    void postBookmarkException1() {
-        lenient().when(accommodationRepository.findById(1L)).thenReturn(mockAccommodation());
+    void postBookmarkException2() {
+        when(bookmarkCache.contains(0L, 0L)).thenReturn(false);
+        when(bookmarkRepository.save(any(Bookmark.class))).thenThrow(new DataIntegrityViolationException("FK"));
 
-        DataNotFoundException dataNotFoundException = assertThrows(DataNotFoundException.class, ()
-                -> bookmarkService.postBookmark("token", mockBookmarkDto()));
+        DataNotFoundException dataNotFoundException = assertThrows(DataNotFoundException.class,
+                () -> bookmarkService.postBookmark(0L, mockBookmarkDto()));
 
-        assertThat(dataNotFoundException.getMessage()).isEqualTo("Member Not Found");
+        assertThat(dataNotFoundException.getMessage()).isEqualTo("Accommodation Not Found");
+        verify(bookmarkCache, never()).evict(0L);
     }
 
-    @DisplayName("북마크 등록 (없는 숙소)")
+    @DisplayName("북마크 등록 (유니크 키 중복)")
     @Test
-    void postBookmarkException2() {
-        when(memberRepository.findById(0L)).thenReturn(mockMember());
+    void postBookmarkException4() {
+        when(bookmarkCache.contains(0L, 0L)).thenReturn(false);
+        when(bookmarkRepository.save(any(Bookmark.class))).thenThrow(new DataIntegrityViolationException("UK",
+                new ConstraintViolationException("Duplicate entry", new SQLException(), "UK_BOOKMARK_MEMBER_ACCOMMODATION_INDEX_A")));
 
-        DataNotFoundException dataNotFoundException = assertThrows(DataNotFoundException.class,
-                () -> bookmarkService.postBookmark("token", mockBookmarkDto()));
+        DuplicateValueExeption duplicateValueExeption = assertThrows(DuplicateValueExeption.class,
+                () -> bookmarkService.postBookmark(0L, mockBookmarkDto()));
 
-        assertThat(dataNotFoundException.getMessage()).isEqualTo("Accommodation Not Found");
+        assertThat(duplicateValueExeption.getMessage()).isEqualTo("Already Have a Bookmark");
+        verify(bookmarkCache, never()).evict(0L);
     }
 
     @DisplayName("북마크 등록 (북마크 중복)")
     @Test
     void postBookmarkException3() {
-        when(memberRepository.findById(0L)).thenReturn(mockMember());
-        when(accommodationRepository.findById(0L)).thenReturn(mockAccommodation());
-        when(bookmarkRepository.findBookmarkByMemberIdAndAccommodationId(1L, 0L))
-                .thenReturn(mockBookmark());
+        when(bookmarkCache.contains(0L, 0L)).thenReturn(true);
 
         DuplicateValueExeption duplicateValueExeption = assertThrows(DuplicateValueExeption.class,
-                () -> bookmarkService.postBookmark("token", mockBookmarkDto()));
+                () -> bookmarkService.postBookmark(0L, mockBookmarkDto()));
 
         assertThat(duplicateValueExeption.getMessage()).isEqualTo("Already Have a Bookmark");
+        verify(bookmarkRepository, never()).save(any(Bookmark.class));
     }
 
     @DisplayName("북마크 제거")
@@ -125,11 +129,11 @@ class BookmarkServiceTest {
     void deleteBookmarkById() {
         when(bookmarkRepository.findBookmarkByMemberIdAndAccommodationId(0, 1))
                 .thenReturn(mockBookmark());
-        when(tokenProvider.parseTokenToGetMemberId("token")).thenReturn(0L);
 
-        bookmarkService.deleteBookmark("token", 1);
+        bookmarkService.deleteBookmark(0L, 1);
 
         verify(bookmarkRepository, times(1)).delete(mockBookmark().get());
+        verify(bookmarkCache, times(1)).evict(0L);
     }
 
     @DisplayName("북마크 제거 (없는 북마크)")
@@ -137,7 +141,7 @@ class BookmarkServiceTest {
     void deleteBookmarkException1() {
 
         DataNotFoundException dataNotFoundException = assertThrows(DataNotFoundException.class,
-                () -> bookmarkService.deleteBookmark("token", 1));
+                () -> bookmarkService.deleteBookmark(0L, 1));
 
         assertThat(dataNotFoundException.getMessage()).isEqualTo("Bookmark Not Found");
     }
@@ -171,7 +175,7 @@ class BookmarkServiceTest {
 
     private Accommodation givenAccommodation(Long id) {
 
-        return new Accommodation(id, 0, "서울특별시", "마포구", "서울특별시 마포구", "원룸", 1, 1, 1, 40000, 2, "010-1234-5678", 36.141f, 126.531f, "마포", "버스 7016", "깔끔", "", 4.56f, 125, "전체", "원룸", "이재복", 543, null, null, null, null);
+        return new Accommodation(id, 0, "서울특별시", "마포구", "서울특별시 마포구", "원룸", 1, 1, 1, 40000, 2, "010-1234-5678", 36.141f, 126.531f, "마포", "버스 7016", "깔끔", "", 4.56f, 125, "전체", "원룸", "이재복", 543, null, null, null);
     }
 
     private Optional<Member> mockMember() {
@@ -194,6 +198,6 @@ class BookmarkServiceTest {
     }
 
     private Optional<Accommodation> mockAccommodation() {
-        return Optional.of(new Accommodation(1L, 0, "서울특별시", "마포구", "서울특별시 마포구 독막로 266", "원룸", 1, 1, 1, 40000, 2, "010-1234-5678", 36.141f, 126.531f, "마포역 1번 출구 앞", "버스 7016", "깨끗해요", "착해요", 4.56f, 125, "전체", "원룸", "이재복", 543, null, new ArrayList<>(), null, null));
+        return Optional.of(new Accommodation(1L, 0, "서울특별시", "마포구", "서울특별시 마포구 독막로 266", "원룸", 1, 1, 1, 40000, 2, "010-1234-5678", 36.141f, 126.531f, "마포역 1번 출구 앞", "버스 7016", "깨끗해요", "착해요", 4.56f, 125, "전체", "원룸", "이재복", 543, null, new ArrayList<>(), null));
     }
 }
\ No newline at end of file
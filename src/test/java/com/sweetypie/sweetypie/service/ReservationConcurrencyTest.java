@@ -0,0 +1,127 @@
+package com.sweetypie.sweetypie.service;
+
+import com.sweetypie.sweetypie.dto.ReservationDto;
+import com.sweetypie.sweetypie.exception.DuplicateValueExeption;
+import com.sweetypie.sweetypie.model.Reservation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 여러 스레드가 실제로 커밋해야 하므로 테스트 트랜잭션 없이 실행하고, 만든 예약은 끝나면 지운다
+@SpringBootTest(properties = "spring.config.location="
+        + "classpath:test.yml")
+class ReservationConcurrencyTest {
+
+    private static final long ACCOMMODATION_ID = 3L;
+
+    private static final int PRICE_PER_DAY = 40000;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentLinkedQueue<Long> reservationIds = new ConcurrentLinkedQueue<>();
+
+    @AfterEach
+    void tearDown() {
+        for (Long id : reservationIds) {
+            reservationService.deleteReservation(id, 1L);
+        }
+    }
+
+    @DisplayName("같은 날짜에 동시에 예약하면 하나만 성공하고, 겹치지 않는 예약은 모두 성공")
+    @Test
+    void concurrentBookings() throws Exception {
+        LocalDate contested = LocalDate.now().plusYears(5);
+        int threads = 16;
+
+        List<Callable<Boolean>> bookings = new ArrayList<>();
+
+        for (int i = 0; i < threads / 2; i++) {
+            bookings.add(() -> book(contested, contested.plusDays(3)));
+        }
+
+        for (int i = 0; i < threads / 2; i++) {
+            LocalDate checkIn = contested.plusDays(10 + i * 2);
+            bookings.add(() -> book(checkIn, checkIn.plusDays(2)));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        for (Callable<Boolean> booking : bookings) {
+            results.add(executor.submit(() -> {
+                ready.countDown();
+                start.await();
+                return booking.call();
+            }));
+        }
+
+        ready.await();
+        start.countDown();
+
+        AtomicInteger succeeded = new AtomicInteger();
+
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                succeeded.incrementAndGet();
+            }
+        }
+
+        executor.shutdown();
+
+        Integer doubleBooked = jdbcTemplate.queryForObject(
+                "select count(*) from reservation a join reservation b on a.accommodation_id = b.accommodation_id and a.id < b.id "
+                        + "and a.check_in_date < b.checkout_date and b.check_in_date < a.checkout_date where a.accommodation_id = ?",
+                Integer.class, ACCOMMODATION_ID);
+
+        assertThat(succeeded.get()).isEqualTo(1 + threads / 2);
+        assertThat(doubleBooked).isZero();
+    }
+
+    private boolean book(LocalDate checkIn, LocalDate checkout) {
+        try {
+            Reservation reservation = reservationService.makeAReservation(1L, reservationDto(checkIn, checkout));
+            reservationIds.add(reservation.getId());
+
+            return true;
+        } catch (DuplicateValueExeption e) {
+            return false;
+        }
+    }
+
+    private ReservationDto reservationDto(LocalDate checkIn, LocalDate checkout) {
+        int nightPrice = PRICE_PER_DAY * (int) ChronoUnit.DAYS.between(checkIn, checkout);
+
+        return ReservationDto.builder()
+                .accommodationId(ACCOMMODATION_ID)
+                .checkInDate(checkIn)
+                .checkoutDate(checkout)
+                .totalGuestNum(2)
+                .adultNum(2)
+                .totalPrice(nightPrice + 10000 + (int) Math.round(nightPrice * 0.07))
+                .build();
+    }
+}
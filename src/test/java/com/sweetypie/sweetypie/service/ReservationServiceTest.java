@@ -1,12 +1,16 @@
 package com.sweetypie.sweetypie.service;
 
+import com.sweetypie.sweetypie.cache.AccommodationDetailCache;
+import com.sweetypie.sweetypie.cache.SearchResultCache;
+import com.sweetypie.sweetypie.dto.CursorSlice;
 import com.sweetypie.sweetypie.dto.ReservationDto;
 import com.sweetypie.sweetypie.exception.DataNotFoundException;
 import com.sweetypie.sweetypie.exception.DuplicateValueExeption;
 import com.sweetypie.sweetypie.exception.InputNotValidException;
+import com.sweetypie.sweetypie.index.AvailabilityIndex;
+import com.sweetypie.sweetypie.lock.AccommodationLocks;
 import com.sweetypie.sweetypie.model.*;
 import com.sweetypie.sweetypie.repository.AccommodationRepository;
-import com.sweetypie.sweetypie.repository.BookedDateRepository;
 import com.sweetypie.sweetypie.repository.MemberRepository;
 import com.sweetypie.sweetypie.repository.ReservationRepository;
 import com.sweetypie.sweetypie.repository.dynamic.DynamicReservationRepository;
@@ -16,6 +20,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -42,19 +48,28 @@ class ReservationServiceTest {
     private MemberRepository memberRepository;
 
     @Mock
-    private BookedDateRepository bookedDateRepository;
+    private DynamicReservationRepository dynamicReservationRepository;
 
     @Mock
-    private DynamicReservationRepository dynamicReservationRepository;
+    private AvailabilityIndex availabilityIndex;
+
+    @Mock
+    private SearchResultCache searchResultCache;
+
+    @Mock
+    private AccommodationDetailCache accommodationDetailCache;
+
+    @Mock
+    private AccommodationLocks accommodationLocks;
 
     @DisplayName("예약 내역 조회")
     @Test
     void getReservationByMemberId() {
-        when(reservationRepository.findReservationByMemberId(1L)).thenReturn(mockReservations());
+        when(dynamicReservationRepository.findByMemberId(1L)).thenReturn(mockReservationDtos());
 
         List<ReservationDto> reservationDtoList = reservationService.getReservations(1L);
 
-        assertThat(reservationDtoList.size()).isEqualTo(1);
+        assertThat(reservationDtoList.size()).isEqualTo(2);
         assertThat(reservationDtoList.get(0).getAccommodationId()).isEqualTo(1);
         assertThat(reservationDtoList.get(0).getCheckInDate()).isEqualTo("2020-02-22");
         assertThat(reservationDtoList.get(0).getCheckoutDate()).isEqualTo("2020-02-24");
@@ -67,20 +82,51 @@ class ReservationServiceTest {
     @DisplayName("예약 내역이 없음")
     @Test
     void getReservationByMemberIdEmpty() {
-        when(reservationRepository.findReservationByMemberId(1L)).thenReturn(new ArrayList<>());
+        when(dynamicReservationRepository.findByMemberId(1L)).thenReturn(new ArrayList<>());
 
-        List<Reservation> reservations = reservationRepository.findReservationByMemberId(1L);
+        List<ReservationDto> reservations = reservationService.getReservations(1L);
 
         assertThat(reservations.isEmpty()).isTrue();
     }
 
+    @DisplayName("예약 내역 조회 (커서)")
+    @Test
+    void getReservationByMemberIdWithCursor() {
+        when(dynamicReservationRepository.findByMemberId(1L, null, 1))
+                .thenReturn(new SliceImpl<>(mockReservationDtos().subList(0, 1), PageRequest.of(0, 1), true));
+        when(dynamicReservationRepository.findByMemberId(1L, 1L, 1))
+                .thenReturn(new SliceImpl<>(mockReservationDtos().subList(1, 2), PageRequest.of(0, 1), false));
+
+        CursorSlice<ReservationDto> first = reservationService.getReservations(1L, "", 1);
+        CursorSlice<ReservationDto> second = reservationService.getReservations(1L, first.getNextCursor(), 1);
+
+        assertThat(first.isHasNext()).isTrue();
+        assertThat(first.getNextCursor()).isEqualTo("1");
+        assertThat(second.getContent().get(0).getReservationId()).isEqualTo(2L);
+        assertThat(second.isHasNext()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @DisplayName("예약 내역 조회 (잘못된 커서)")
+    @Test
+    void getReservationByMemberIdInvalidCursor() {
+        assertThrows(InputNotValidException.class, () -> reservationService.getReservations(1L, "abc", 1));
+    }
+
+    @DisplayName("예약 내역 조회 (잘못된 페이지 크기)")
+    @Test
+    void getReservationByMemberIdInvalidSize() {
+        assertThrows(InputNotValidException.class, () -> reservationService.getReservations(1L, "", 0));
+        assertThrows(InputNotValidException.class, () -> reservationService.getReservations(1L, "", -1));
+        assertThrows(InputNotValidException.class, () -> reservationService.getReservations(1L, "", 101));
+    }
+
     @DisplayName("예약하기 성공")
     @Test
     void makeAReservation(){
 
         when(memberRepository.findById(1L)).thenReturn(mockMember());
-        when(accommodationRepository.findById(1L)).thenReturn(mockAccommodation());
-        when(dynamicReservationRepository.findByAccommodationIdAndDate(1L, LocalDate.of(2022, 3, 20), LocalDate.of(2022, 3, 22))).thenReturn(new ArrayList<>());
+        when(accommodationRepository.findByIdForUpdate(1L)).thenReturn(mockAccommodation());
         when(reservationRepository.save(any(Reservation.class))).thenReturn(mockReservation());
 
         ReservationDto dto = mockReservationDto(LocalDate.of(2022,3,20), LocalDate.of(2022,3,22), 95600);
@@ -93,13 +139,16 @@ class ReservationServiceTest {
         assertThat(reservation.getTotalPrice()).isEqualTo(95600);
         assertThat(reservation.getReservationCode()).isEqualTo("202102070000100001");
 
+        verify(accommodationLocks, times(1)).lockUntilCompletion(1L);
+        verify(dynamicReservationRepository, times(1)).existsOverlapping(1L, LocalDate.of(2022, 3, 20), LocalDate.of(2022, 3, 22), null);
         verify(reservationRepository, times(1)).save(any(Reservation.class));
+        verify(availabilityIndex, times(1)).book(1L, 1L, LocalDate.of(2022, 3, 20), LocalDate.of(2022, 3, 22));
     }
 
     @DisplayName("회원 정보를 찾을 수 없습니다.")
     @Test
     void makeAReservationIfNotFoundMemberInfo(){
-        lenient().when(accommodationRepository.findById(1L)).thenReturn(Optional.of(new Accommodation()));
+        lenient().when(accommodationRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(new Accommodation()));
 
         DataNotFoundException dataNotFoundException = assertThrows(DataNotFoundException.class, () -> reservationService.makeAReservation(1L,mockReservationDto(LocalDate.of(2022,3,20), LocalDate.of(2022,3,22), 95600)));
 
@@ -121,7 +170,7 @@ class ReservationServiceTest {
     void makeAReservationIfTotalPriceMisMatch(){
 
         when(memberRepository.findById(1L)).thenReturn(mockMember());
-        when(accommodationRepository.findById(1L)).thenReturn(mockAccommodation());
+        when(accommodationRepository.findByIdForUpdate(1L)).thenReturn(mockAccommodation());
 
         InputNotValidException inputNotValidException = assertThrows(InputNotValidException.class, () -> reservationService.makeAReservation(1L, mockReservationDto(LocalDate.of(2022,2,20), LocalDate.of(2022,2,22), 10000)));
 
@@ -133,8 +182,8 @@ class ReservationServiceTest {
     @Test
     void makeAReservationIfDuplicateReservedDate(){
         when(memberRepository.findById(1L)).thenReturn(mockMember());
-        when(accommodationRepository.findById(1L)).thenReturn(mockAccommodation());
-        when(dynamicReservationRepository.findByAccommodationIdAndDate(1L, LocalDate.of(2022, 3, 20), LocalDate.of(2022, 3, 22))).thenReturn(mockBookedDate());
+        when(accommodationRepository.findByIdForUpdate(1L)).thenReturn(mockAccommodation());
+        when(dynamicReservationRepository.existsOverlapping(1L, LocalDate.of(2022, 3, 20), LocalDate.of(2022, 3, 22), null)).thenReturn(true);
 
         ReservationDto reservationDto = mockReservationDto(LocalDate.of(2022,3,20), LocalDate.of(2022,3,22), 95600);
 
@@ -143,6 +192,40 @@ class ReservationServiceTest {
         assertThat(duplicateValueExeption.getMessage()).isEqualTo("이미 예약된 날짜입니다.");
     }
 
+    @DisplayName("예약하기 인덱스에 겹치는 예약이 있으면 잠금 없이 DB 로 확인하고 거절")
+    @Test
+    void makeAReservationIfIndexAndDatabaseBooked(){
+        when(memberRepository.findById(1L)).thenReturn(mockMember());
+        when(availabilityIndex.isBooked(1L, LocalDate.of(2022, 3, 20), LocalDate.of(2022, 3, 22))).thenReturn(true);
+        when(dynamicReservationRepository.existsOverlapping(1L, LocalDate.of(2022, 3, 20), LocalDate.of(2022, 3, 22), null)).thenReturn(true);
+
+        ReservationDto reservationDto = mockReservationDto(LocalDate.of(2022,3,20), LocalDate.of(2022,3,22), 95600);
+
+        DuplicateValueExeption duplicateValueExeption = assertThrows(DuplicateValueExeption.class, () -> reservationService.makeAReservation(1L, reservationDto));
+
+        assertThat(duplicateValueExeption.getMessage()).isEqualTo("이미 예약된 날짜입니다.");
+
+        verify(accommodationLocks, never()).lockUntilCompletion(anyLong());
+        verify(accommodationRepository, never()).findByIdForUpdate(anyLong());
+    }
+
+    @DisplayName("예약하기 인덱스에만 남아 있는 예약은 인덱스를 다시 읽고 예약")
+    @Test
+    void makeAReservationIfIndexIsStale(){
+        when(memberRepository.findById(1L)).thenReturn(mockMember());
+        when(availabilityIndex.isBooked(1L, LocalDate.of(2022, 3, 20), LocalDate.of(2022, 3, 22))).thenReturn(true);
+        when(accommodationRepository.findByIdForUpdate(1L)).thenReturn(mockAccommodation());
+        when(reservationRepository.save(any(Reservation.class))).thenReturn(mockReservation());
+
+        ReservationDto reservationDto = mockReservationDto(LocalDate.of(2022,3,20), LocalDate.of(2022,3,22), 95600);
+
+        reservationService.makeAReservation(1L, reservationDto);
+
+        verify(availabilityIndex, times(1)).reload(1L);
+        verify(dynamicReservationRepository, times(2)).existsOverlapping(1L, LocalDate.of(2022, 3, 20), LocalDate.of(2022, 3, 22), null);
+        verify(reservationRepository, times(1)).save(any(Reservation.class));
+    }
+
     @DisplayName("예약하기 체크아웃날짜가 체크인날짜보다 빠른날자로 입력되었을 때 예외")
     @Test
     void makeAReservationIfEnteredCheckoutDateEarlierThanCheckInDate(){
@@ -156,7 +239,7 @@ class ReservationServiceTest {
     @Test
     void makeAReservationIfTotalGuestNumGreaterThanCapacity(){
         when(memberRepository.findById(1L)).thenReturn(mockMember());
-        when(accommodationRepository.findById(1L)).thenReturn(mockAccommodation());
+        when(accommodationRepository.findByIdForUpdate(1L)).thenReturn(mockAccommodation());
 
         InputNotValidException inputNotValidException = assertThrows(InputNotValidException.class, () -> reservationService.makeAReservation(1L, mockValidateCapacityReservationDto()));
 
@@ -168,7 +251,6 @@ class ReservationServiceTest {
     void updateReservationSuccess() {
 
         when(reservationRepository.findById(1L)).thenReturn(mockFindReservation());
-        when(dynamicReservationRepository.findByAccommodationIdAndDate(1L, LocalDate.of(2022, 3, 20), LocalDate.of(2022, 3, 22))).thenReturn(new ArrayList<>());
         when(reservationRepository.save(any(Reservation.class))).thenReturn(mockReservation());
 
         ReservationDto dto = mockReservationDto(LocalDate.of(2022,3,20), LocalDate.of(2022,3,22), 95600);
@@ -180,15 +262,17 @@ class ReservationServiceTest {
         assertThat(reservation.getTotalGuestNum()).isEqualTo(dto.getTotalGuestNum());
         assertThat(reservation.getTotalPrice()).isEqualTo(dto.getTotalPrice());
 
-        verify(bookedDateRepository, times(1)).deleteBookedDateByReservationId(1L);
-
+        verify(accommodationRepository, times(1)).findByIdForUpdate(1L);
+        verify(dynamicReservationRepository, times(1)).existsOverlapping(1L, LocalDate.of(2022, 3, 20), LocalDate.of(2022, 3, 22), 1L);
+        verify(availabilityIndex, times(1)).release(1L, 1L, LocalDate.of(2022, 2, 20), LocalDate.of(2022, 2, 22));
+        verify(availabilityIndex, times(1)).book(1L, 1L, LocalDate.of(2022, 3, 20), LocalDate.of(2022, 3, 22));
     }
 
     @DisplayName("예약 날짜 중복으로 예약수정 실패")
     @Test
     void updateReservationIfDuplicateReservedDate(){
         when(reservationRepository.findById(1L)).thenReturn(mockFindReservation());
-        when(dynamicReservationRepository.findByAccommodationIdAndDate(1L, LocalDate.of(2022, 3, 20), LocalDate.of(2022, 3, 22))).thenReturn(mockBookedDate());
+        when(dynamicReservationRepository.existsOverlapping(1L, LocalDate.of(2022, 3, 20), LocalDate.of(2022, 3, 22), 1L)).thenReturn(true);
 
         ReservationDto dto = mockReservationDto(LocalDate.of(2022,3,20), LocalDate.of(2022,3,22), 95600);
 
@@ -252,7 +336,7 @@ class ReservationServiceTest {
         reservationService.deleteReservation(1L, 1L);
 
         verify(reservationRepository, times(1)).findById(1L);
-        verify(reservationRepository, times(1)).deleteById(1L);
+        verify(reservationRepository, times(1)).delete(any(Reservation.class));
 
     }
 
@@ -269,38 +353,13 @@ class ReservationServiceTest {
     }
 
     // getReservations
-    private List<Reservation> mockReservations() {
-        List<AccommodationPicture> accommodationPictures = new ArrayList<>();
-        AccommodationPicture firAccommodationPicture = new AccommodationPicture();
-        firAccommodationPicture.setUrl("picture");
-
-        accommodationPictures.add(firAccommodationPicture);
-
-        AccommodationPicture secAccommodationPicture = new AccommodationPicture();
-        secAccommodationPicture.setUrl("photo");
-
-        accommodationPictures.add(secAccommodationPicture);
-
-        List<Reservation> reservations = new ArrayList<>();
-        Accommodation accommodation = new Accommodation();
-        accommodation.setId(1L);
-        accommodation.setCity("서울시");
-        accommodation.setGu("강남구");
-        accommodation.setBathroomNum(4);
-        accommodation.setBedNum(8);
-        accommodation.setAccommodationPictures(accommodationPictures);
-
-        Reservation reservation = new Reservation();
-        LocalDate checkInDate = LocalDate.of(2020, 2, 22);
-        LocalDate checkoutDate = LocalDate.of(2020, 2, 24);
-        reservation.setCheckInDate(checkInDate);
-        reservation.setCheckoutDate(checkoutDate);
-        reservation.setTotalPrice(50000);
-        reservation.setTotalGuestNum(5);
-        reservation.setWrittenReview(false);
-        reservation.setAccommodation(accommodation);
+    private List<ReservationDto> mockReservationDtos() {
+        List<ReservationDto> reservations = new ArrayList<>();
 
-        reservations.add(reservation);
+        reservations.add(new ReservationDto(1L, LocalDate.of(2020, 2, 22), LocalDate.of(2020, 2, 24), 5, 5, 0, 0, 50000, false,
+                1L, "서울시", "강남구", "title", "host", 4, 2, 8, 4.5f, 10, 20000, 1L, "picture"));
+        reservations.add(new ReservationDto(2L, LocalDate.of(2020, 3, 22), LocalDate.of(2020, 3, 24), 2, 2, 0, 0, 50000, true,
+                2L, "서울시", "마포구", "title", "host", 1, 1, 1, 4.0f, 3, 20000, null, null));
 
         return reservations;
     }
@@ -322,13 +381,6 @@ class ReservationServiceTest {
 
     private Optional<Accommodation> mockAccommodation() {
 
-        BookedDate bookedDate = new BookedDate();
-        bookedDate.setDate(LocalDate.of(2020,2,20));
-        bookedDate.setDate(LocalDate.of(2020, 2, 21));
-
-        List<BookedDate> bookedDates = new ArrayList<>();
-        bookedDates.add(bookedDate);
-
         Accommodation accommodation = new Accommodation();
         accommodation.setId(1L);
         accommodation.setBathroomNum(2);
@@ -336,7 +388,6 @@ class ReservationServiceTest {
         accommodation.setPrice(40000);
         accommodation.setAccommodationType("집전체");
         accommodation.setBuildingType("게스트하우스");
-        accommodation.setBookedDates(bookedDates);
         accommodation.setCapacity(5);
 
         return Optional.of(accommodation);
@@ -346,6 +397,7 @@ class ReservationServiceTest {
 
         Reservation reservation = new Reservation();
 
+        reservation.setId(1L);
         reservation.setCheckInDate(LocalDate.of(2022, 3, 20));
         reservation.setCheckoutDate(LocalDate.of(2022, 3, 22));
         reservation.setTotalGuestNum(3);
@@ -413,38 +465,8 @@ class ReservationServiceTest {
         reservation.setTotalPrice(95600);
         reservation.setTotalGuestNum(5);
         reservation.setAccommodation(accommodation);
-        reservation.setBookedDates(mockBookedDate());
         reservation.setMember(member);
 
         return Optional.of(reservation);
     }
-
-    private List<BookedDate> mockBookedDate(){
-
-        Reservation reservation = new Reservation();
-        reservation.setId(1L);
-
-        Accommodation accommodation = Accommodation.builder().id(1L).build();
-
-        List<BookedDate> bookedDates = new ArrayList<>();
-
-        BookedDate bookedDate1 = new BookedDate();
-        bookedDate1.setId(1L);
-        bookedDate1.setDate(LocalDate.of(2022, 2, 20));
-        bookedDate1.setAccommodation(accommodation);
-        bookedDate1.setReservation(reservation);
-
-        bookedDates.add(bookedDate1);
-
-        BookedDate bookedDate2 = new BookedDate();
-        bookedDate2.setId(2L);
-        bookedDate2.setDate(LocalDate.of(2022, 2, 21));
-        bookedDate2.setAccommodation(accommodation);
-        bookedDate2.setReservation(reservation);
-
-        bookedDates.add(bookedDate2);
-
-        return bookedDates;
-
-    }
 }
\ No newline at end of file
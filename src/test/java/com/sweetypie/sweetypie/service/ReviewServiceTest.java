@@ -1,5 +1,6 @@
 package com.sweetypie.sweetypie.service;
 
+import com.sweetypie.sweetypie.cache.AccommodationDetailCache;
 import com.sweetypie.sweetypie.dto.ReviewDto;
 import com.sweetypie.sweetypie.exception.DataNotFoundException;
 import com.sweetypie.sweetypie.exception.DuplicateValueExeption;
@@ -8,10 +9,11 @@ import com.sweetypie.sweetypie.model.Accommodation;
 import com.sweetypie.sweetypie.model.Member;
 import com.sweetypie.sweetypie.model.Reservation;
 import com.sweetypie.sweetypie.model.Review;
-import com.sweetypie.sweetypie.repository.MemberRepository;
+import com.sweetypie.sweetypie.model.ReviewSummary;
 import com.sweetypie.sweetypie.repository.ReservationRepository;
 import com.sweetypie.sweetypie.repository.ReviewRepository;
-import com.sweetypie.sweetypie.security.jwt.TokenProvider;
+import com.sweetypie.sweetypie.repository.ReviewSummaryRepository;
+import com.sweetypie.sweetypie.repository.dynamic.DynamicReviewRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -42,21 +44,23 @@ class ReviewServiceTest {
     private ReviewRepository reviewRepository;
 
     @Mock
-    private MemberRepository memberRepository;
+    private ReviewSummaryRepository reviewSummaryRepository;
+
+    @Mock
+    private DynamicReviewRepository dynamicReviewRepository;
 
     @Mock
     private ReservationRepository reservationRepository;
 
     @Mock
-    private TokenProvider provider;
+    private AccommodationDetailCache accommodationDetailCache;
 
     @DisplayName("작성한 리뷰 가져오기")
     @Test
     void findReviewByAccommodation_IdAndMember_Id() {
         when(reviewRepository.findReviewByReservationId(1)).thenReturn(mockReview(mockReservation(LocalDate.of(2021, 2, 22), mockAccommodation().get()).get()));
-        when(memberRepository.findById(0L)).thenReturn(mockMember());
 
-        Review review = reviewService.findReviewByReservationId("token", 1);
+        Review review = reviewService.findReviewByReservationId(1L, 1);
 
         assertThat(review.getContent()).isEqualTo("좋아요");
         assertThat(review.getRating()).isEqualTo(3);
@@ -66,30 +70,29 @@ class ReviewServiceTest {
     @Test
     void findReviewException1() {
         DataNotFoundException dataNotFoundException = assertThrows(DataNotFoundException.class,
-                () -> reviewService.findReviewByReservationId("token", 1));
+                () -> reviewService.findReviewByReservationId(1L, 1));
 
         assertThat(dataNotFoundException.getMessage()).isEqualTo("Review Not Found");
     }
 
-    @DisplayName("작성한 리뷰 가져오기 (회원 없음)")
+    @DisplayName("작성한 리뷰 가져오기 (회원 정보 없음)")
     @Test
     void findReviewException2() {
         when(reviewRepository.findReviewByReservationId(1L)).thenReturn(mockReview(mockReservation(LocalDate.of(2021, 2, 22), mockAccommodation().get()).get()));
 
-        DataNotFoundException dataNotFoundException = assertThrows(DataNotFoundException.class,
-                () -> reviewService.findReviewByReservationId("token", 1));
+        InputNotValidException inputNotValidException = assertThrows(InputNotValidException.class,
+                () -> reviewService.findReviewByReservationId(null, 1));
 
-        assertThat(dataNotFoundException.getMessage()).isEqualTo("Member Not Found");
+        assertThat(inputNotValidException.getMessage()).isEqualTo("토큰의 회원 정보와 리뷰 작성자가 일치하지 않습니다.");
     }
 
     @DisplayName("작성한 리뷰 가져오기 (작성자 불일치)")
     @Test
     void findReviewException3() {
         when(reviewRepository.findReviewByReservationId(1L)).thenReturn(mockReview(mockReservation(LocalDate.of(2021, 2, 22), mockAccommodation().get()).get()));
-        when(memberRepository.findById(0L)).thenReturn(Optional.of(new Member()));
 
         InputNotValidException inputNotValidException = assertThrows(InputNotValidException.class,
-                () -> reviewService.findReviewByReservationId("token", 1));
+                () -> reviewService.findReviewByReservationId(2L, 1));
 
         assertThat(inputNotValidException.getMessage()).isEqualTo("토큰의 회원 정보와 리뷰 작성자가 일치하지 않습니다.");
     }
@@ -98,18 +101,26 @@ class ReviewServiceTest {
     @Test
     void postReview() {
         when(reservationRepository.findById(0L)).thenReturn(mockReservation(LocalDate.of(2021, 2, 22), mockAccommodation().get()));
-        when(memberRepository.findById(0L)).thenReturn(mockMember());
 
-        reviewService.writeReview("token", mockReviewDto());
+        ReviewSummary summarized = new ReviewSummary(1L);
+        ReviewSummary reviewSummary = new ReviewSummary(1L);
+        when(dynamicReviewRepository.summarize(1L)).thenReturn(summarized);
+        when(reviewSummaryRepository.findForUpdateByAccommodationId(1L)).thenReturn(Optional.of(reviewSummary));
+
+        reviewService.writeReview(1L, mockReviewDto());
 
         verify(reviewRepository, times(1)).save(any(Review.class));
+        verify(reviewSummaryRepository, times(1)).insertIfAbsent(summarized);
+        verify(reviewSummaryRepository, times(1)).save(reviewSummary);
+        assertThat(reviewSummary.getReviewCount()).isEqualTo(1);
+        assertThat(reviewSummary.getFourStarCount()).isEqualTo(1);
     }
 
     @DisplayName("리뷰 등록 (없는 예약)")
     @Test
     void postReviewException1() {
         DataNotFoundException dataNotFoundException = assertThrows(DataNotFoundException.class,
-                () -> reviewService.writeReview("token", mockReviewDto()));
+                () -> reviewService.writeReview(1L, mockReviewDto()));
 
         assertThat(dataNotFoundException.getMessage()).isEqualTo("Reservation Not Found");
     }
@@ -121,7 +132,7 @@ class ReviewServiceTest {
         when(reviewRepository.findReviewByReservationId(0L)).thenReturn(mockReview(mockReservation(LocalDate.of(2021, 2, 22), mockAccommodation().get()).get()));
 
         DuplicateValueExeption duplicateValueExeption = assertThrows(DuplicateValueExeption.class,
-                () -> reviewService.writeReview("token", mockReviewDto()));
+                () -> reviewService.writeReview(1L, mockReviewDto()));
 
         assertThat(duplicateValueExeption.getMessage()).isEqualTo("Already Have a Review");
     }
@@ -129,12 +140,12 @@ class ReviewServiceTest {
     @DisplayName("리뷰 등록 (체크인 이전)")
     @Test
     void postReviewException3() {
-        when(reservationRepository.findById(0L)).thenReturn(mockReservation(LocalDate.of(2021, 3, 1), mockAccommodation().get()));
+        when(reservationRepository.findById(0L)).thenReturn(mockReservation(LocalDate.now().plusDays(1), mockAccommodation().get()));
 
-        DataNotFoundException dataNotFoundException = assertThrows(DataNotFoundException.class,
-                () -> reviewService.writeReview("token", mockReviewDto()));
+        InputNotValidException inputNotValidException = assertThrows(InputNotValidException.class,
+                () -> reviewService.writeReview(1L, mockReviewDto()));
 
-        assertThat(dataNotFoundException.getMessage()).isEqualTo("Member Not Found");
+        assertThat(inputNotValidException.getMessage()).isEqualTo("숙소 이용 전에 리뷰를 작성할 수 없습니다.");
     }
 
     @DisplayName("리뷰 등록 (없는 숙소)")
@@ -143,20 +154,20 @@ class ReviewServiceTest {
         when(reservationRepository.findById(0L)).thenReturn(mockReservation(LocalDate.of(2021, 2, 1), null));
 
         DataNotFoundException dataNotFoundException = assertThrows(DataNotFoundException.class,
-                () -> reviewService.writeReview("token", mockReviewDto()));
+                () -> reviewService.writeReview(1L, mockReviewDto()));
 
         assertThat(dataNotFoundException.getMessage()).isEqualTo("Accommodation Not Found");
     }
 
-    @DisplayName("리뷰 등록 (없는 회원)")
+    @DisplayName("리뷰 등록 (다른 회원)")
     @Test
     void postReviewException5() {
         when(reservationRepository.findById(0L)).thenReturn(mockReservation(LocalDate.of(2021, 2, 22), mockAccommodation().get()));
 
-        DataNotFoundException dataNotFoundException = assertThrows(DataNotFoundException.class,
-                () -> reviewService.writeReview("token", mockReviewDto()));
+        InputNotValidException inputNotValidException = assertThrows(InputNotValidException.class,
+                () -> reviewService.writeReview(2L, mockReviewDto()));
 
-        assertThat(dataNotFoundException.getMessage()).isEqualTo("Member Not Found");
+        assertThat(inputNotValidException.getMessage()).isEqualTo("토큰의 회원 정보와 예약 회원이 일치하지 않습니다.");
     }
 
     @DisplayName("리뷰 등록 (다른 회원)")
@@ -164,10 +175,9 @@ class ReviewServiceTest {
     void postReviewException6() {
         when(reservationRepository.findById(0L)).thenReturn(mockReservation(LocalDate.of(2021, 2, 22), mockAccommodation().get()));
 
-        when(memberRepository.findById(0L)).thenReturn(Optional.of(new Member()));
 
         InputNotValidException inputNotValidException = assertThrows(InputNotValidException.class,
-                () -> reviewService.writeReview("token", mockReviewDto()));
+                () -> reviewService.writeReview(2L, mockReviewDto()));
 
         assertThat(inputNotValidException.getMessage()).isEqualTo("토큰의 회원 정보와 예약 회원이 일치하지 않습니다.");
     }
@@ -177,11 +187,12 @@ class ReviewServiceTest {
     void updateReview() {
         when(reviewRepository.findReviewByReservationId(0)).thenReturn(mockReview(mockReservation(LocalDate.of(2021, 2, 22), mockAccommodation().get()).get()));
         when(reservationRepository.findById(0L)).thenReturn(mockReservation(LocalDate.of(2021, 2, 22), mockAccommodation().get()));
-        when(memberRepository.findById(0L)).thenReturn(mockMember());
+        when(reviewSummaryRepository.existsById(1L)).thenReturn(true);
+        when(reviewSummaryRepository.findForUpdateByAccommodationId(1L)).thenReturn(Optional.of(new ReviewSummary(1L)));
 
-        reviewService.updateReview("token", mockReviewDto());
+        reviewService.updateReview(1L, mockReviewDto());
 
-        Review review = reviewService.findReviewByReservationId("token", 0);
+        Review review = reviewService.findReviewByReservationId(1L, 0);
 
         assertThat(review.getContent()).isEqualTo("변경");
         assertThat(review.getRating()).isEqualTo(4);
@@ -191,7 +202,7 @@ class ReviewServiceTest {
     @Test
     void updateReviewException1() {
         DataNotFoundException dataNotFoundException = assertThrows(DataNotFoundException.class,
-                () -> reviewService.updateReview("token", mockReviewDto()));
+                () -> reviewService.updateReview(1L, mockReviewDto()));
 
         assertThat(dataNotFoundException.getMessage()).isEqualTo("Review Not Found");
     }
@@ -202,7 +213,7 @@ class ReviewServiceTest {
         when(reviewRepository.findReviewByReservationId(0)).thenReturn(mockReview(mockReservation(LocalDate.of(2021, 2, 22), mockAccommodation().get()).get()));
 
         DataNotFoundException dataNotFoundException = assertThrows(DataNotFoundException.class,
-                () -> reviewService.updateReview("token", mockReviewDto()));
+                () -> reviewService.updateReview(1L, mockReviewDto()));
 
         assertThat(dataNotFoundException.getMessage()).isEqualTo("Reservation Not Found");
     }
@@ -214,30 +225,31 @@ class ReviewServiceTest {
         when(reservationRepository.findById(0L)).thenReturn(mockReservation(LocalDate.of(2021, 2, 1), null));
 
         DataNotFoundException dataNotFoundException = assertThrows(DataNotFoundException.class,
-                () -> reviewService.updateReview("token", mockReviewDto()));
+                () -> reviewService.updateReview(1L, mockReviewDto()));
 
         assertThat(dataNotFoundException.getMessage()).isEqualTo("Accommodation Not Found");
     }
 
-    @DisplayName("리뷰 수정 (없는 회원)")
+    @DisplayName("리뷰 수정 (다른 회원)")
     @Test
     void updateReviewException4() {
         when(reviewRepository.findReviewByReservationId(0)).thenReturn(mockReview(mockReservation(LocalDate.of(2021, 2, 22), mockAccommodation().get()).get()));
         when(reservationRepository.findById(0L)).thenReturn(mockReservation(LocalDate.of(2021, 2, 22), mockAccommodation().get()));
 
-        DataNotFoundException dataNotFoundException = assertThrows(DataNotFoundException.class,
-                () -> reviewService.updateReview("token", mockReviewDto()));
+        InputNotValidException inputNotValidException = assertThrows(InputNotValidException.class,
+                () -> reviewService.updateReview(2L, mockReviewDto()));
 
-        assertThat(dataNotFoundException.getMessage()).isEqualTo("Member Not Found");
+        assertThat(inputNotValidException.getMessage()).isEqualTo("토큰의 회원 정보와 리뷰 작성자가 일치하지 않습니다.");
     }
 
     @DisplayName("리뷰 삭제")
     @Test
     void deleteReview() {
         when(reviewRepository.findById(1L)).thenReturn(mockReview(mockReservation(LocalDate.of(2021, 2, 22), mockAccommodation().get()).get()));
-        when(memberRepository.findById(0L)).thenReturn(mockMember());
+        when(reviewSummaryRepository.existsById(1L)).thenReturn(true);
+        when(reviewSummaryRepository.findForUpdateByAccommodationId(1L)).thenReturn(Optional.of(new ReviewSummary(1L)));
 
-        reviewService.deleteReview("token", 1L);
+        reviewService.deleteReview(1L, 1L);
 
         verify(reviewRepository, times(1)).deleteById(1L);
     }
@@ -246,7 +258,7 @@ class ReviewServiceTest {
     @Test
     void deleteReviewException1() {
         DataNotFoundException dataNotFoundException = assertThrows(DataNotFoundException.class,
-                () -> reviewService.deleteReview("token", 0L));
+                () -> reviewService.deleteReview(1L, 0L));
 
         assertThat(dataNotFoundException.getMessage()).isEqualTo("Review Not Found");
     }
@@ -257,7 +269,7 @@ class ReviewServiceTest {
         when(reviewRepository.findById(0L)).thenReturn(Optional.of(mockReview(null).get()));
 
         DataNotFoundException dataNotFoundException = assertThrows(DataNotFoundException.class,
-                () -> reviewService.deleteReview("token", 0L));
+                () -> reviewService.deleteReview(1L, 0L));
 
         assertThat(dataNotFoundException.getMessage()).isEqualTo("Reservation Not Found");
     }
@@ -268,20 +280,20 @@ class ReviewServiceTest {
         when(reviewRepository.findById(0L)).thenReturn(mockReview(mockReservation(LocalDate.of(2021, 2, 22), null).get()));
 
         DataNotFoundException dataNotFoundException = assertThrows(DataNotFoundException.class,
-                () -> reviewService.deleteReview("token", 0L));
+                () -> reviewService.deleteReview(1L, 0L));
 
         assertThat(dataNotFoundException.getMessage()).isEqualTo("Accommodation Not Found");
     }
 
-    @DisplayName("리뷰 삭제 (없는 회원)")
+    @DisplayName("리뷰 삭제 (다른 회원)")
     @Test
     void deleteReviewException4() {
         when(reviewRepository.findById(0L)).thenReturn(mockReview(mockReservation(LocalDate.of(2021, 2, 22), mockAccommodation().get()).get()));
 
-        DataNotFoundException dataNotFoundException = assertThrows(DataNotFoundException.class,
-                () -> reviewService.deleteReview("token", 0L));
+        InputNotValidException inputNotValidException = assertThrows(InputNotValidException.class,
+                () -> reviewService.deleteReview(2L, 0L));
 
-        assertThat(dataNotFoundException.getMessage()).isEqualTo("Member Not Found");
+        assertThat(inputNotValidException.getMessage()).isEqualTo("토큰의 회원 정보와 리뷰 작성자가 일치하지 않습니다.");
     }
 
     private Optional<Review> mockReview(Reservation reservation) {
@@ -306,7 +318,7 @@ class ReviewServiceTest {
     }
 
     private Optional<Accommodation> mockAccommodation() {
-        return Optional.of(new Accommodation(1L, 0, "서울특별시", "마포구", "서울특별시 마포구 독막로 266", "원룸", 1, 1, 1, 40000, 2, "010-1234-5678", 36.141f, 126.531f, "마포역 1번 출구 앞", "버스 7016", "깨끗해요", "착해요", 4.56f, 125, "전체", "원룸", "이재복", 543, null, new ArrayList<>(), null, null));
+        return Optional.of(new Accommodation(1L, 0, "서울특별시", "마포구", "서울특별시 마포구 독막로 266", "원룸", 1, 1, 1, 40000, 2, "010-1234-5678", 36.141f, 126.531f, "마포역 1번 출구 앞", "버스 7016", "깨끗해요", "착해요", 4.56f, 125, "전체", "원룸", "이재복", 543, null, new ArrayList<>(), null));
     }
 
     private Optional<Member> mockMember() {
@@ -35,17 +35,16 @@ INSERT INTO reservation (id, `check_in_date`, `checkout_date`, `total_guest_num`
                          `payment_date`, `total_price`, `accommodation_id`, `member_id`)
 VALUES (100, '2021-02-10', '2021-02-12', '3', '2', '3', '1', 0, '2021-02-03', 120000, 1, 1);
 
+insert into booked_date_legacy(id, date, accommodation_id, reservation_id) values(1, '20220210', 1, 1);
+insert into booked_date_legacy(id, date, accommodation_id, reservation_id) values(2, '20220211', 1, 1);
+insert into booked_date_legacy(id, date, accommodation_id, reservation_id) values(3, '20220220', 1, 2);
+insert into booked_date_legacy(id, date, accommodation_id, reservation_id) values(4, '20220221', 1, 2);
+insert into booked_date_legacy(id, date, accommodation_id, reservation_id) values(5, '20210210', 1, 2);
+insert into booked_date_legacy(id, date, accommodation_id, reservation_id) values(6, '20210211', 1, 2);
+
 INSERT INTO review(id, `rating`, `content`, `accommodation_id`, `member_id`, `reservation_id`)
 values (1, 4, 'new content', 1, 1, 1);
 
-
-insert into booked_date(id, date, accommodation_id, reservation_id) values(1, '20220210', 1, 1);
-insert into booked_date(id, date, accommodation_id, reservation_id) values(2, '20220211', 1, 1);
-insert into booked_date(id, date, accommodation_id, reservation_id) values(3, '20220220', 1, 2);
-insert into booked_date(id, date, accommodation_id, reservation_id) values(4, '20220221', 1, 2);
-insert into booked_date(id, date, accommodation_id, reservation_id) values(5, '20210210', 1, 2);
-insert into booked_date(id, date, accommodation_id, reservation_id) values(6, '20210211', 1, 2);
-
 insert into accommodation_picture(id, url, accommodation_id) values(1, 'picture', 1);
 
 INSERT INTO bookmark(id, accommodation_id, member_id)